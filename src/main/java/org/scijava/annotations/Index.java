@@ -35,12 +35,14 @@ package org.scijava.annotations;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 /**
@@ -95,41 +97,112 @@ public class Index<A extends Annotation> implements Iterable<IndexItem<A>> {
 	private final Class<A> annotation;
 	private final ClassLoader loader;
 
+	/**
+	 * The single index resource backing this index, or null if all resources
+	 * visible to the class loader should be read.
+	 */
+	private final IndexSource source;
+
 	private Index(final Class<A> annotation, final ClassLoader loader) {
+		this(annotation, loader, null);
+	}
+
+	private Index(final Class<A> annotation, final ClassLoader loader,
+		final IndexSource source)
+	{
 		this.annotation = annotation;
 		this.loader = loader;
+		this.source = source;
+	}
+
+	/**
+	 * Splits this index into one index per index resource (i.e., typically one
+	 * per classpath entry), in the order in which iterating this index would
+	 * read them.
+	 * <p>
+	 * Each resulting index can be read independently of the others, e.g. on a
+	 * separate thread; concatenating their items in list order yields the same
+	 * sequence as iterating this index directly.
+	 * </p>
+	 * 
+	 * @return the list of per-resource indexes
+	 */
+	public List<Index<A>> split() {
+		if (source != null) return Collections.singletonList(this);
+		final List<Index<A>> indexes = new ArrayList<>();
+		for (final IndexSource s : sources()) {
+			indexes.add(new Index<>(annotation, loader, s));
+		}
+		return indexes;
+	}
+
+	/**
+	 * Discovers the index resources for the annotation. Legacy indexes are only
+	 * included for classpath entries which lack a current-format index.
+	 */
+	private List<IndexSource> sources() {
+		final List<IndexSource> sources = new ArrayList<>();
+		try {
+			final Map<String, URL> legacyURLs = new LinkedHashMap<>();
+			final Enumeration<URL> legacy =
+				loader.getResources(LEGACY_INDEX_PREFIX + annotation.getName());
+			final int legacySuffixLength =
+				LEGACY_INDEX_PREFIX.length() + annotation.getName().length();
+			while (legacy.hasMoreElements()) {
+				final URL url = legacy.nextElement();
+				final String string = url.toString();
+				final String key =
+					string.substring(0, string.length() - legacySuffixLength) +
+						INDEX_PREFIX + annotation.getName();
+				legacyURLs.put(key, url);
+			}
+
+			final Set<URL> seen = new HashSet<>();
+			final Enumeration<URL> urls =
+				loader.getResources(INDEX_PREFIX + annotation.getName());
+			while (urls.hasMoreElements()) {
+				final URL url = urls.nextElement();
+				if (!seen.add(url)) continue;
+				legacyURLs.remove(url.toString());
+				sources.add(new IndexSource(url, false));
+			}
+			for (final URL url : legacyURLs.values()) {
+				sources.add(new IndexSource(url, true));
+			}
+		}
+		catch (final IOException e) {
+			e.printStackTrace();
+		}
+		return sources;
+	}
+
+	/** An index resource, in either the current or the legacy format. */
+	private static class IndexSource {
+
+		private final URL url;
+		private final boolean legacy;
+
+		public IndexSource(final URL url, final boolean legacy) {
+			this.url = url;
+			this.legacy = legacy;
+		}
+
+		public IndexReader open() throws IOException {
+			return legacy ? IndexReader.getLegacyReader(url.openStream())
+				: new IndexReader(url.openStream());
+		}
 	}
 
 	private class IndexItemIterator implements Iterator<IndexItem<A>> {
 
-		private Enumeration<URL> urls;
+		private Iterator<IndexSource> sources;
 		private IndexReader indexReader;
 		private IndexItem<A> next;
-		private Set<URL> seen;
 
-		private Map<String, URL> legacyURLs;
-
-		public IndexItemIterator(final Class<A> annotation) {
-			seen = new HashSet<>();
+		public IndexItemIterator() {
+			sources = source == null ? sources().iterator() : Collections
+				.singletonList(source).iterator();
 			try {
-				legacyURLs = new LinkedHashMap<>();
-				final Enumeration<URL> legacy =
-					loader.getResources(LEGACY_INDEX_PREFIX + annotation.getName());
-				final int legacySuffixLength =
-					LEGACY_INDEX_PREFIX.length() + annotation.getName().length();
-				while (legacy.hasMoreElements()) {
-					final URL url = legacy.nextElement();
-					final String string = url.toString();
-					final String key =
-						string.substring(0, string.length() - legacySuffixLength) +
-							INDEX_PREFIX + annotation.getName();
-					legacyURLs.put(key, url);
-				}
-				if (legacyURLs.isEmpty()) {
-					legacyURLs = null;
-				}
-
-				urls = loader.getResources(INDEX_PREFIX + annotation.getName());
 				readNext();
 			}
 			catch (final IOException e) {
@@ -147,7 +220,7 @@ public class Index<A extends Annotation> implements Iterable<IndexItem<A>> {
 						continue;
 					}
 					if (indexReader == null) {
-						urls = null;
+						sources = null;
 						next = null;
 						return;
 					}
@@ -169,25 +242,8 @@ public class Index<A extends Annotation> implements Iterable<IndexItem<A>> {
 		}
 
 		private IndexReader getNextReader() throws IOException {
-			if (urls == null) {
-				return null;
-			}
-			while (urls.hasMoreElements()) {
-				final URL url = urls.nextElement();
-				if (seen.contains(url)) continue;
-				if (legacyURLs != null) {
-					legacyURLs.remove(url.toString());
-				}
-				seen.add(url);
-				return new IndexReader(url.openStream());
-			}
-			if (legacyURLs != null && !legacyURLs.isEmpty()) {
-				final Entry<String, URL> entry =
-					legacyURLs.entrySet().iterator().next();
-				legacyURLs.remove(entry.getKey());
-				return IndexReader.getLegacyReader(entry.getValue().openStream());
-			}
-			return null;
+			if (sources == null || !sources.hasNext()) return null;
+			return sources.next().open();
 		}
 
 		@Override
@@ -216,6 +272,6 @@ public class Index<A extends Annotation> implements Iterable<IndexItem<A>> {
 
 	@Override
 	public Iterator<IndexItem<A>> iterator() {
-		return new IndexItemIterator(annotation);
+		return new IndexItemIterator();
 	}
 }
@@ -37,8 +37,11 @@ import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Allows access to individual annotations.
@@ -47,11 +50,30 @@ import java.util.Map;
  */
 public class IndexItem<A extends Annotation> {
 
+	/** Slot indices of the members of each annotation type. */
+	private static final ClassValue<Map<Method, Integer>> SLOTS =
+		new ClassValue<Map<Method, Integer>>()
+	{
+
+		@Override
+		protected Map<Method, Integer> computeValue(final Class<?> type) {
+			final Map<Method, Integer> slots = new HashMap<>();
+			for (final Method method : type.getDeclaredMethods()) {
+				if (method.getParameterTypes().length != 0) continue;
+				slots.put(method, slots.size());
+			}
+			return slots;
+		}
+	};
+
 	private final Class<A> annotation;
 	private final ClassLoader loader;
 	private final String className;
 	private final Map<Object, Object> map;
 
+	/** The annotation proxy, created on demand. */
+	private volatile A proxy;
+
 	IndexItem(final Class<A> annotation, final ClassLoader loader,
 		final String className, final Map<Object, Object> map)
 	{
@@ -63,11 +85,21 @@ public class IndexItem<A extends Annotation> {
 
 	/**
 	 * Obtains the annotation values.
+	 * <p>
+	 * The same annotation instance is returned by every call. Each of its
+	 * member values is adapted from the index (e.g., class names resolved to
+	 * {@link Class} objects) only once, when first requested.
+	 * </p>
 	 * 
 	 * @return the annotation values
 	 */
 	public A annotation() {
-		return proxy(annotation, loader, className, map);
+		A result = proxy;
+		if (result == null) {
+			result = proxy(annotation, loader, className, map);
+			proxy = result;
+		}
+		return result;
 	}
 
 	/**
@@ -85,67 +117,96 @@ public class IndexItem<A extends Annotation> {
 		final Map<Object, Object> map)
 	{
 		return (A) Proxy.newProxyInstance(loader, new Class<?>[] { annotation },
-			new InvocationHandler() {
+			new ValueHandler(annotation, loader, className, map));
+	}
 
-				@Override
-				public Object invoke(Object proxy, Method method, Object[] args)
-					throws Throwable
+	/**
+	 * Invocation handler backing the annotation proxies.
+	 * <p>
+	 * Each member value is adapted from its raw index representation at most
+	 * once, the first time it is requested, and is then stored in a slot of
+	 * its own; subsequent calls cost one lookup of the member's slot.
+	 * </p>
+	 */
+	private static class ValueHandler implements InvocationHandler {
+
+		private final Class<? extends Annotation> annotation;
+		private final ClassLoader loader;
+		private final String className;
+		private final Map<Object, Object> map;
+		private final Map<Method, Integer> slots;
+		private final AtomicReferenceArray<Object> values;
+
+		public ValueHandler(final Class<? extends Annotation> annotation,
+			final ClassLoader loader, final String className,
+			final Map<Object, Object> map)
+		{
+			this.annotation = annotation;
+			this.loader = loader;
+			this.className = className;
+			this.map = map;
+			slots = SLOTS.get(annotation);
+			values = new AtomicReferenceArray<>(slots.size());
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method,
+			final Object[] args) throws Throwable
+		{
+			final Integer slot = slots.get(method);
+			if (slot != null) {
+				final Object value = values.get(slot);
+				if (value != null) return value;
+				final Object adapted = value(method);
+				values.compareAndSet(slot, null, adapted);
+				return values.get(slot);
+			}
+			final String name = method.getName();
+			final int argCount = args == null ? 0 : args.length;
+			if (name.equals("toString") && argCount == 0) {
+				return "@" + annotation.getName() + map;
+			}
+			if (name.equals("annotationType") && argCount == 0) {
+				return annotation;
+			}
+			if (name.equals("hashCode") && argCount == 0) {
+				return annotation.hashCode() ^ map.hashCode();
+			}
+			if (name.equals("equals") && argCount == 1) {
+				if (!(args[0] instanceof Annotation) ||
+					((Annotation) args[0]).annotationType() != annotation)
 				{
-					if (map.containsKey(method)) {
-						return map.get(method);
-					}
-					final String name = method.getName();
-					Object value;
-					if (map.containsKey(name)) {
-						value = map.get(name);
-						final Class<?> expectedType = method.getReturnType();
-						if (!expectedType.isAssignableFrom(value.getClass())) {
-							value = adapt(value, loader, expectedType, className);
-						}
-					}
-					else if (name.equals("toString") &&
-						(args == null || args.length == 0))
-					{
-						value = "@" + annotation.getName() + map;
-					}
-					else if (name.equals("annotationType") &&
-						(args == null || args.length == 0))
-					{
-						value = annotation;
-					}
-					else if (name.equals("hashCode") &&
-						(args == null || args.length == 0))
+					return false;
+				}
+				for (final Method member : slots.keySet()) {
+					if (!Objects.deepEquals(invoke(proxy, member, null), member.invoke(
+						args[0])))
 					{
-						return annotation.hashCode() ^ map.hashCode();
-					}
-					else if (name.equals("equals") && args != null && args.length == 1) {
-						if (!(args[0] instanceof Annotation) ||
-							((Annotation) args[0]).annotationType() != annotation)
-						{
-							return false;
-						}
-						for (Method method2 : annotation.getMethods()) {
-							if (method2.getDeclaringClass() == annotation) {
-								if (!invoke(proxy, method2, new Object[0]).equals(
-									method2.invoke(args[0])))
-								{
-									return false;
-								}
-							}
-						}
-						return true;
+						return false;
 					}
-					else {
-						value = method.getDefaultValue();
-						if (value == null) {
-							throw new IllegalArgumentException("Could not find value for " +
-								name);
-						}
-					}
-					map.put(method, value);
+				}
+				return true;
+			}
+			throw new IllegalArgumentException("Could not find value for " + name);
+		}
+
+		/** Computes the adapted value of the given annotation member. */
+		private Object value(final Method method) {
+			final String name = method.getName();
+			if (map.containsKey(name)) {
+				final Object value = map.get(name);
+				final Class<?> expectedType = method.getReturnType();
+				if (value != null && expectedType.isAssignableFrom(value.getClass())) {
 					return value;
 				}
-			});
+				return adapt(value, loader, expectedType, className);
+			}
+			final Object value = method.getDefaultValue();
+			if (value == null) {
+				throw new IllegalArgumentException("Could not find value for " + name);
+			}
+			return value;
+		}
 	}
 
 	private static Object adapt(final Object o, final ClassLoader loader,
@@ -45,7 +45,6 @@ import org.scijava.module.ModuleException;
 import org.scijava.module.ModuleInfo;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.PluginInfo;
-import org.scijava.util.ClassUtils;
 
 /**
  * Module adapter class for working with a {@link Command} instance.
@@ -158,13 +157,13 @@ public class CommandModule extends AbstractModule implements Cancelable,
 	@Override
 	public Object getInput(final String name) {
 		final CommandModuleItem<?> item = info.getInput(name);
-		return item == null ? null : ClassUtils.getValue(item.getField(), command);
+		return item == null ? null : item.getValue(command);
 	}
 
 	@Override
 	public Object getOutput(final String name) {
 		final CommandModuleItem<?> item = info.getOutput(name);
-		return item == null ? null : ClassUtils.getValue(item.getField(), command);
+		return item == null ? null : item.getValue(command);
 	}
 
 	@Override
@@ -173,7 +172,7 @@ public class CommandModule extends AbstractModule implements Cancelable,
 		if (item == null) {
 			throw new IllegalArgumentException("No such input: " + name);
 		}
-		ClassUtils.setValue(item.getField(), command, value);
+		item.setValue(command, value);
 	}
 
 	@Override
@@ -182,7 +181,7 @@ public class CommandModule extends AbstractModule implements Cancelable,
 		if (item == null) {
 			throw new IllegalArgumentException("No such output: " + name);
 		}
-		ClassUtils.setValue(item.getField(), command, value);
+		item.setValue(command, value);
 	}
 
 	// -- Object methods --
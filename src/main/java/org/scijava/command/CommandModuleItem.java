@@ -32,6 +32,9 @@
 
 package org.scijava.command;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -45,6 +48,7 @@ import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleItem;
 import org.scijava.plugin.Attr;
 import org.scijava.plugin.Parameter;
+import org.scijava.util.ClassUtils;
 import org.scijava.util.ConversionUtils;
 import org.scijava.util.GenericUtils;
 
@@ -55,11 +59,39 @@ import org.scijava.util.GenericUtils;
  */
 public class CommandModuleItem<T> extends AbstractModuleItem<T> {
 
+	private static final MethodType GETTER_TYPE =
+		MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE =
+		MethodType.methodType(void.class, Object.class, Object.class);
+
 	private final Field field;
 
+	/** The field's type, boxed if primitive. */
+	private final Class<?> valueType;
+
+	/** Compiled accessors for the field, or null if unavailable. */
+	private final MethodHandle getter, setter;
+
 	public CommandModuleItem(final ModuleInfo info, final Field field) {
 		super(info);
 		this.field = field;
+		valueType = ConversionUtils.getNonprimitiveType(field.getType());
+
+		// NB: Compile the accessors once here, so that reading and writing the
+		// field later is nearly as fast as direct field access. If we are not
+		// allowed to do so, we fall back to plain reflection.
+		MethodHandle g = null, s = null;
+		try {
+			field.setAccessible(true);
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			g = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+			s = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+		}
+		catch (final IllegalAccessException | RuntimeException exc) {
+			g = s = null;
+		}
+		getter = g;
+		setter = s;
 	}
 
 	// -- CommandModuleItem methods --
@@ -68,6 +100,50 @@ public class CommandModuleItem<T> extends AbstractModuleItem<T> {
 		return field;
 	}
 
+	/**
+	 * Gets the value of this item's field for the given command instance.
+	 * 
+	 * @see ClassUtils#getValue(Field, Object)
+	 */
+	public Object getValue(final Object command) {
+		if (getter == null) return ClassUtils.getValue(field, command);
+		try {
+			return getter.invokeExact(command);
+		}
+		catch (final RuntimeException | Error exc) {
+			throw exc;
+		}
+		catch (final Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	/**
+	 * Sets the value of this item's field for the given command instance,
+	 * converting the value to the field's type if needed.
+	 * 
+	 * @throws IllegalArgumentException if the value cannot be set.
+	 * @see ClassUtils#setValue(Field, Object, Object)
+	 */
+	public void setValue(final Object command, final Object value) {
+		final boolean compatible = value == null ? //
+			!field.getType().isPrimitive() : valueType.isInstance(value);
+		if (setter == null || !compatible) {
+			// NB: Let ClassUtils deal with conversion and null primitives.
+			ClassUtils.setValue(field, command, value);
+			return;
+		}
+		try {
+			setter.invokeExact(command, value);
+		}
+		catch (final RuntimeException | Error exc) {
+			throw exc;
+		}
+		catch (final Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
 	public Parameter getParameter() {
 		return field.getAnnotation(Parameter.class);
 	}
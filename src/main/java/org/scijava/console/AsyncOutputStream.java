@@ -0,0 +1,361 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link OutputStream} which forwards its output to a target stream on a
+ * background thread, so that writers are isolated from a slow target.
+ * <p>
+ * Writes are copied into a lock-free queue, bounded by the number of bytes
+ * awaiting the target. What happens when a write would exceed that bound is
+ * decided by the {@link OverflowPolicy}. Flushes are queued too, so that they
+ * do not wait for the target either. The amount of output awaiting the target
+ * and the amount dropped are available as metrics.
+ * </p>
+ *
+ * @see MultiOutputStream#addOutputStream(OutputStream, int, OverflowPolicy)
+ * @author agent
+ */
+public class AsyncOutputStream extends OutputStream {
+
+	/** What to do with a write when the buffer is full. */
+	public enum OverflowPolicy {
+
+		/** Wait for room in the buffer; no output is lost. */
+		BLOCK,
+
+		/** Drop the write. */
+		DROP
+	}
+
+	/** Maximum number of bytes passed to the target at once. */
+	private static final int BATCH_SIZE = 8192;
+
+	/** Queue entry requesting a flush of the target. */
+	private static final byte[] FLUSH = new byte[0];
+
+	private final OutputStream target;
+	private final int capacity;
+	private final OverflowPolicy policy;
+
+	private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+
+	/** Number of bytes enqueued but not yet written to the target. */
+	private final AtomicLong pending = new AtomicLong();
+
+	private final Thread writer;
+	private final Thread shutdownHook;
+	private volatile boolean sleeping;
+	private volatile boolean closed;
+
+	/** Lock held while forwarding output, by the writer or another thread. */
+	private final Object consumer = new Object();
+
+	// -- Metrics --
+
+	private final AtomicLong maxPending = new AtomicLong();
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong droppedBytes = new AtomicLong();
+	private final AtomicLong droppedWrites = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+
+	/**
+	 * Creates a stream forwarding to the given target, and starts its writer
+	 * thread.
+	 *
+	 * @param target The stream to which output is forwarded.
+	 * @param capacity Maximum number of bytes awaiting the target.
+	 * @param policy What to do with writes when the buffer is full.
+	 */
+	public AsyncOutputStream(final OutputStream target, final int capacity,
+		final OverflowPolicy policy)
+	{
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.target = target;
+		this.capacity = capacity;
+		this.policy = policy;
+
+		writer = new Thread(this::forward, "SciJava-Output-Writer");
+		writer.setDaemon(true);
+		writer.start();
+
+		// NB: Write any pending output before the JVM exits.
+		shutdownHook = new Thread(this::shutdown, "SciJava-Output-Flusher");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	// -- AsyncOutputStream methods --
+
+	/** Gets the stream to which output is forwarded. */
+	public OutputStream getTarget() {
+		return target;
+	}
+
+	/** Gets the maximum number of bytes awaiting the target. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/** Gets the policy for writes arriving while the buffer is full. */
+	public OverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Gets the number of bytes not yet written to the target; i.e., how far the
+	 * target lags behind.
+	 */
+	public long getPendingBytes() {
+		return pending.get();
+	}
+
+	/** Gets the largest number of bytes which were ever awaiting the target. */
+	public long getMaxPendingBytes() {
+		return maxPending.get();
+	}
+
+	/** Gets the number of bytes written to the target so far. */
+	public long getWrittenBytes() {
+		return written.get();
+	}
+
+	/** Gets the number of bytes dropped because the buffer was full. */
+	public long getDroppedBytes() {
+		return droppedBytes.get();
+	}
+
+	/** Gets the number of writes dropped because the buffer was full. */
+	public long getDroppedWrites() {
+		return droppedWrites.get();
+	}
+
+	/** Gets the number of times writing to the target failed. */
+	public long getErrorCount() {
+		return errors.get();
+	}
+
+	/**
+	 * Waits until all output enqueued so far has been written to the target.
+	 *
+	 * @return true if the output was written within the given time.
+	 */
+	public boolean drain(final long timeout, final TimeUnit unit)
+		throws InterruptedException
+	{
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while (!queue.isEmpty() || pending.get() > 0) {
+			if (!writer.isAlive()) return false;
+			if (System.nanoTime() - deadline >= 0) return false;
+			LockSupport.unpark(writer);
+			Thread.sleep(1);
+		}
+		return true;
+	}
+
+	/**
+	 * Writes any pending output to the target, then stops the writer thread,
+	 * leaving the target open. Subsequent output is dropped.
+	 */
+	public void shutdown() {
+		if (closed) return;
+		closed = true;
+		LockSupport.unpark(writer);
+		if (Thread.currentThread() != writer) {
+			try {
+				writer.join();
+			}
+			catch (final InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (Thread.currentThread() != shutdownHook) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			}
+			catch (final IllegalStateException exc) {
+				// NB: The JVM is already shutting down.
+			}
+		}
+	}
+
+	// -- OutputStream methods --
+
+	@Override
+	public void write(final int b) {
+		enqueue(new byte[] { (byte) b });
+	}
+
+	@Override
+	public void write(final byte[] buf, final int off, final int len) {
+		if (len == 0) return;
+		enqueue(Arrays.copyOfRange(buf, off, off + len));
+	}
+
+	@Override
+	public void flush() {
+		if (closed) return;
+		queue.add(FLUSH);
+		wake();
+	}
+
+	// -- Closeable methods --
+
+	/** Writes any pending output, then closes the target. */
+	@Override
+	public void close() throws IOException {
+		shutdown();
+		target.close();
+	}
+
+	// -- Helper methods --
+
+	private void enqueue(final byte[] chunk) {
+		if (!reserve(chunk.length)) {
+			droppedBytes.addAndGet(chunk.length);
+			droppedWrites.incrementAndGet();
+			return;
+		}
+		queue.add(chunk);
+		if (closed) {
+			// NB: The writer thread might have stopped before the chunk was added.
+			forwardAll();
+			return;
+		}
+		wake();
+	}
+
+	/** Claims room in the buffer for the given number of bytes. */
+	private boolean reserve(final int length) {
+		// NB: Output produced while writing to the target (e.g., by a target
+		// which itself prints) could never make room for itself.
+		final boolean mayWait = policy == OverflowPolicy.BLOCK && //
+			Thread.currentThread() != writer;
+		while (!closed) {
+			final long current = pending.get();
+			// NB: A write larger than the capacity is accepted when empty.
+			if (current > 0 && current + length > capacity) {
+				if (!mayWait) return false;
+				LockSupport.unpark(writer);
+				LockSupport.parkNanos(100_000);
+				continue;
+			}
+			if (pending.compareAndSet(current, current + length)) {
+				maxPending.accumulateAndGet(current + length, Math::max);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void wake() {
+		if (sleeping) LockSupport.unpark(writer);
+	}
+
+	/** Body of the writer thread. */
+	private void forward() {
+		final ByteArrayOutputStream batch = new ByteArrayOutputStream(BATCH_SIZE);
+		while (true) {
+			if (forwardBatch(batch)) continue;
+			if (closed) break;
+			sleeping = true;
+			if (queue.isEmpty() && !closed) LockSupport.parkNanos(100_000_000);
+			sleeping = false;
+		}
+		// NB: Output may have been enqueued since the last batch was taken.
+		forwardAll();
+	}
+
+	/** Forwards all output enqueued so far, then flushes the target. */
+	private void forwardAll() {
+		final ByteArrayOutputStream batch = new ByteArrayOutputStream(BATCH_SIZE);
+		synchronized (consumer) {
+			while (forwardBatch(batch)) {
+				// NB: Keep forwarding until the queue is empty.
+			}
+			try {
+				target.flush();
+			}
+			catch (final IOException exc) {
+				errors.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Takes the next queued chunks, and writes them to the target at once.
+	 *
+	 * @return false if the queue was empty.
+	 */
+	private boolean forwardBatch(final ByteArrayOutputStream batch) {
+		synchronized (consumer) {
+			byte[] chunk = queue.poll();
+			if (chunk == null) return false;
+
+			// coalesce queued chunks into a single write
+			boolean flush = false;
+			batch.reset();
+			while (chunk != null) {
+				if (chunk == FLUSH) flush = true;
+				else batch.write(chunk, 0, chunk.length);
+				if (batch.size() >= BATCH_SIZE) break;
+				chunk = queue.poll();
+			}
+
+			try {
+				if (batch.size() > 0) batch.writeTo(target);
+				if (flush) target.flush();
+				written.addAndGet(batch.size());
+			}
+			catch (final IOException | RuntimeException exc) {
+				errors.incrementAndGet();
+			}
+			finally {
+				pending.addAndGet(-batch.size());
+			}
+			return true;
+		}
+	}
+
+}
@@ -64,6 +64,28 @@ public interface ConsoleService extends
 	/** Notifies listeners of output sent to {@code stdout} or {@code stderr}. */
 	void notifyListeners(OutputEvent event);
 
+	/**
+	 * Gets whether captured output is coalesced into whole lines before being
+	 * reported to {@link OutputListener}s.
+	 */
+	default boolean isLineBuffered() {
+		return false;
+	}
+
+	/**
+	 * Sets whether captured output is coalesced into whole lines before being
+	 * reported to {@link OutputListener}s.
+	 * <p>
+	 * When line-buffered, each thread's output is reported as one
+	 * {@link OutputEvent} per line (or run of lines written at once), rather
+	 * than one event per write. Incomplete lines are reported when the stream is
+	 * flushed, or after a short delay.
+	 * </p>
+	 */
+	default void setLineBuffered(final boolean lineBuffered) {
+		// NB: No implementation by default.
+	}
+
 	// -- PTService methods --
 
 	@Override
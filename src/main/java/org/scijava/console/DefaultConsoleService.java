@@ -35,9 +35,15 @@ package org.scijava.console;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.scijava.Context;
 import org.scijava.console.OutputEvent.Source;
@@ -60,6 +66,21 @@ public class DefaultConsoleService extends
 	ConsoleService
 {
 
+	/**
+	 * System property which, when set to {@code true}, enables line-buffered
+	 * output reporting by default.
+	 *
+	 * @see #setLineBuffered(boolean)
+	 */
+	public static final String LINE_BUFFERED_PROPERTY =
+		"scijava.console.lineBuffered";
+
+	/** Delay in milliseconds after which incomplete lines are reported. */
+	private static final long FLUSH_INTERVAL = 100;
+
+	/** Number of bytes after which an incomplete line is reported anyway. */
+	private static final int MAX_LINE_LENGTH = 8192;
+
 	@Parameter
 	private ThreadService threadService;
 
@@ -72,6 +93,15 @@ public class DefaultConsoleService extends
 	/** List of listeners for {@code stdout} and {@code stderr} output. */
 	private List<OutputListener> listeners;
 
+	/** Whether output is coalesced into lines before being reported. */
+	private volatile boolean lineBuffered;
+
+	/** Line buffers holding output which has not yet been reported. */
+	private final Set<LineBuffer> pending = ConcurrentHashMap.newKeySet();
+
+	/** Periodically reports the incomplete lines of {@link #pending} buffers. */
+	private ScheduledExecutorService flusher;
+
 	// -- ConsoleService methods --
 
 	@Override
@@ -131,10 +161,43 @@ public class DefaultConsoleService extends
 			l.outputOccurred(event);
 	}
 
+	@Override
+	public boolean isLineBuffered() {
+		return lineBuffered;
+	}
+
+	@Override
+	public synchronized void setLineBuffered(final boolean lineBuffered) {
+		if (this.lineBuffered == lineBuffered) return;
+		this.lineBuffered = lineBuffered;
+		if (lineBuffered) {
+			flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+				final Thread t = new Thread(r, "SciJava-Console-Flusher");
+				t.setDaemon(true);
+				return t;
+			});
+			flusher.scheduleWithFixedDelay(this::flushPending, FLUSH_INTERVAL,
+				FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+		}
+		else {
+			flusher.shutdown();
+			flusher = null;
+			flushPending();
+		}
+	}
+
+	// -- Service methods --
+
+	@Override
+	public void initialize() {
+		if (Boolean.getBoolean(LINE_BUFFERED_PROPERTY)) setLineBuffered(true);
+	}
+
 	// -- Disposable methods --
 
 	@Override
 	public void dispose() {
+		setLineBuffered(false);
 		if (out != null) sysout.getParent().removeOutputStream(out);
 		if (err != null) syserr.getParent().removeOutputStream(err);
 	}
@@ -182,6 +245,24 @@ public class DefaultConsoleService extends
 		return true;
 	}
 
+	/** Reports the incomplete lines of all {@link #pending} buffers. */
+	private void flushPending() {
+		for (final LineBuffer buffer : pending) {
+			pending.remove(buffer);
+			buffer.flush();
+		}
+	}
+
+	private void publish(final Source source, final ThreadContext relevance,
+		final String output)
+	{
+		final Context context = getContext();
+		final boolean contextual = relevance == ThreadContext.SAME;
+		final OutputEvent event =
+			new OutputEvent(context, source, output, contextual);
+		notifyListeners(event);
+	}
+
 	// -- Helper classes --
 
 	/**
@@ -193,24 +274,32 @@ public class DefaultConsoleService extends
 		/** Source of the output stream; i.e., {@code stdout} or {@code stderr}. */
 		private final Source source;
 
+		/** Line buffers of the threads writing to this stream. */
+		private final ThreadLocal<LineBuffer> buffers;
+
 		public OutputStreamReporter(final Source source) {
 			this.source = source;
+			buffers = ThreadLocal.withInitial(() -> new LineBuffer(source));
 		}
 
 		// -- OutputStream methods --
 
 		@Override
 		public void write(final int b) {
-			final ThreadContext relevance = getRelevance();
-			if (relevance == ThreadContext.OTHER) return; // different context
-			publish(relevance, "" + b);
+			write(new byte[] { (byte) b }, 0, 1);
 		}
 
 		@Override
 		public void write(final byte[] buf, final int off, final int len) {
 			final ThreadContext relevance = getRelevance();
 			if (relevance == ThreadContext.OTHER) return; // different context
-			publish(relevance, new String(buf, off, len));
+			if (lineBuffered) buffers.get().write(relevance, buf, off, len);
+			else publish(source, relevance, new String(buf, off, len));
+		}
+
+		@Override
+		public void flush() {
+			if (lineBuffered) buffers.get().flush();
 		}
 
 		// -- Helper methods --
@@ -218,13 +307,94 @@ public class DefaultConsoleService extends
 		private ThreadContext getRelevance() {
 			return threadService.getThreadContext(Thread.currentThread());
 		}
+	}
+
+	/**
+	 * Output of one thread to one stream, accumulated until a whole line is
+	 * available.
+	 * <p>
+	 * Events are published outside the buffer's lock, so that listeners which
+	 * themselves write output (on any thread) cannot deadlock.
+	 * </p>
+	 */
+	private class LineBuffer {
+
+		private final Source source;
+
+		private byte[] bytes = new byte[256];
+		private int length;
+
+		/** Relevance of the buffered output to this context. */
+		private ThreadContext relevance;
+
+		public LineBuffer(final Source source) {
+			this.source = source;
+		}
+
+		public void write(final ThreadContext context, final byte[] buf,
+			final int off, final int len)
+		{
+			String stale = null, lines = null;
+			final ThreadContext staleRelevance, linesRelevance;
+			synchronized (this) {
+				// NB: A thread without a context of its own can be working on behalf
+				// of different parents over time; never mix their output.
+				staleRelevance = relevance;
+				if (length > 0 && context != relevance) stale = take(length);
+				relevance = linesRelevance = context;
+
+				final int start = length;
+				append(buf, off, len);
+				final int end = lastNewline(start) + 1;
+				if (end > 0) lines = take(end);
+				else if (length >= MAX_LINE_LENGTH) lines = take(length);
+				if (length > 0) pending.add(this);
+			}
+			if (stale != null) publish(source, staleRelevance, stale);
+			if (lines != null) publish(source, linesRelevance, lines);
+
+			// NB: Line buffering may have been switched off after this thread
+			// checked it, and the pending buffers drained before this one was
+			// added. In that case, nothing else will report it; do so now.
+			if (!lineBuffered && pending.remove(this)) flush();
+		}
+
+		public void flush() {
+			final String output;
+			final ThreadContext outputRelevance;
+			synchronized (this) {
+				if (length == 0) return;
+				outputRelevance = relevance;
+				output = take(length);
+			}
+			publish(source, outputRelevance, output);
+		}
+
+		// -- Helper methods --
+
+		private void append(final byte[] buf, final int off, final int len) {
+			if (length + len > bytes.length) {
+				final int capacity = Math.max(2 * bytes.length, length + len);
+				bytes = Arrays.copyOf(bytes, capacity);
+			}
+			System.arraycopy(buf, off, bytes, length, len);
+			length += len;
+		}
+
+		/** Finds the last newline at or after the given index, or -1. */
+		private int lastNewline(final int start) {
+			for (int i = length - 1; i >= start; i--) {
+				if (bytes[i] == '\n') return i;
+			}
+			return -1;
+		}
 
-		private void publish(final ThreadContext relevance, final String output) {
-			final Context context = getContext();
-			final boolean contextual = relevance == ThreadContext.SAME;
-			final OutputEvent event =
-				new OutputEvent(context, source, output, contextual);
-			notifyListeners(event);
+		/** Removes and decodes the first {@code count} buffered bytes. */
+		private String take(final int count) {
+			final String output = new String(bytes, 0, count);
+			length -= count;
+			System.arraycopy(bytes, count, bytes, 0, length);
+			return output;
 		}
 	}
 
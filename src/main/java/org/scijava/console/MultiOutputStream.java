@@ -36,8 +36,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.scijava.console.AsyncOutputStream.OverflowPolicy;
+
 /**
  * A {@code MultiOutputStream} is a collection of constituent
  * {@link OutputStream} objects, to which all output is forwarded.
@@ -46,6 +50,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * "http://www.java2s.com/Code/Java/File-Input-Output/TeePrintStreamteesallPrintStreamoperationsintoafileratherliketheUNIXtee1command.htm"
  * >his implementation of a similar concept</a>.
  * </p>
+ * <p>
+ * By default, output is forwarded to each constituent stream on the writing
+ * thread. Streams added with
+ * {@link #addOutputStream(OutputStream, int, OverflowPolicy)} instead receive
+ * their output asynchronously, so that a slow stream cannot stall the writers.
+ * </p>
  *
  * @author Curtis Rueden
  */
@@ -53,6 +63,10 @@ public class MultiOutputStream extends OutputStream {
 
 	private final List<OutputStream> streams;
 
+	/** Asynchronous wrappers of constituent streams, keyed by wrapped stream. */
+	private final Map<OutputStream, AsyncOutputStream> asyncStreams =
+		new ConcurrentHashMap<>();
+
 	/**
 	 * Forwards output to a list of output streams.
 	 *
@@ -69,9 +83,48 @@ public class MultiOutputStream extends OutputStream {
 		streams.add(os);
 	}
 
+	/**
+	 * Adds an output stream to those receiving this stream's output, forwarding
+	 * the output to it on a background thread.
+	 *
+	 * @param os The output stream to add.
+	 * @param capacity Maximum number of bytes awaiting the stream.
+	 * @param policy What to do with output when the stream lags too far behind.
+	 * @return The asynchronous wrapper of the stream, which provides metrics on
+	 *         its lag and dropped output.
+	 */
+	public AsyncOutputStream addOutputStream(final OutputStream os,
+		final int capacity, final OverflowPolicy policy)
+	{
+		final AsyncOutputStream async =
+			new AsyncOutputStream(os, capacity, policy);
+		final AsyncOutputStream previous = asyncStreams.put(os, async);
+		if (previous != null) {
+			streams.remove(previous);
+			previous.shutdown();
+		}
+		streams.add(async);
+		return async;
+	}
+
+	/**
+	 * Gets the asynchronous wrapper of the given output stream, or null if the
+	 * stream was not added asynchronously.
+	 */
+	public AsyncOutputStream getAsyncOutputStream(final OutputStream os) {
+		return asyncStreams.get(os);
+	}
+
 	/** Removes an output stream from those receiving this stream's output. */
 	public void removeOutputStream(final OutputStream os) {
-		streams.remove(os);
+		final AsyncOutputStream async = asyncStreams.remove(os);
+		if (async == null) {
+			streams.remove(os);
+			return;
+		}
+		// NB: Forward any pending output, but leave the stream itself open.
+		streams.remove(async);
+		async.shutdown();
 	}
 
 	// -- OutputStream methods --
@@ -38,7 +38,12 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import org.scijava.event.EventHandler;
 import org.scijava.plugin.AbstractHandlerService;
+import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsListEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.util.ConversionUtils;
 
 /**
@@ -50,6 +55,12 @@ import org.scijava.util.ConversionUtils;
 public abstract class AbstractConvertService extends AbstractHandlerService<ConversionRequest, Converter<?, ?>>
 		implements ConvertService {
 
+	/**
+	 * Planner for chains of converters, created on demand and discarded when
+	 * converter plugins are added or removed.
+	 */
+	private volatile ConverterChainPlanner planner;
+
 	// -- ConversionService methods --
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
@@ -156,6 +167,21 @@ public abstract class AbstractConvertService extends AbstractHandlerService<Conv
 		return compatibleClasses;
 	}
 
+	// -- HandlerService methods --
+
+	@Override
+	public Converter<?, ?> getHandler(final ConversionRequest request) {
+		final Converter<?, ?> handler = ConvertService.super.getHandler(request);
+		if (handler != null) return handler;
+
+		// No single converter can handle the request; try chaining several.
+		final Class<?> srcClass = request.sourceClass();
+		final Class<?> destClass = request.destClass();
+		if (srcClass == null || destClass == null) return null;
+		final ConverterChain chain = planner().plan(srcClass, destClass);
+		return chain != null && chain.supports(request) ? chain : null;
+	}
+
 	// -- Service methods --
 
 	@Override
@@ -163,8 +189,43 @@ public abstract class AbstractConvertService extends AbstractHandlerService<Conv
 		ConversionUtils.setDelegateService(this, getPriority());
 	}
 
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent event) {
+		invalidatePlanner(event);
+	}
+
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent event) {
+		invalidatePlanner(event);
+	}
+
 	// -- Helper methods --
 
+	private ConverterChainPlanner planner() {
+		final ConverterChainPlanner p = planner;
+		return p == null ? initPlanner() : p;
+	}
+
+	private synchronized ConverterChainPlanner initPlanner() {
+		if (planner == null) planner = new ConverterChainPlanner(getInstances());
+		return planner;
+	}
+
+	/** Discards the planner if the event concerns any converter plugins. */
+	private void invalidatePlanner(final PluginsListEvent event) {
+		for (final PluginInfo<?> info : event.getItems()) {
+			final Class<?> type = info.getPluginType();
+			if (type != null && Converter.class.isAssignableFrom(type)) {
+				synchronized (this) {
+					planner = null;
+				}
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Test two classes; if they match, a third class is added to the provided
 	 * set of classes.
@@ -34,6 +34,8 @@ package org.scijava.convert;
 
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.scijava.plugin.HandlerService;
 import org.scijava.service.SciJavaService;
@@ -76,6 +78,26 @@ public interface ConvertService extends
 	 */
 	Converter<?, ?> getHandler(Object src, Type dest);
 
+	/**
+	 * Gets the converters which would be used, in order, to process the given
+	 * request. This is a single converter when one can handle the request
+	 * directly, or the converters of a {@link ConverterChain} when the request
+	 * can only be satisfied by chaining several converters together.
+	 *
+	 * @return The list of converters, or an empty list if the request is not
+	 *         supported.
+	 */
+	default List<Converter<?, ?>> getConversionPath(
+		final ConversionRequest request)
+	{
+		final Converter<?, ?> handler = getHandler(request);
+		if (handler == null) return Collections.emptyList();
+		if (handler instanceof ConverterChain) {
+			return ((ConverterChain) handler).getConverters();
+		}
+		return Collections.<Converter<?, ?>> singletonList(handler);
+	}
+
 	/**
 	 * @see HandlerService#supports(Object)
 	 */
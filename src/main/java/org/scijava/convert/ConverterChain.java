@@ -0,0 +1,169 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Converter} which performs a conversion by chaining together several
+ * other converters, each of which handles one hop of the conversion.
+ * <p>
+ * Chains are discovered by {@link ConverterChainPlanner} when no single
+ * registered converter can handle a request directly. They are not plugins
+ * themselves, but are returned by {@link ConvertService#getHandler} like any
+ * other converter, so that the resolved path can be inspected via
+ * {@link #getConverters()} and {@link #getTypes()}.
+ * </p>
+ *
+ * @author agent
+ */
+public class ConverterChain extends AbstractConverter<Object, Object> {
+
+	private final List<Converter<?, ?>> converters;
+	private final List<Class<?>> types;
+	private final double cost;
+
+	/**
+	 * Creates a new converter chain.
+	 *
+	 * @param converters The converters to apply, in order.
+	 * @param types The types visited by the chain, in order, starting with the
+	 *          source type and ending with the destination type. There must be
+	 *          exactly one more type than there are converters.
+	 * @param cost The total cost of the chain, as computed by the planner.
+	 */
+	public ConverterChain(final List<? extends Converter<?, ?>> converters,
+		final List<Class<?>> types, final double cost)
+	{
+		if (converters.isEmpty() || types.size() != converters.size() + 1) {
+			throw new IllegalArgumentException("Expected " + (converters.size() +
+				1) + " types for " + converters.size() + " converters but got " +
+				types.size());
+		}
+		this.converters = Collections.unmodifiableList(new ArrayList<>(
+			converters));
+		this.types = Collections.unmodifiableList(new ArrayList<>(types));
+		this.cost = cost;
+	}
+
+	// -- ConverterChain methods --
+
+	/** Gets the converters which make up this chain, in order. */
+	public List<Converter<?, ?>> getConverters() {
+		return converters;
+	}
+
+	/**
+	 * Gets the types visited by this chain, in order, from the source type to
+	 * the destination type.
+	 */
+	public List<Class<?>> getTypes() {
+		return types;
+	}
+
+	/** Gets the total cost of this chain. Lower is better. */
+	public double getCost() {
+		return cost;
+	}
+
+	// -- Converter methods --
+
+	@Override
+	public boolean canConvert(final Class<?> src, final Class<?> dest) {
+		if (src == null || dest == null) return false;
+		final Converter<?, ?> first = converters.get(0);
+		final Converter<?, ?> last = converters.get(converters.size() - 1);
+		return first.canConvert(new ConversionRequest(src, types.get(1))) &&
+			last.canConvert(new ConversionRequest(types.get(types.size() - 2), dest));
+	}
+
+	@Override
+	public Object convert(final Object src, final Type dest) {
+		final Object value = convertIntermediate(src);
+		if (value == null) return null;
+		return converters.get(converters.size() - 1).convert(value, dest);
+	}
+
+	@Override
+	public <T> T convert(final Object src, final Class<T> dest) {
+		final Object value = convertIntermediate(src);
+		if (value == null) return null;
+		return converters.get(converters.size() - 1).convert(value, dest);
+	}
+
+	@Override
+	public Class<Object> getOutputType() {
+		@SuppressWarnings("unchecked")
+		final Class<Object> outputType = (Class<Object>) types.get(types.size() -
+			1);
+		return outputType;
+	}
+
+	@Override
+	public Class<Object> getInputType() {
+		@SuppressWarnings("unchecked")
+		final Class<Object> inputType = (Class<Object>) types.get(0);
+		return inputType;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(types.get(0).getName());
+		for (int i = 0; i < converters.size(); i++) {
+			sb.append(" -[");
+			sb.append(converters.get(i).getClass().getSimpleName());
+			sb.append("]-> ");
+			sb.append(types.get(i + 1).getName());
+		}
+		return sb.toString();
+	}
+
+	// -- Helper methods --
+
+	/** Applies all but the last converter of the chain. */
+	private Object convertIntermediate(final Object src) {
+		Object value = src;
+		for (int i = 0; i < converters.size() - 1; i++) {
+			value = converters.get(i).convert(value, types.get(i + 1));
+			if (value == null) return null;
+		}
+		return value;
+	}
+
+}
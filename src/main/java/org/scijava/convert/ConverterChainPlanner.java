@@ -0,0 +1,187 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.scijava.Priority;
+
+/**
+ * Finds the cheapest {@link ConverterChain} between two classes.
+ * <p>
+ * The planner treats the available converters as edges of a graph whose nodes
+ * are classes: a converter links a class to the converter's
+ * {@link Converter#getOutputType() output type} whenever it can convert from
+ * that class. Each hop costs one unit, plus a penalty which decreases as the
+ * converter's priority increases. The penalties of a whole chain add up to
+ * less than one unit, so that shorter chains always win, and higher priority
+ * converters only break ties between chains of equal length. Converters with
+ * an output type of {@link Object} (e.g. {@link CastingConverter} and
+ * {@link DefaultConverter}) are not considered, since they would connect
+ * everything to everything.
+ * </p>
+ * <p>
+ * Results, including failed searches, are cached per pair of classes.
+ * </p>
+ *
+ * @author agent
+ */
+class ConverterChainPlanner {
+
+	/** Maximum number of converters in a chain. */
+	private static final int MAX_HOPS = 4;
+
+	private final List<Converter<?, ?>> converters;
+
+	private final ConcurrentHashMap<Class<?>, Map<Class<?>, Optional<ConverterChain>>> cache =
+		new ConcurrentHashMap<>();
+
+	public ConverterChainPlanner(final List<? extends Converter<?, ?>> candidates) {
+		converters = new ArrayList<>();
+		for (final Converter<?, ?> converter : candidates) {
+			if (converter instanceof ConverterChain) continue;
+			if (converter.getOutputType() == Object.class) continue;
+			converters.add(converter);
+		}
+	}
+
+	// -- ConverterChainPlanner methods --
+
+	/**
+	 * Gets the cheapest chain of at least two converters which converts from the
+	 * given source class to the given destination class, or null if there is no
+	 * such chain.
+	 */
+	public ConverterChain plan(final Class<?> src, final Class<?> dest) {
+		final Map<Class<?>, Optional<ConverterChain>> chains = //
+			cache.computeIfAbsent(src, c -> new ConcurrentHashMap<>());
+		Optional<ConverterChain> chain = chains.get(dest);
+		if (chain == null) {
+			chain = Optional.ofNullable(search(src, dest));
+			chains.put(dest, chain);
+		}
+		return chain.orElse(null);
+	}
+
+	// -- Helper methods --
+
+	private ConverterChain search(final Class<?> src, final Class<?> dest) {
+		final PriorityQueue<Step> queue = new PriorityQueue<>();
+		final Set<Class<?>> visited = new HashSet<>();
+		int sequence = 0;
+		queue.add(new Step(null, null, src, 0, false, sequence++));
+		while (!queue.isEmpty()) {
+			final Step step = queue.poll();
+			if (step.complete) return step.toChain();
+			if (!visited.add(step.type) || step.hops == MAX_HOPS) continue;
+			for (final Converter<?, ?> converter : converters) {
+				final double cost = step.cost + cost(converter);
+				if (step.hops > 0 && canConvert(converter, step.type, dest)) {
+					queue.add(new Step(step, converter, dest, cost, true, sequence++));
+				}
+				final Class<?> out = converter.getOutputType();
+				if (!visited.contains(out) && canConvert(converter, step.type, out)) {
+					queue.add(new Step(step, converter, out, cost, false, sequence++));
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean canConvert(final Converter<?, ?> converter,
+		final Class<?> src, final Class<?> dest)
+	{
+		return converter.canConvert(new ConversionRequest(src, dest));
+	}
+
+	private static double cost(final Converter<?, ?> converter) {
+		// NB: The penalty is strictly between 0 and 1 / MAX_HOPS.
+		final double penalty = //
+			0.5 - Math.atan(converter.getPriority() / Priority.HIGH) / Math.PI;
+		return 1 + penalty / MAX_HOPS;
+	}
+
+	// -- Helper classes --
+
+	/** A partial chain, as explored by the search. */
+	private static class Step implements Comparable<Step> {
+
+		private final Step previous;
+		private final Converter<?, ?> converter;
+		private final Class<?> type;
+		private final double cost;
+		private final boolean complete;
+		private final int hops;
+		private final int sequence;
+
+		public Step(final Step previous, final Converter<?, ?> converter,
+			final Class<?> type, final double cost, final boolean complete,
+			final int sequence)
+		{
+			this.previous = previous;
+			this.converter = converter;
+			this.type = type;
+			this.cost = cost;
+			this.complete = complete;
+			this.hops = previous == null ? 0 : previous.hops + 1;
+			this.sequence = sequence;
+		}
+
+		public ConverterChain toChain() {
+			final List<Converter<?, ?>> converterList = new ArrayList<>();
+			final List<Class<?>> typeList = new ArrayList<>();
+			for (Step s = this; s != null; s = s.previous) {
+				if (s.converter != null) converterList.add(s.converter);
+				typeList.add(s.type);
+			}
+			Collections.reverse(converterList);
+			Collections.reverse(typeList);
+			return new ConverterChain(converterList, typeList, cost);
+		}
+
+		@Override
+		public int compareTo(final Step that) {
+			final int result = Double.compare(cost, that.cost);
+			return result != 0 ? result : Integer.compare(sequence, that.sequence);
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.scijava.util.ByteArray;
+import org.scijava.util.DoubleArray;
+import org.scijava.util.FloatArray;
+import org.scijava.util.GenericUtils;
+import org.scijava.util.IntArray;
+import org.scijava.util.LongArray;
+import org.scijava.util.ShortArray;
+
+/**
+ * Abstract {@link Converter} for converting numeric primitive arrays, numeric
+ * {@link org.scijava.util.PrimitiveArray}s and collections of {@link Number}s
+ * to a numeric primitive array type.
+ * <p>
+ * Unlike the general-purpose array support of {@link DefaultConverter}, which
+ * boxes each element and converts it individually, implementations copy the
+ * values in a single tight loop using Java's primitive widening and narrowing
+ * rules. Conversions between identical element types are left to the
+ * {@link CastingConverter} and the {@link ArrayConverters}.
+ * </p>
+ *
+ * @see PrimitiveArrayConverters
+ * @author agent
+ */
+public abstract class PrimitiveArrayConverter<O> extends
+	AbstractConverter<Object, O>
+{
+
+	// -- PrimitiveArrayConverter methods --
+
+	/** Converts the first {@code length} values of the given array. */
+	protected abstract O convert(byte[] src, int length);
+
+	/** Converts the first {@code length} values of the given array. */
+	protected abstract O convert(short[] src, int length);
+
+	/** Converts the first {@code length} values of the given array. */
+	protected abstract O convert(int[] src, int length);
+
+	/** Converts the first {@code length} values of the given array. */
+	protected abstract O convert(long[] src, int length);
+
+	/** Converts the first {@code length} values of the given array. */
+	protected abstract O convert(float[] src, int length);
+
+	/** Converts the first {@code length} values of the given array. */
+	protected abstract O convert(double[] src, int length);
+
+	/** Converts the given collection, whose elements are all {@link Number}s. */
+	protected abstract O convert(Collection<?> src);
+
+	// -- Converter methods --
+
+	@Override
+	public boolean canConvert(final Object src, final Type dest) {
+		return canConvert(src, GenericUtils.getClass(dest));
+	}
+
+	@Override
+	public boolean canConvert(final Object src, final Class<?> dest) {
+		if (src instanceof Collection) {
+			if (dest != getOutputType()) return false;
+			for (final Object item : (Collection<?>) src) {
+				if (!(item instanceof Number)) return false;
+			}
+			return true;
+		}
+		return super.canConvert(src, dest);
+	}
+
+	@Override
+	public <T> T convert(final Object src, final Class<T> dest) {
+		final O result;
+		if (src instanceof byte[]) {
+			final byte[] array = (byte[]) src;
+			result = convert(array, array.length);
+		}
+		else if (src instanceof short[]) {
+			final short[] array = (short[]) src;
+			result = convert(array, array.length);
+		}
+		else if (src instanceof int[]) {
+			final int[] array = (int[]) src;
+			result = convert(array, array.length);
+		}
+		else if (src instanceof long[]) {
+			final long[] array = (long[]) src;
+			result = convert(array, array.length);
+		}
+		else if (src instanceof float[]) {
+			final float[] array = (float[]) src;
+			result = convert(array, array.length);
+		}
+		else if (src instanceof double[]) {
+			final double[] array = (double[]) src;
+			result = convert(array, array.length);
+		}
+		else if (src instanceof ByteArray) {
+			final ByteArray array = (ByteArray) src;
+			result = convert(array.getArray(), array.size());
+		}
+		else if (src instanceof ShortArray) {
+			final ShortArray array = (ShortArray) src;
+			result = convert(array.getArray(), array.size());
+		}
+		else if (src instanceof IntArray) {
+			final IntArray array = (IntArray) src;
+			result = convert(array.getArray(), array.size());
+		}
+		else if (src instanceof LongArray) {
+			final LongArray array = (LongArray) src;
+			result = convert(array.getArray(), array.size());
+		}
+		else if (src instanceof FloatArray) {
+			final FloatArray array = (FloatArray) src;
+			result = convert(array.getArray(), array.size());
+		}
+		else if (src instanceof DoubleArray) {
+			final DoubleArray array = (DoubleArray) src;
+			result = convert(array.getArray(), array.size());
+		}
+		else if (src instanceof Collection) {
+			result = convert((Collection<?>) src);
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported input: " +
+				(src == null ? null : src.getClass().getName()));
+		}
+		@SuppressWarnings("unchecked")
+		final T typedResult = (T) result;
+		return typedResult;
+	}
+
+	// -- Deprecated API --
+
+	@Override
+	@Deprecated
+	public boolean canConvert(final Class<?> src, final Class<?> dest) {
+		if (src == null || dest != getOutputType()) return false;
+		final Class<?> elementType = elementType(src);
+		return elementType != null && elementType != dest.getComponentType();
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Gets the primitive element type of the given numeric array or numeric
+	 * {@link org.scijava.util.PrimitiveArray} class, or null if the class is
+	 * neither.
+	 */
+	private static Class<?> elementType(final Class<?> c) {
+		if (c.isArray()) {
+			final Class<?> component = c.getComponentType();
+			return component.isPrimitive() && component != boolean.class &&
+				component != char.class ? component : null;
+		}
+		if (ByteArray.class.isAssignableFrom(c)) return byte.class;
+		if (ShortArray.class.isAssignableFrom(c)) return short.class;
+		if (IntArray.class.isAssignableFrom(c)) return int.class;
+		if (LongArray.class.isAssignableFrom(c)) return long.class;
+		if (FloatArray.class.isAssignableFrom(c)) return float.class;
+		if (DoubleArray.class.isAssignableFrom(c)) return double.class;
+		return null;
+	}
+
+}
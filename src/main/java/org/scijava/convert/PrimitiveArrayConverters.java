@@ -0,0 +1,449 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link PrimitiveArrayConverter} plugins that convert between numeric
+ * primitive array types without boxing.
+ *
+ * @author agent
+ */
+public final class PrimitiveArrayConverters {
+
+	private PrimitiveArrayConverters() {
+		// prevent instantiation of container class
+	}
+
+	// -- Byte array converters --
+
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class ToByteArrayConverter extends
+		PrimitiveArrayConverter<byte[]>
+	{
+
+		@Override
+		protected byte[] convert(final byte[] src, final int length) {
+			return Arrays.copyOf(src, length);
+		}
+
+		@Override
+		protected byte[] convert(final short[] src, final int length) {
+			final byte[] dest = new byte[length];
+			for (int i = 0; i < length; i++) dest[i] = (byte) src[i];
+			return dest;
+		}
+
+		@Override
+		protected byte[] convert(final int[] src, final int length) {
+			final byte[] dest = new byte[length];
+			for (int i = 0; i < length; i++) dest[i] = (byte) src[i];
+			return dest;
+		}
+
+		@Override
+		protected byte[] convert(final long[] src, final int length) {
+			final byte[] dest = new byte[length];
+			for (int i = 0; i < length; i++) dest[i] = (byte) src[i];
+			return dest;
+		}
+
+		@Override
+		protected byte[] convert(final float[] src, final int length) {
+			final byte[] dest = new byte[length];
+			for (int i = 0; i < length; i++) dest[i] = (byte) src[i];
+			return dest;
+		}
+
+		@Override
+		protected byte[] convert(final double[] src, final int length) {
+			final byte[] dest = new byte[length];
+			for (int i = 0; i < length; i++) dest[i] = (byte) src[i];
+			return dest;
+		}
+
+		@Override
+		protected byte[] convert(final Collection<?> src) {
+			final byte[] dest = new byte[src.size()];
+			int i = 0;
+			for (final Object item : src) dest[i++] = ((Number) item).byteValue();
+			return dest;
+		}
+
+		@Override
+		public Class<byte[]> getOutputType() {
+			return byte[].class;
+		}
+
+		@Override
+		public Class<Object> getInputType() {
+			return Object.class;
+		}
+	}
+
+	// -- Short array converters --
+
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class ToShortArrayConverter extends
+		PrimitiveArrayConverter<short[]>
+	{
+
+		@Override
+		protected short[] convert(final byte[] src, final int length) {
+			final short[] dest = new short[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected short[] convert(final short[] src, final int length) {
+			return Arrays.copyOf(src, length);
+		}
+
+		@Override
+		protected short[] convert(final int[] src, final int length) {
+			final short[] dest = new short[length];
+			for (int i = 0; i < length; i++) dest[i] = (short) src[i];
+			return dest;
+		}
+
+		@Override
+		protected short[] convert(final long[] src, final int length) {
+			final short[] dest = new short[length];
+			for (int i = 0; i < length; i++) dest[i] = (short) src[i];
+			return dest;
+		}
+
+		@Override
+		protected short[] convert(final float[] src, final int length) {
+			final short[] dest = new short[length];
+			for (int i = 0; i < length; i++) dest[i] = (short) src[i];
+			return dest;
+		}
+
+		@Override
+		protected short[] convert(final double[] src, final int length) {
+			final short[] dest = new short[length];
+			for (int i = 0; i < length; i++) dest[i] = (short) src[i];
+			return dest;
+		}
+
+		@Override
+		protected short[] convert(final Collection<?> src) {
+			final short[] dest = new short[src.size()];
+			int i = 0;
+			for (final Object item : src) dest[i++] = ((Number) item).shortValue();
+			return dest;
+		}
+
+		@Override
+		public Class<short[]> getOutputType() {
+			return short[].class;
+		}
+
+		@Override
+		public Class<Object> getInputType() {
+			return Object.class;
+		}
+	}
+
+	// -- Int array converters --
+
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class ToIntArrayConverter extends
+		PrimitiveArrayConverter<int[]>
+	{
+
+		@Override
+		protected int[] convert(final byte[] src, final int length) {
+			final int[] dest = new int[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected int[] convert(final short[] src, final int length) {
+			final int[] dest = new int[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected int[] convert(final int[] src, final int length) {
+			return Arrays.copyOf(src, length);
+		}
+
+		@Override
+		protected int[] convert(final long[] src, final int length) {
+			final int[] dest = new int[length];
+			for (int i = 0; i < length; i++) dest[i] = (int) src[i];
+			return dest;
+		}
+
+		@Override
+		protected int[] convert(final float[] src, final int length) {
+			final int[] dest = new int[length];
+			for (int i = 0; i < length; i++) dest[i] = (int) src[i];
+			return dest;
+		}
+
+		@Override
+		protected int[] convert(final double[] src, final int length) {
+			final int[] dest = new int[length];
+			for (int i = 0; i < length; i++) dest[i] = (int) src[i];
+			return dest;
+		}
+
+		@Override
+		protected int[] convert(final Collection<?> src) {
+			final int[] dest = new int[src.size()];
+			int i = 0;
+			for (final Object item : src) dest[i++] = ((Number) item).intValue();
+			return dest;
+		}
+
+		@Override
+		public Class<int[]> getOutputType() {
+			return int[].class;
+		}
+
+		@Override
+		public Class<Object> getInputType() {
+			return Object.class;
+		}
+	}
+
+	// -- Long array converters --
+
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class ToLongArrayConverter extends
+		PrimitiveArrayConverter<long[]>
+	{
+
+		@Override
+		protected long[] convert(final byte[] src, final int length) {
+			final long[] dest = new long[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected long[] convert(final short[] src, final int length) {
+			final long[] dest = new long[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected long[] convert(final int[] src, final int length) {
+			final long[] dest = new long[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected long[] convert(final long[] src, final int length) {
+			return Arrays.copyOf(src, length);
+		}
+
+		@Override
+		protected long[] convert(final float[] src, final int length) {
+			final long[] dest = new long[length];
+			for (int i = 0; i < length; i++) dest[i] = (long) src[i];
+			return dest;
+		}
+
+		@Override
+		protected long[] convert(final double[] src, final int length) {
+			final long[] dest = new long[length];
+			for (int i = 0; i < length; i++) dest[i] = (long) src[i];
+			return dest;
+		}
+
+		@Override
+		protected long[] convert(final Collection<?> src) {
+			final long[] dest = new long[src.size()];
+			int i = 0;
+			for (final Object item : src) dest[i++] = ((Number) item).longValue();
+			return dest;
+		}
+
+		@Override
+		public Class<long[]> getOutputType() {
+			return long[].class;
+		}
+
+		@Override
+		public Class<Object> getInputType() {
+			return Object.class;
+		}
+	}
+
+	// -- Float array converters --
+
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class ToFloatArrayConverter extends
+		PrimitiveArrayConverter<float[]>
+	{
+
+		@Override
+		protected float[] convert(final byte[] src, final int length) {
+			final float[] dest = new float[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected float[] convert(final short[] src, final int length) {
+			final float[] dest = new float[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected float[] convert(final int[] src, final int length) {
+			final float[] dest = new float[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected float[] convert(final long[] src, final int length) {
+			final float[] dest = new float[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected float[] convert(final float[] src, final int length) {
+			return Arrays.copyOf(src, length);
+		}
+
+		@Override
+		protected float[] convert(final double[] src, final int length) {
+			final float[] dest = new float[length];
+			for (int i = 0; i < length; i++) dest[i] = (float) src[i];
+			return dest;
+		}
+
+		@Override
+		protected float[] convert(final Collection<?> src) {
+			final float[] dest = new float[src.size()];
+			int i = 0;
+			for (final Object item : src) dest[i++] = ((Number) item).floatValue();
+			return dest;
+		}
+
+		@Override
+		public Class<float[]> getOutputType() {
+			return float[].class;
+		}
+
+		@Override
+		public Class<Object> getInputType() {
+			return Object.class;
+		}
+	}
+
+	// -- Double array converters --
+
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class ToDoubleArrayConverter extends
+		PrimitiveArrayConverter<double[]>
+	{
+
+		@Override
+		protected double[] convert(final byte[] src, final int length) {
+			final double[] dest = new double[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected double[] convert(final short[] src, final int length) {
+			final double[] dest = new double[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected double[] convert(final int[] src, final int length) {
+			final double[] dest = new double[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected double[] convert(final long[] src, final int length) {
+			final double[] dest = new double[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected double[] convert(final float[] src, final int length) {
+			final double[] dest = new double[length];
+			for (int i = 0; i < length; i++) dest[i] = src[i];
+			return dest;
+		}
+
+		@Override
+		protected double[] convert(final double[] src, final int length) {
+			return Arrays.copyOf(src, length);
+		}
+
+		@Override
+		protected double[] convert(final Collection<?> src) {
+			final double[] dest = new double[src.size()];
+			int i = 0;
+			for (final Object item : src) dest[i++] = ((Number) item).doubleValue();
+			return dest;
+		}
+
+		@Override
+		public Class<double[]> getOutputType() {
+			return double[].class;
+		}
+
+		@Override
+		public Class<Object> getInputType() {
+			return Object.class;
+		}
+	}
+
+}
@@ -38,6 +38,7 @@ import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
 import org.scijava.module.process.AbstractPreprocessorPlugin;
 import org.scijava.module.process.PreprocessorPlugin;
+import org.scijava.module.process.ReusableProcessor;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
@@ -55,7 +56,9 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = PreprocessorPlugin.class,
 	priority = Priority.VERY_HIGH)
-public class ActiveDisplayPreprocessor extends AbstractPreprocessorPlugin {
+public class ActiveDisplayPreprocessor extends AbstractPreprocessorPlugin
+	implements ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private DisplayService displayService;
@@ -44,6 +44,7 @@ import org.scijava.module.Module;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.process.AbstractPostprocessorPlugin;
 import org.scijava.module.process.PostprocessorPlugin;
+import org.scijava.module.process.ReusableProcessor;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 
@@ -56,7 +57,9 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = PostprocessorPlugin.class,
 	priority = Priority.VERY_LOW)
-public class DisplayPostprocessor extends AbstractPostprocessorPlugin {
+public class DisplayPostprocessor extends AbstractPostprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private DisplayService displayService;
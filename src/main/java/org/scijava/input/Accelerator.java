@@ -79,7 +79,8 @@ public class Accelerator {
 
 	@Override
 	public int hashCode() {
-		return toString().hashCode();
+		// NB: Avoid allocating, since accelerators are used as hash keys.
+		return 31 * keyCode.name().hashCode() + modifiers.hashCode();
 	}
 
 	@Override
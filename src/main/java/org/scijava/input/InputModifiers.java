@@ -108,7 +108,17 @@ public class InputModifiers {
 
 	@Override
 	public int hashCode() {
-		return toString().hashCode();
+		// NB: Avoid allocating, since modifiers are used as hash keys.
+		int hash = 0;
+		if (altDown) hash |= 0x01;
+		if (altGrDown) hash |= 0x02;
+		if (ctrlDown) hash |= 0x04;
+		if (metaDown) hash |= 0x08;
+		if (shiftDown) hash |= 0x10;
+		if (leftButtonDown) hash |= 0x20;
+		if (middleButtonDown) hash |= 0x40;
+		if (rightButtonDown) hash |= 0x80;
+		return hash;
 	}
 
 	@Override
@@ -32,19 +32,48 @@
 
 package org.scijava.io;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.scijava.event.EventService;
 import org.scijava.io.event.DataOpenedEvent;
 import org.scijava.io.event.DataSavedEvent;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.Location;
 import org.scijava.log.LogService;
 import org.scijava.plugin.AbstractHandlerService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.service.Service;
+import org.scijava.util.FileUtils;
 
 /**
  * Default implementation of {@link IOService}.
+ * <p>
+ * Openers and savers are resolved in two phases. First, the answers of
+ * {@link IOPlugin#isNameBased() name-based} plugins are looked up in a cache
+ * keyed by the location's scheme and extension, leaving only the plugins which
+ * must examine the location itself. Those are then probed in priority order;
+ * the ones needing {@link IOPlugin#getHeaderLength() content} share a single
+ * read of the source's first bytes.
+ * </p>
+ * <p>
+ * Since extensions are taken from arbitrary locations, the caches are bounded:
+ * once one holds {@link #MAX_CACHED_KEYS} entries, it is cleared.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -53,14 +82,123 @@ public final class DefaultIOService
 	extends AbstractHandlerService<String, IOPlugin<?>> implements IOService
 {
 
+	/** Maximum number of entries in each resolution cache. */
+	public static final int MAX_CACHED_KEYS = 256;
+
 	@Parameter
 	private LogService log;
 
 	@Parameter
 	private EventService eventService;
 
+	@Parameter
+	private DataHandleService dataHandleService;
+
+	/** Candidate openers of sources with a given scheme and extension. */
+	private final Map<String, List<IOPlugin<?>>> openers =
+		new ConcurrentHashMap<>();
+
+	/** Candidate savers of each data type, by scheme and extension. */
+	private final Map<Class<?>, Map<String, List<IOPlugin<?>>>> savers =
+		new ConcurrentHashMap<>();
+
+	/** Probe statistics of each plugin class. */
+	private final Map<Class<?>, ProbeStatistics> probeStatistics =
+		new ConcurrentHashMap<>();
+
 	// -- IOService methods --
 
+	@Override
+	public IOPlugin<?> getOpener(final String source) {
+		final List<IOPlugin<?>> candidates = cached(openers, key(source),
+			k -> candidates(handler -> handler.supportsOpen(source)));
+
+		byte[] header = null;
+		for (final IOPlugin<?> handler : candidates) {
+			if (handler.isNameBased()) return handler; // already known to match
+			final boolean supported;
+			if (handler.getHeaderLength() > 0) {
+				if (header == null) header = readHeader(source, candidates);
+				final byte[] bytes = header;
+				supported = probe(handler, h -> h.supportsOpen(source, bytes));
+			}
+			else supported = probe(handler, h -> h.supportsOpen(source));
+			if (supported) return handler;
+		}
+		return null;
+	}
+
+	@Override
+	public <D> IOPlugin<D> getSaver(final D data, final String destination) {
+		final Class<?> dataType = data == null ? Void.class : data.getClass();
+		final Map<String, List<IOPlugin<?>>> byKey = //
+			cached(savers, dataType, t -> new ConcurrentHashMap<>());
+		final List<IOPlugin<?>> candidates = cached(byKey, key(destination),
+			k -> candidates(handler -> handler.supportsSave(data, destination)));
+
+		for (final IOPlugin<?> handler : candidates) {
+			if (handler.isNameBased() || //
+				probe(handler, h -> h.supportsSave(data, destination)))
+			{
+				@SuppressWarnings("unchecked")
+				final IOPlugin<D> typedHandler = (IOPlugin<D>) handler;
+				return typedHandler;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Stream<?> openStream(final Location source) throws IOException {
+		final IOPlugin<?> opener = getStreamOpener(source);
+		if (opener == null) return null; // no appropriate IOPlugin
+
+		final DataHandle<Location> handle = dataHandleService.create(source);
+		if (handle == null) return null; // no way to read the location
+		try {
+			final Stream<?> data = opener.openStream(handle);
+			if (data == null) {
+				handle.close();
+				return null;
+			}
+			return data.onClose(() -> {
+				try {
+					handle.close();
+				}
+				catch (final IOException exc) {
+					throw new UncheckedIOException(exc);
+				}
+			});
+		}
+		catch (final IOException | RuntimeException exc) {
+			handle.close();
+			throw exc;
+		}
+	}
+
+	@Override
+	public <D> void saveStream(final Class<D> type,
+		final Stream<? extends D> data, final Location destination)
+		throws IOException
+	{
+		final IOPlugin<D> saver = getStreamSaver(type, destination);
+		if (saver == null) return; // no appropriate IOPlugin
+
+		try (final DataHandle<Location> handle = //
+			dataHandleService.create(destination))
+		{
+			if (handle == null) return; // no way to write the location
+			saver.saveStream(data, handle);
+			// NB: Discard any longer content written previously.
+			handle.setLength(handle.offset());
+		}
+	}
+
+	@Override
+	public Map<Class<?>, ProbeStatistics> getProbeStatistics() {
+		return Collections.unmodifiableMap(probeStatistics);
+	}
+
 	@Override
 	public Object open(final String source) throws IOException {
 		final IOPlugin<?> opener = getOpener(source);
@@ -83,4 +221,85 @@ public final class DefaultIOService
 			eventService.publish(new DataSavedEvent(destination, data));
 		}
 	}
+
+	// -- Helper methods --
+
+	/**
+	 * Gets the value cached for the given key, computing it if absent. The cache
+	 * is cleared first if it is full.
+	 */
+	private <K, V> V cached(final Map<K, V> cache, final K key,
+		final Function<? super K, ? extends V> compute)
+	{
+		final V value = cache.get(key);
+		if (value != null) return value;
+		if (cache.size() >= MAX_CACHED_KEYS) cache.clear();
+		return cache.computeIfAbsent(key, compute);
+	}
+
+	/** Gets the cache key of a location: its scheme and extension. */
+	private String key(final String location) {
+		final int colon = location.indexOf("://");
+		final String scheme = colon < 0 ? "" : location.substring(0, colon);
+		return scheme + ":" + FileUtils.getExtension(location);
+	}
+
+	/**
+	 * Lists the plugins which might support a location, in priority order:
+	 * name-based plugins are probed right away, and only the first match is
+	 * retained, after any plugins whose answer depends on more than the name.
+	 */
+	private List<IOPlugin<?>> candidates(final Predicate<IOPlugin<?>> test) {
+		final List<IOPlugin<?>> candidates = new ArrayList<>();
+		for (final IOPlugin<?> handler : getInstances()) {
+			if (!handler.isNameBased()) candidates.add(handler);
+			else if (probe(handler, test)) {
+				candidates.add(handler);
+				break; // NB: Lower priority plugins can never be reached.
+			}
+		}
+		return candidates;
+	}
+
+	/** Asks the given plugin the given question, recording the cost. */
+	private boolean probe(final IOPlugin<?> handler,
+		final Predicate<IOPlugin<?>> test)
+	{
+		final long start = System.nanoTime();
+		final boolean match = test.test(handler);
+		final long time = System.nanoTime() - start;
+		probeStatistics.computeIfAbsent(handler.getClass(),
+			c -> new ProbeStatistics()).record(time, match);
+		return match;
+	}
+
+	/**
+	 * Reads as many leading bytes of the given source as any of the candidates
+	 * wants to inspect. Only local files are read; for anything else, the header
+	 * is empty.
+	 */
+	private byte[] readHeader(final String source,
+		final List<IOPlugin<?>> candidates)
+	{
+		int length = 0;
+		for (final IOPlugin<?> handler : candidates) {
+			length = Math.max(length, handler.getHeaderLength());
+		}
+		final File file = new File(source);
+		if (!file.isFile()) return new byte[0];
+		final byte[] header = new byte[(int) Math.min(length, file.length())];
+		try (final InputStream in = new FileInputStream(file)) {
+			int off = 0;
+			while (off < header.length) {
+				final int r = in.read(header, off, header.length - off);
+				if (r < 0) break;
+				off += r;
+			}
+			return off == header.length ? header : Arrays.copyOf(header, off);
+		}
+		catch (final IOException exc) {
+			log.debug("Cannot read header of " + source, exc);
+			return new byte[0];
+		}
+	}
 }
@@ -33,7 +33,10 @@
 package org.scijava.io;
 
 import java.io.IOException;
+import java.util.stream.Stream;
 
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.Location;
 import org.scijava.plugin.HandlerPlugin;
 import org.scijava.plugin.Plugin;
 
@@ -62,6 +65,47 @@ public interface IOPlugin<D> extends HandlerPlugin<String> {
 		return false;
 	}
 
+	/**
+	 * Checks whether the I/O plugin can open data from the given source, whose
+	 * content begins with the given bytes.
+	 * <p>
+	 * This method is called instead of {@link #supportsOpen(String)} for plugins
+	 * whose {@link #getHeaderLength()} is positive, so that all such plugins
+	 * share a single read of the source's first bytes.
+	 * </p>
+	 *
+	 * @param source The source to check.
+	 * @param header Up to {@link #getHeaderLength()} leading bytes of the
+	 *          source's content; empty if the content cannot be read.
+	 */
+	@SuppressWarnings("unused")
+	default boolean supportsOpen(final String source, final byte[] header) {
+		return supportsOpen(source);
+	}
+
+	/**
+	 * Gets the number of leading bytes of a source's content which the plugin
+	 * inspects to decide whether it can open it, or 0 if it never inspects
+	 * content.
+	 *
+	 * @see #supportsOpen(String, byte[])
+	 */
+	default int getHeaderLength() {
+		return 0;
+	}
+
+	/**
+	 * Gets whether the plugin decides which sources and destinations it supports
+	 * by name alone: that is, whether {@link #supportsOpen(String)} and
+	 * {@link #supportsSave(Object, String)} depend only on the scheme and
+	 * extension of the given location (and the type of the data to save). If so,
+	 * the {@link IOService} may cache their answers for as long as it lives, so
+	 * the answers must not change over time either.
+	 */
+	default boolean isNameBased() {
+		return false;
+	}
+
 	/** Checks whether the I/O plugin can save data to the given destination. */
 	@SuppressWarnings("unused")
 	default boolean supportsSave(final String destination) {
@@ -88,6 +132,45 @@ public interface IOPlugin<D> extends HandlerPlugin<String> {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Checks whether the I/O plugin can open data from the given location as a
+	 * stream; see {@link #openStream(DataHandle)}.
+	 */
+	@SuppressWarnings("unused")
+	default boolean supportsOpenStream(final Location source) {
+		return false;
+	}
+
+	/**
+	 * Checks whether the I/O plugin can save a stream of data to the given
+	 * location; see {@link #saveStream(Stream, DataHandle)}.
+	 */
+	@SuppressWarnings("unused")
+	default boolean supportsSaveStream(final Location destination) {
+		return false;
+	}
+
+	/**
+	 * Opens data from the given handle as a lazily read stream of chunks, so that
+	 * large data need not be held in memory all at once. The stream must be
+	 * consumed while the handle remains open; closing the stream does not close
+	 * the handle.
+	 */
+	@SuppressWarnings("unused")
+	default Stream<D> openStream(final DataHandle<Location> source)
+		throws IOException
+	{
+		throw new UnsupportedOperationException();
+	}
+
+	/** Saves the given chunks of data to the given handle, in order. */
+	@SuppressWarnings("unused")
+	default void saveStream(final Stream<? extends D> data,
+		final DataHandle<Location> destination) throws IOException
+	{
+		throw new UnsupportedOperationException();
+	}
+
 	// -- Typed methods --
 
 	@Override
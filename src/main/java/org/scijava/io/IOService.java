@@ -33,7 +33,12 @@
 package org.scijava.io;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.Location;
 import org.scijava.plugin.HandlerService;
 import org.scijava.service.SciJavaService;
 
@@ -72,6 +77,45 @@ public interface IOService extends HandlerService<String, IOPlugin<?>>,
 		return null;
 	}
 
+	/**
+	 * Gets the most appropriate {@link IOPlugin} for opening data from the given
+	 * location as a stream.
+	 */
+	default IOPlugin<?> getStreamOpener(final Location source) {
+		for (final IOPlugin<?> handler : getInstances()) {
+			if (handler.supportsOpenStream(source)) return handler;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the most appropriate {@link IOPlugin} for saving a stream of data of
+	 * the given type to the given location.
+	 */
+	default <D> IOPlugin<D> getStreamSaver(final Class<D> type,
+		final Location destination)
+	{
+		for (final IOPlugin<?> handler : getInstances()) {
+			if (handler.getDataType().isAssignableFrom(type) && //
+				handler.supportsSaveStream(destination))
+			{
+				@SuppressWarnings("unchecked")
+				final IOPlugin<D> typedHandler = (IOPlugin<D>) handler;
+				return typedHandler;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets statistics on the cost of probing each {@link IOPlugin} while
+	 * resolving openers and savers, keyed by plugin class. Answers served from a
+	 * cache are not counted as probes.
+	 */
+	default Map<Class<?>, ProbeStatistics> getProbeStatistics() {
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * Loads data from the given source. For extensibility, the nature of the
 	 * source is left intentionally general, but two common examples include file
@@ -104,6 +148,39 @@ public interface IOService extends HandlerService<String, IOPlugin<?>>,
 	 */
 	void save(Object data, String destination) throws IOException;
 
+	/**
+	 * Loads data from the given location as a lazily read stream of chunks, so
+	 * that large data need not be held in memory all at once. The nature of the
+	 * chunks depends on the opener; e.g., for text, they are fragments of HTML.
+	 * <p>
+	 * The opener to use is automatically determined based on available
+	 * {@link IOPlugin}s; see {@link #getStreamOpener(Location)}. The stream
+	 * holds the location's {@link DataHandle} open until it is closed, so it
+	 * should be used in a try-with-resources statement.
+	 * </p>
+	 *
+	 * @param source The location from which data should be loaded.
+	 * @return A stream of the loaded data, or null if the source is not
+	 *         supported.
+	 * @throws IOException if something goes wrong opening the data.
+	 */
+	Stream<?> openStream(Location source) throws IOException;
+
+	/**
+	 * Saves a stream of data to the given location, consuming it chunk by chunk.
+	 * <p>
+	 * The saver to use is automatically determined based on available
+	 * {@link IOPlugin}s; see {@link #getStreamSaver(Class, Location)}.
+	 * </p>
+	 *
+	 * @param type The type of the stream's chunks.
+	 * @param data The chunks of data to be saved, in order.
+	 * @param destination The location to which data should be saved.
+	 * @throws IOException if something goes wrong saving the data.
+	 */
+	<D> void saveStream(Class<D> type, Stream<? extends D> data,
+		Location destination) throws IOException;
+
 	// -- HandlerService methods --
 
 	@Override
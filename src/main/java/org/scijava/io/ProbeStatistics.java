@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics on the cost of asking one {@link IOPlugin} whether it supports a
+ * source or destination.
+ *
+ * @see IOService#getProbeStatistics()
+ * @author agent
+ */
+public class ProbeStatistics {
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder matches = new LongAdder();
+	private final LongAdder totalTime = new LongAdder();
+	private final AtomicLong maxTime = new AtomicLong();
+
+	// -- ProbeStatistics methods --
+
+	/** Gets the number of times the plugin was probed. */
+	public long getProbeCount() {
+		return probes.sum();
+	}
+
+	/** Gets the number of probes which the plugin answered affirmatively. */
+	public long getMatchCount() {
+		return matches.sum();
+	}
+
+	/** Gets the total time spent probing the plugin, in nanoseconds. */
+	public long getTotalTime() {
+		return totalTime.sum();
+	}
+
+	/** Gets the time taken by the slowest probe, in nanoseconds. */
+	public long getMaxTime() {
+		return maxTime.get();
+	}
+
+	/** Gets the mean time taken by a probe, in nanoseconds. */
+	public double getMeanTime() {
+		final long count = getProbeCount();
+		return count == 0 ? 0 : (double) getTotalTime() / count;
+	}
+
+	/** Records one probe. */
+	void record(final long time, final boolean match) {
+		probes.increment();
+		if (match) matches.increment();
+		totalTime.add(time);
+		maxTime.accumulateAndGet(time, Math::max);
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return String.format("%d probes, %d matches, mean %.1f us, max %.1f us",
+			getProbeCount(), getMatchCount(), getMeanTime() / 1e3,
+			getMaxTime() / 1e3);
+	}
+
+}
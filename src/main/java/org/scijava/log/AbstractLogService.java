@@ -35,6 +35,7 @@ package org.scijava.log;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.scijava.service.AbstractService;
 
@@ -50,12 +51,37 @@ public abstract class AbstractLogService extends AbstractService implements
 	LogService
 {
 
+	/** Marker for classes without a custom log level. */
+	private static final int NO_LEVEL = Integer.MIN_VALUE;
+
 	private int currentLevel = levelFromEnvironment();
 
 	private final Map<String, Integer> classAndPackageLevels;
 
+	/**
+	 * Incremented whenever {@link #classAndPackageLevels} changes, invalidating
+	 * the levels cached in {@link #classLevels}.
+	 */
+	private volatile int classLevelsVersion;
+
+	/**
+	 * The custom log level resolved for each calling class, keyed on class
+	 * name, or {@link #NO_LEVEL} if it has none.
+	 * <p>
+	 * NB: Keyed on name rather than on the class itself, so that the cache
+	 * neither keeps classes loaded nor is kept alive by them.
+	 * </p>
+	 */
+	private final Map<String, Integer> classLevels = new ConcurrentHashMap<>();
+
+	/** Default number of recent messages kept per source. */
+	public static final int DEFAULT_HISTORY_CAPACITY = 64;
+
 	private final Logger rootLogger;
 
+	/** Recently logged messages, or null if no history is kept. */
+	private final LogHistory history;
+
 	// -- constructor --
 
 	public AbstractLogService() {
@@ -63,13 +89,14 @@ public abstract class AbstractLogService extends AbstractService implements
 	}
 
 	public AbstractLogService(final Properties properties) {
-		rootLogger = new RootLogger();
 		// provide this constructor to enable unit tests
+		history = historyFromProperties(properties);
+		rootLogger = new RootLogger();
 		final int level = LogLevel.value(properties.getProperty(
 			LogService.LOG_LEVEL_PROPERTY));
 		if (level >= 0) currentLevel = level;
-		classAndPackageLevels = setupMapFromProperties(properties,
-			LogService.LOG_LEVEL_PROPERTY + ":");
+		classAndPackageLevels = new ConcurrentHashMap<>(setupMapFromProperties(
+			properties, LogService.LOG_LEVEL_PROPERTY + ":"));
 		initLogSourceLevels(properties);
 	}
 
@@ -82,7 +109,11 @@ public abstract class AbstractLogService extends AbstractService implements
 
 	@Override
 	public void setLevel(final String classOrPackageName, final int level) {
-		classAndPackageLevels.put(classOrPackageName, level);
+		synchronized (classAndPackageLevels) {
+			classAndPackageLevels.put(classOrPackageName, level);
+			classLevelsVersion++;
+			classLevels.clear();
+		}
 	}
 
 	@Override
@@ -90,6 +121,11 @@ public abstract class AbstractLogService extends AbstractService implements
 		rootLogger.getSource().subSource(source).setLogLevel(level);
 	}
 
+	@Override
+	public LogHistory getHistory() {
+		return history;
+	}
+
 	// -- Logger methods --
 
 	@Override
@@ -105,8 +141,17 @@ public abstract class AbstractLogService extends AbstractService implements
 	@Override
 	public int getLevel() {
 		if (classAndPackageLevels.isEmpty()) return currentLevel;
-		return getLevelForClass(CallingClassUtils.getCallingClass().getName(),
-			currentLevel);
+		final String name = CallingClassUtils.getCallingClass().getName();
+		Integer level = classLevels.get(name);
+		if (level == null) {
+			final int version = classLevelsVersion;
+			level = getLevelForClass(name, NO_LEVEL);
+			synchronized (classAndPackageLevels) {
+				// NB: Do not cache a level resolved from a since-changed map.
+				if (version == classLevelsVersion) classLevels.put(name, level);
+			}
+		}
+		return level == NO_LEVEL ? currentLevel : level;
 	}
 
 	@Override
@@ -145,7 +190,23 @@ public abstract class AbstractLogService extends AbstractService implements
 		nameLevels.forEach(this::setLevelForLogger);
 	}
 
-	private int getLevelForClass(String classOrPackageName, int defaultLevel) {
+	private LogHistory historyFromProperties(final Properties properties) {
+		final String value = properties.getProperty(LOG_HISTORY_PROPERTY);
+		int capacity = DEFAULT_HISTORY_CAPACITY;
+		if (value != null) {
+			try {
+				capacity = Integer.parseInt(value.trim());
+			}
+			catch (final NumberFormatException exc) {
+				// NB: Keep the default capacity.
+			}
+		}
+		return capacity > 0 ? new LogHistory(capacity) : null;
+	}
+
+	private int getLevelForClass(String classOrPackageName,
+		final int defaultLevel)
+	{
 		// check for a custom log level for calling class or its parent packages
 		while (classOrPackageName != null) {
 			final Integer level = classAndPackageLevels.get(classOrPackageName);
@@ -192,5 +253,11 @@ public abstract class AbstractLogService extends AbstractService implements
 		public int getLevel() {
 			return AbstractLogService.this.getLevel();
 		}
+
+		@Override
+		public void messageLogged(final LogMessage message) {
+			if (history != null) history.messageLogged(message);
+			super.messageLogged(message);
+		}
 	}
 }
@@ -0,0 +1,394 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Writes {@link LogMessage}s to {@link PrintStream}s on a background thread.
+ * <p>
+ * Logging threads merely enqueue their messages into a bounded, lock-free
+ * ring buffer. The background thread formats and writes them in batches, so
+ * that logging threads neither format messages nor contend for the locks of
+ * the streams. Messages are written in the order in which they were enqueued.
+ * </p>
+ * <p>
+ * What happens when the buffer is full is decided by the
+ * {@link OverflowPolicy}. Dropped messages are counted, and a summary of how
+ * many were dropped is written after the next batch.
+ * </p>
+ * 
+ * @see StderrLogService#setAsynchronous(int, OverflowPolicy)
+ * @author agent
+ */
+@IgnoreAsCallingClass
+public class AsyncLogSink implements Closeable {
+
+	/** What to do with a message when the buffer is full. */
+	public enum OverflowPolicy {
+
+		/** Wait for room in the buffer; no message is lost. */
+		BLOCK,
+
+		/** Drop the message. */
+		DROP,
+
+		/**
+		 * Drop most messages, but wait for room for one out of every
+		 * {@link AsyncLogSink#setSampleInterval sample interval} of them.
+		 */
+		SAMPLE
+	}
+
+	/** Maximum number of messages written at once. */
+	private static final int BATCH_SIZE = 256;
+
+	private final OverflowPolicy policy;
+	private final Function<Integer, PrintStream> levelToStream;
+
+	// -- Ring buffer --
+
+	private final int mask;
+	private final AtomicReferenceArray<LogMessage> slots;
+
+	/**
+	 * Sequence number of each slot: equal to a position when the slot is free
+	 * to be filled for that position, and to the position plus one once it has
+	 * been filled.
+	 */
+	private final AtomicLongArray sequences;
+
+	/** Next position to be claimed by a logging thread. */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** Next position to be consumed by the writer thread. */
+	private volatile long head;
+
+	/** Number of messages written so far, i.e., {@link #head} after writing. */
+	private volatile long written;
+
+	/** Lock held while consuming messages, by the writer or another thread. */
+	private final Object consumer = new Object();
+
+	// -- Writer thread --
+
+	private final Thread writer;
+	private final Thread shutdownHook;
+	private volatile boolean sleeping;
+	private volatile boolean closed;
+
+	// -- Overflow handling --
+
+	private final AtomicLong overflows = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile int sampleInterval = 100;
+	private long droppedReported;
+
+	/**
+	 * Creates a sink, and starts its writer thread.
+	 * 
+	 * @param capacity Capacity of the buffer, rounded up to a power of two.
+	 * @param policy What to do with messages when the buffer is full.
+	 * @param levelToStream Function choosing the stream for each log level.
+	 */
+	public AsyncLogSink(final int capacity, final OverflowPolicy policy,
+		final Function<Integer, PrintStream> levelToStream)
+	{
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		final int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.policy = policy;
+		this.levelToStream = levelToStream;
+		mask = Math.max(1, size) - 1;
+		slots = new AtomicReferenceArray<>(mask + 1);
+		sequences = new AtomicLongArray(mask + 1);
+		for (int i = 0; i <= mask; i++) {
+			sequences.set(i, i);
+		}
+
+		writer = new Thread(this::drain, "SciJava-Log-Writer");
+		writer.setDaemon(true);
+		writer.start();
+
+		// NB: Write any pending messages before the JVM exits.
+		shutdownHook = new Thread(this::close, "SciJava-Log-Flusher");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	// -- AsyncLogSink methods --
+
+	/** Gets the number of messages the buffer can hold. */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/** Gets the policy for messages arriving while the buffer is full. */
+	public OverflowPolicy getOverflowPolicy() {
+		return policy;
+	}
+
+	/** Gets the number of messages dropped because the buffer was full. */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Sets how many messages arriving while the buffer is full share one which
+	 * is written nonetheless, with the {@link OverflowPolicy#SAMPLE} policy.
+	 */
+	public void setSampleInterval(final int sampleInterval) {
+		this.sampleInterval = Math.max(1, sampleInterval);
+	}
+
+	/**
+	 * Enqueues the given message for writing; or drops it, if the buffer is
+	 * full and the overflow policy says so.
+	 * 
+	 * @return false if the sink is closed, in which case the message must be
+	 *         written by the caller; true otherwise.
+	 */
+	public boolean offer(final LogMessage message) {
+		if (closed) return false;
+		if (Thread.currentThread() == writer) {
+			// NB: Avoid deadlock when writing a message logs another one.
+			return false;
+		}
+		if (tryOffer(message)) return enqueued();
+
+		// the buffer is full
+		switch (policy) {
+			case DROP:
+				dropped.incrementAndGet();
+				return true;
+			case SAMPLE:
+				if (overflows.incrementAndGet() % sampleInterval != 0) {
+					dropped.incrementAndGet();
+					return true;
+				}
+				break;
+			default:
+				break;
+		}
+		while (!tryOffer(message)) {
+			if (closed || !writer.isAlive()) return false;
+			wakeWriter();
+			LockSupport.parkNanos(this, 10_000);
+		}
+		return enqueued();
+	}
+
+	/** Waits until all messages enqueued so far have been written. */
+	public void flush() {
+		final long target = tail.get();
+		while (written < target && writer.isAlive()) {
+			wakeWriter();
+			LockSupport.parkNanos(this, 100_000);
+		}
+	}
+
+	// -- Closeable methods --
+
+	/** Writes all pending messages, then stops the writer thread. */
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+		LockSupport.unpark(writer);
+		if (Thread.currentThread() != writer) {
+			try {
+				writer.join();
+			}
+			catch (final InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (Thread.currentThread() != shutdownHook) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			}
+			catch (final IllegalStateException exc) {
+				// NB: The JVM is already shutting down.
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Claims the next free slot for the given message, if any. */
+	private boolean tryOffer(final LogMessage message) {
+		long pos = tail.get();
+		while (true) {
+			final int index = (int) pos & mask;
+			final long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					slots.set(index, message);
+					sequences.set(index, pos + 1);
+					if (sleeping) LockSupport.unpark(writer);
+					return true;
+				}
+				pos = tail.get();
+			}
+			else if (diff < 0) return false; // full
+			else pos = tail.get(); // claimed by another thread
+		}
+	}
+
+	/**
+	 * Makes sure that a message just enqueued is written, even if the sink was
+	 * closed meanwhile, and its writer thread might already have stopped.
+	 */
+	private boolean enqueued() {
+		if (closed) drainAll();
+		return true;
+	}
+
+	/** Takes the next message, if one has been enqueued. */
+	private LogMessage poll() {
+		final long pos = head;
+		final int index = (int) pos & mask;
+		if (sequences.get(index) != pos + 1) return null;
+		final LogMessage message = slots.get(index);
+		slots.set(index, null);
+		sequences.set(index, pos + mask + 1);
+		head = pos + 1;
+		return message;
+	}
+
+	private void wakeWriter() {
+		if (sleeping) LockSupport.unpark(writer);
+	}
+
+	/** Body of the writer thread. */
+	private void drain() {
+		final List<LogMessage> batch = new ArrayList<>(BATCH_SIZE);
+		final StringBuilder sb = new StringBuilder();
+		while (true) {
+			if (writeBatch(batch, sb, false)) continue;
+			if (closed) break;
+			sleeping = true;
+			// NB: Check again, in case a message arrived before we went to sleep.
+			if (sequences.get((int) head & mask) != head + 1 && !closed) {
+				LockSupport.park(this);
+			}
+			sleeping = false;
+		}
+		// NB: Messages may have been enqueued since the last batch was taken.
+		drainAll();
+	}
+
+	/**
+	 * Writes all messages enqueued so far, including those whose logging
+	 * threads have claimed a slot but not filled it yet.
+	 */
+	private void drainAll() {
+		final List<LogMessage> batch = new ArrayList<>(BATCH_SIZE);
+		final StringBuilder sb = new StringBuilder();
+		while (writeBatch(batch, sb, true)) {
+			// NB: Keep writing until the buffer is empty.
+		}
+	}
+
+	/**
+	 * Takes and writes the next batch of messages.
+	 * 
+	 * @param all Whether to wait for slots which have been claimed, but not
+	 *          yet filled.
+	 * @return false if there were no messages to write.
+	 */
+	private boolean writeBatch(final List<LogMessage> batch,
+		final StringBuilder sb, final boolean all)
+	{
+		synchronized (consumer) {
+			while (batch.size() < BATCH_SIZE) {
+				final LogMessage message = poll();
+				if (message != null) batch.add(message);
+				else if (all && head < tail.get()) Thread.yield();
+				else break;
+			}
+			if (batch.isEmpty()) return false;
+			try {
+				write(batch, sb);
+			}
+			catch (final RuntimeException exc) {
+				// NB: Keep going; there is nowhere else to report the problem.
+				exc.printStackTrace();
+				sb.setLength(0);
+			}
+			batch.clear();
+			written = head;
+			return true;
+		}
+	}
+
+	private void write(final List<LogMessage> batch, final StringBuilder sb) {
+		PrintStream current = null;
+		for (final LogMessage message : batch) {
+			final PrintStream out = levelToStream.apply(message.level());
+			if (out != current) {
+				print(current, sb);
+				current = out;
+			}
+			sb.append(message);
+		}
+		print(current, sb);
+
+		final long droppedCount = dropped.get();
+		if (droppedCount > droppedReported) {
+			final long count = droppedCount - droppedReported;
+			droppedReported = droppedCount;
+			final LogMessage summary = new LogMessage(LogSource.newRoot(),
+				LogLevel.WARN, count + " log message(s) dropped; buffer is full");
+			sb.append(summary);
+			print(levelToStream.apply(LogLevel.WARN), sb);
+		}
+	}
+
+	private void print(final PrintStream out, final StringBuilder sb) {
+		if (out != null && sb.length() > 0) {
+			out.print(sb);
+			out.flush();
+		}
+		sb.setLength(0);
+	}
+
+}
@@ -31,6 +31,12 @@
 
 package org.scijava.log;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * Utility class for getting the calling class of a method.
  *
@@ -40,6 +46,25 @@ package org.scijava.log;
 @IgnoreAsCallingClass
 public final class CallingClassUtils {
 
+	/** Whether each class is annotated with @IgnoreAsCallingClass. */
+	private static final ClassValue<Boolean> IGNORED = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return type.isAnnotationPresent(IgnoreAsCallingClass.class);
+		}
+	};
+
+	private static final ClassContext CLASS_CONTEXT = new ClassContext();
+
+	/**
+	 * Gets the first class on the stack which is not ignored, from a stream of
+	 * {@code StackWalker.StackFrame}s.
+	 */
+	private static final Function<Stream<?>, Class<?>> FIRST_NOT_IGNORED =
+		frames -> frames.map(CallingClassUtils::declaringClass) //
+			.filter(c -> !IGNORED.get(c)).findFirst().orElse(null);
+
 	private CallingClassUtils() {
 		// prevent instantiation of utility class
 	}
@@ -47,21 +72,112 @@ public final class CallingClassUtils {
 	/**
 	 * Inspects the stack trace to return the class that calls this method, but
 	 * ignores every class annotated with @IgnoreAsCallingClass.
+	 * <p>
+	 * NB: The classes on the stack are obtained directly, rather than by
+	 * capturing a {@link Thread#getStackTrace() stack trace} and looking up each
+	 * frame's class by name, and whether a class is ignored is computed only
+	 * once. On Java 9 and later, the stack is walked lazily, so that only the
+	 * frames up to the first one which is not ignored are visited. On Java 8,
+	 * the classes of all frames are captured, then scanned.
+	 * </p>
 	 *
 	 * @throws IllegalStateException if every method on the stack, is in a class
 	 *           annotated with @IgnoreAsCallingClass.
 	 */
 	public static Class<?> getCallingClass() {
+		if (StackWalk.WALK != null) {
+			final Class<?> c = StackWalk.walk(FIRST_NOT_IGNORED);
+			if (c == null) throw new IllegalStateException();
+			return c;
+		}
+		final Class<?>[] classes = CLASS_CONTEXT.getClassContext();
+		// NB: The first frame is ClassContext#getClassContext itself.
+		for (int i = 1; i < classes.length - 1; i++) {
+			if (!IGNORED.get(classes[i])) return classes[i];
+		}
+		throw new IllegalStateException();
+	}
+
+	// -- Helper methods --
+
+	private static Class<?> declaringClass(final Object frame) {
 		try {
-			StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-			for (int i = 1; i < stackTrace.length - 1; i++) {
-				Class<?> clazz = Class.forName(stackTrace[i].getClassName());
-				if (!clazz.isAnnotationPresent(IgnoreAsCallingClass.class))
-					return clazz;
+			return (Class<?>) StackWalk.DECLARING_CLASS.invoke(frame);
+		}
+		catch (final RuntimeException | Error exc) {
+			throw exc;
+		}
+		catch (final Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Access to {@code java.lang.StackWalker}, where available. This class
+	 * compiles against Java 8, so the API is bound reflectively.
+	 */
+	@IgnoreAsCallingClass
+	private static final class StackWalk {
+
+		/** Walks the stack with the given function, or null if unsupported. */
+		private static final MethodHandle WALK;
+
+		/** Gets the declaring class of a stack frame. */
+		private static final MethodHandle DECLARING_CLASS;
+
+		static {
+			MethodHandle walk = null, declaringClass = null;
+			try {
+				final Class<?> walker = Class.forName("java.lang.StackWalker");
+				final Class<?> option = //
+					Class.forName("java.lang.StackWalker$Option");
+				final Class<?> frame = //
+					Class.forName("java.lang.StackWalker$StackFrame");
+				// NB: StackWalker#walk is caller sensitive, needing a full lookup.
+				final MethodHandles.Lookup lookup = MethodHandles.lookup();
+				final Object instance = lookup.findStatic(walker, "getInstance",
+					MethodType.methodType(walker, option)).invoke(
+						option.getField("RETAIN_CLASS_REFERENCE").get(null));
+				walk = lookup.findVirtual(walker, "walk", MethodType.methodType(
+					Object.class, Function.class)).bindTo(instance);
+				declaringClass = lookup.findVirtual(frame, "getDeclaringClass",
+					MethodType.methodType(Class.class));
+			}
+			catch (final Throwable t) {
+				// NB: Java 8, which has no StackWalker.
+				walk = null;
 			}
+			WALK = walk;
+			DECLARING_CLASS = declaringClass;
+		}
+
+		private static Class<?> walk(final Function<Stream<?>, Class<?>> f) {
+			try {
+				return (Class<?>) WALK.invoke(f);
+			}
+			catch (final RuntimeException | Error exc) {
+				throw exc;
+			}
+			catch (final Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+	}
+
+	/**
+	 * Exposes {@link SecurityManager#getClassContext()}, which lists the classes
+	 * of the methods on the current stack. It is never installed as the actual
+	 * security manager.
+	 */
+	@IgnoreAsCallingClass
+	private static class ClassContext extends SecurityManager {
+
+		@Override
+		public Class<?>[] getClassContext() {
+			return super.getClassContext();
 		}
-		catch (ClassNotFoundException ignore) {}
-		throw new IllegalStateException();
 	}
 
 }
@@ -0,0 +1,77 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, and Max Planck
+ * Institute of Molecular Cell Biology and Genetics.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import java.util.function.Supplier;
+
+/**
+ * A log message whose text is only computed once it is actually needed, e.g.
+ * by a {@link LogListener} calling {@link LogMessage#text()}. The text is
+ * computed at most once.
+ *
+ * @see Logger#log(int, Supplier, Throwable)
+ * @see Logger#logf(int, String, Object...)
+ * @author agent
+ */
+final class DeferredMessage {
+
+	private Supplier<?> supplier;
+	private String text;
+
+	DeferredMessage(final Supplier<?> supplier) {
+		this.supplier = supplier;
+	}
+
+	DeferredMessage(final String format, final Object... args) {
+		this(() -> String.format(format, args));
+	}
+
+	// -- DeferredMessage methods --
+
+	/** Gets the message text, computing it if needed. */
+	synchronized String text() {
+		if (supplier != null) {
+			final Object msg = supplier.get();
+			text = msg == null ? null : msg.toString();
+			supplier = null;
+		}
+		return text;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return text();
+	}
+
+}
@@ -0,0 +1,322 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the most recent {@link LogMessage}s of each {@link LogSource} in
+ * memory, so that they can be inspected after the fact.
+ * <p>
+ * Each source has a fixed-size ring of slots, allocated when the source logs
+ * its first message; recording a message merely overwrites the oldest slot.
+ * The number of messages held at each level is maintained per ring, so that
+ * queries skip rings which cannot contain a matching message without scanning
+ * them.
+ * </p>
+ * <p>
+ * Only a detached copy of each message is kept: its text is rendered, and its
+ * throwable replaced by a snapshot of the stack trace, when it is recorded, so
+ * that the history does not hold on to message arguments or exceptions. The
+ * rings are keyed weakly on their sources, and so are discarded along with
+ * them.
+ * </p>
+ *
+ * @see LogService#getHistory()
+ * @author agent
+ */
+public class LogHistory implements LogListener {
+
+	/** Ring index of messages with levels beyond {@link LogLevel#TRACE}. */
+	private static final int OTHER = LogLevel.TRACE + 1;
+
+	private final int capacity;
+
+	private final Map<LogSource, Ring> rings = Collections.synchronizedMap(
+		new WeakHashMap<>());
+
+	/**
+	 * Creates a history keeping the given number of messages per source.
+	 *
+	 * @throws IllegalArgumentException if the capacity is not positive.
+	 */
+	public LogHistory(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.capacity = capacity;
+	}
+
+	// -- LogHistory methods --
+
+	/** Gets the number of messages kept per source. */
+	public int capacity() {
+		return capacity;
+	}
+
+	/** Gets the number of messages currently held, across all sources. */
+	public int size() {
+		int size = 0;
+		for (final Ring ring : rings())
+			size += ring.size();
+		return size;
+	}
+
+	/** Gets all messages currently held, oldest first. */
+	public List<LogMessage> messages() {
+		return query(null, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Gets the held messages of the given source and its descendants, at the
+	 * given level or more severe, oldest first.
+	 *
+	 * @param source The root of the subtree of sources to include, or null to
+	 *          include all sources.
+	 * @param level The least severe {@link LogLevel} to include.
+	 */
+	public List<LogMessage> query(final LogSource source, final int level) {
+		return query(source, level, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Gets the held messages of the given source and its descendants, at the
+	 * given level or more severe, logged within the given time window, oldest
+	 * first.
+	 *
+	 * @param source The root of the subtree of sources to include, or null to
+	 *          include all sources.
+	 * @param level The least severe {@link LogLevel} to include.
+	 * @param from Start of the window, in milliseconds since the epoch
+	 *          (inclusive).
+	 * @param to End of the window, in milliseconds since the epoch (inclusive).
+	 * @see LogMessage#timeMillis()
+	 */
+	public List<LogMessage> query(final LogSource source, final int level,
+		final long from, final long to)
+	{
+		final List<Map.Entry<LogSource, Ring>> entries;
+		synchronized (rings) {
+			entries = new ArrayList<>(rings.entrySet());
+		}
+		final List<LogMessage> result = new ArrayList<>();
+		int runs = 0;
+		for (final Map.Entry<LogSource, Ring> entry : entries) {
+			final LogSource ringSource = entry.getKey();
+			if (ringSource == null || !contains(source, ringSource)) continue;
+			if (entry.getValue().collect(ringSource, level, from, to, result)) {
+				runs++;
+			}
+		}
+		// NB: Each ring contributes a chronological run; merge them.
+		if (runs > 1) {
+			result.sort(Comparator.comparingLong(LogMessage::timeMillis));
+		}
+		return result;
+	}
+
+	/** Discards all held messages. */
+	public void clear() {
+		for (final Ring ring : rings())
+			ring.clear();
+	}
+
+	// -- LogListener methods --
+
+	@Override
+	public void messageLogged(final LogMessage message) {
+		rings.computeIfAbsent(message.source(), source -> new Ring()).add(message);
+	}
+
+	// -- Helper methods --
+
+	/** Gets a snapshot of the current rings. */
+	private List<Ring> rings() {
+		synchronized (rings) {
+			return new ArrayList<>(rings.values());
+		}
+	}
+
+	/** Gets whether the given source lies within the given subtree. */
+	private static boolean contains(final LogSource subtree, LogSource source) {
+		if (subtree == null) return true;
+		while (source != null) {
+			if (source == subtree) return true;
+			source = source.parent();
+		}
+		return false;
+	}
+
+	private static int index(final int level) {
+		return level < 0 ? 0 : Math.min(level, OTHER);
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * The most recent messages of one source.
+	 * <p>
+	 * NB: The ring must not refer to its source, lest the source never be
+	 * collected; it is passed in when messages are recreated instead.
+	 * </p>
+	 */
+	private class Ring {
+
+		private final String[] texts = new String[capacity];
+		private final Throwable[] throwables = new Throwable[capacity];
+		private final long[] times = new long[capacity];
+		private final int[] levels = new int[capacity];
+
+		/** Number of held messages at each level, as given by {@link #index}. */
+		private final int[] counts = new int[OTHER + 1];
+
+		/** Total number of messages added; the next slot is this mod capacity. */
+		private long added;
+
+		/** Latest time of any held message. */
+		private long latest = Long.MIN_VALUE;
+
+		void add(final LogMessage message) {
+			// NB: Detach the message before taking the lock.
+			final String text = message.text();
+			final Throwable throwable = ThrowableSnapshot.of(message.throwable());
+			add(text, throwable, message.level(), message.timeMillis());
+		}
+
+		private synchronized void add(final String text,
+			final Throwable throwable, final int level, final long time)
+		{
+			final int slot = (int) (added++ % capacity);
+			if (added > capacity) counts[index(levels[slot])]--;
+			texts[slot] = text;
+			throwables[slot] = throwable;
+			times[slot] = time;
+			levels[slot] = level;
+			counts[index(level)]++;
+			if (time > latest) latest = time;
+		}
+
+		synchronized int size() {
+			return (int) Math.min(added, capacity);
+		}
+
+		/**
+		 * Adds the matching messages to the given list, oldest first.
+		 *
+		 * @return true if any message was added.
+		 */
+		synchronized boolean collect(final LogSource source, final int level,
+			final long from, final long to, final List<LogMessage> result)
+		{
+			if (latest < from || !holds(level)) return false;
+			final int size = size();
+			final int first = (int) ((added - size) % capacity);
+			boolean found = false;
+			for (int i = 0; i < size; i++) {
+				final int slot = (first + i) % capacity;
+				if (levels[slot] > level) continue;
+				final long time = times[slot];
+				if (time < from || time > to) continue;
+				result.add(new LogMessage(source, levels[slot], texts[slot],
+					throwables[slot], time));
+				found = true;
+			}
+			return found;
+		}
+
+		synchronized void clear() {
+			Arrays.fill(texts, null);
+			Arrays.fill(throwables, null);
+			Arrays.fill(counts, 0);
+			added = 0;
+			latest = Long.MIN_VALUE;
+		}
+
+		/** Gets whether any held message is at the given level or more severe. */
+		private boolean holds(final int level) {
+			final int max = index(level);
+			for (int i = 0; i <= max; i++)
+				if (counts[i] > 0) return true;
+			return false;
+		}
+	}
+
+	/**
+	 * A copy of a throwable which prints the same stack trace, without
+	 * referring to the throwable itself or to any of its state.
+	 */
+	private static class ThrowableSnapshot extends Throwable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String description;
+
+		private ThrowableSnapshot(final Throwable t, final Set<Throwable> seen) {
+			super(t.getMessage(), snapshot(t.getCause(), seen), false, true);
+			description = t.toString();
+			setStackTrace(t.getStackTrace());
+		}
+
+		/** Snapshots the given throwable, together with its causes. */
+		static ThrowableSnapshot of(final Throwable t) {
+			return snapshot(t, Collections.newSetFromMap(new IdentityHashMap<>()));
+		}
+
+		/** Snapshots the given cause, unless it was seen already. */
+		private static ThrowableSnapshot snapshot(final Throwable cause,
+			final Set<Throwable> seen)
+		{
+			if (cause == null || !seen.add(cause)) return null;
+			return new ThrowableSnapshot(cause, seen);
+		}
+
+		@Override
+		public String toString() {
+			return description;
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			// NB: The stack trace is copied from the original instead.
+			return this;
+		}
+	}
+}
@@ -55,11 +55,17 @@ import org.scijava.event.EventService;
  */
 public class LogMessage {
 
+	/** The most recently formatted timestamp. */
+	private static volatile Timestamp lastTimestamp;
+
 	private final LogSource source;
 	private final int level;
-	private final String message;
+	/** The message text, or a {@link DeferredMessage} computing it. */
+	private final Object message;
 	private final Throwable throwable;
-	private final Date time;
+
+	/** Creation time, in milliseconds since the epoch. */
+	private final long time;
 
 	private Collection<Object> attachments;
 
@@ -69,15 +75,28 @@ public class LogMessage {
 		this.source = source;
 		this.attachments = null;
 		this.level = level;
-		this.message = message == null ? null : message.toString();
+		this.message = message == null || message instanceof DeferredMessage ?
+			message : message.toString();
 		this.throwable = throwable;
-		this.time = new Date();
+		this.time = System.currentTimeMillis();
 	}
 
 	public LogMessage(LogSource source, int level, Object msg) {
 		this(source, level, msg, null);
 	}
 
+	/** Recreates a message with the given creation time. */
+	LogMessage(LogSource source, int level, String message,
+		Throwable throwable, long time)
+	{
+		this.source = source;
+		this.attachments = null;
+		this.level = level;
+		this.message = message;
+		this.throwable = throwable;
+		this.time = time;
+	}
+
 	/** Represents the source of the message. */
 	public LogSource source() {
 		return source;
@@ -94,7 +113,10 @@ public class LogMessage {
 
 	/** The content of this log message. */
 	public String text() {
-		return message;
+		if (message instanceof DeferredMessage) {
+			return ((DeferredMessage) message).text();
+		}
+		return (String) message;
 	}
 
 	/** Exception associated with the log message. */
@@ -104,6 +126,14 @@ public class LogMessage {
 
 	/** Time of the creation of the log message. */
 	public Date time() {
+		return new Date(time);
+	}
+
+	/**
+	 * Time of the creation of the log message, in milliseconds since the epoch.
+	 * Unlike {@link #time()}, this does not allocate a {@link Date}.
+	 */
+	public long timeMillis() {
 		return time;
 	}
 
@@ -134,15 +164,47 @@ public class LogMessage {
 	// -- Utility methods --
 
 	public static String format(final LogMessage message) {
-		final StringWriter sw = new StringWriter();
-		final PrintWriter printer = new PrintWriter(sw);
-		printer.print("[" + message.time() + "] ");
-		printer.print("[" + LogLevel.prefix(message.level()) + "] ");
-		printer.print("[" + message.source() + "] ");
-		printer.println(message.text());
+		final StringBuilder sb = new StringBuilder(128);
+		sb.append('[').append(timestamp(message.timeMillis())).append("] ");
+		sb.append('[').append(LogLevel.prefix(message.level())).append("] ");
+		sb.append('[').append(message.source()).append("] ");
+		sb.append(message.text()).append(System.lineSeparator());
 		if (message.throwable() != null) {
-			message.throwable().printStackTrace(printer);
+			final StringWriter sw = new StringWriter();
+			message.throwable().printStackTrace(new PrintWriter(sw));
+			sb.append(sw.getBuffer());
+		}
+		return sb.toString();
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Formats the given time as {@link Date#toString()} does. Since that format
+	 * has a resolution of one second, the most recent result is reused for all
+	 * times within the same second.
+	 */
+	private static String timestamp(final long millis) {
+		final long second = Math.floorDiv(millis, 1000);
+		Timestamp timestamp = lastTimestamp;
+		if (timestamp == null || timestamp.second != second) {
+			timestamp = new Timestamp(second, new Date(millis).toString());
+			lastTimestamp = timestamp;
+		}
+		return timestamp.text;
+	}
+
+	// -- Helper classes --
+
+	/** A formatted timestamp, together with the second it denotes. */
+	private static class Timestamp {
+
+		private final long second;
+		private final String text;
+
+		private Timestamp(final long second, final String text) {
+			this.second = second;
+			this.text = text;
 		}
-		return sw.toString();
 	}
 }
@@ -53,6 +53,13 @@ public interface LogService extends SciJavaService, Logger {
 
 	String LOG_LEVEL_BY_SOURCE_PROPERTY = "scijava.log.level.source";
 
+	/**
+	 * System property to set for overriding the number of recent messages kept
+	 * per {@link LogSource} by the {@link #getHistory() history}; {@code 0}
+	 * disables the history.
+	 */
+	String LOG_HISTORY_PROPERTY = "scijava.log.history";
+
 	/** Changes the log level of the root logger. */
 	void setLevel(int level);
 
@@ -75,6 +82,14 @@ public interface LogService extends SciJavaService, Logger {
 	 */
 	void setLevelForLogger(String source, int level);
 
+	/**
+	 * Gets the history of recently logged messages, or null if this service
+	 * keeps none.
+	 */
+	default LogHistory getHistory() {
+		return null;
+	}
+
 	// -- Deprecated --
 
 	/** @deprecated Use {@link LogLevel#NONE}. */
@@ -37,12 +37,22 @@ import static org.scijava.log.LogLevel.INFO;
 import static org.scijava.log.LogLevel.TRACE;
 import static org.scijava.log.LogLevel.WARN;
 
+import java.util.function.Supplier;
+
 /**
  * Interface for objects which can produce log messages.
  * <p>
  * It provides methods for logging messages, exception stack traces and
  * combinations of the two.
  * </p>
+ * <p>
+ * Messages can also be given as a {@link Supplier}, or as a format string
+ * with arguments (see {@link String#format(String, Object...)}) to the
+ * methods whose names end in {@code f}, such as {@link #debugf}. Such
+ * messages are only turned into text once the text is actually needed, so
+ * that no formatting is done for messages below the current level, nor for
+ * messages which no listener reads.
+ * </p>
  * 
  * @author Curtis Rueden
  * @see LogLevel
@@ -63,6 +73,18 @@ public interface Logger {
 		log(DEBUG, msg, t);
 	}
 
+	default void debug(final Supplier<?> msg) {
+		log(DEBUG, msg, null);
+	}
+
+	default void debug(final Supplier<?> msg, final Throwable t) {
+		log(DEBUG, msg, t);
+	}
+
+	default void debugf(final String format, final Object... args) {
+		logf(DEBUG, format, args);
+	}
+
 	default void error(final Object msg) {
 		log(ERROR, msg);
 	}
@@ -75,6 +97,18 @@ public interface Logger {
 		log(ERROR, msg, t);
 	}
 
+	default void error(final Supplier<?> msg) {
+		log(ERROR, msg, null);
+	}
+
+	default void error(final Supplier<?> msg, final Throwable t) {
+		log(ERROR, msg, t);
+	}
+
+	default void errorf(final String format, final Object... args) {
+		logf(ERROR, format, args);
+	}
+
 	default void info(final Object msg) {
 		log(INFO, msg);
 	}
@@ -87,6 +121,18 @@ public interface Logger {
 		log(INFO, msg, t);
 	}
 
+	default void info(final Supplier<?> msg) {
+		log(INFO, msg, null);
+	}
+
+	default void info(final Supplier<?> msg, final Throwable t) {
+		log(INFO, msg, t);
+	}
+
+	default void infof(final String format, final Object... args) {
+		logf(INFO, format, args);
+	}
+
 	default void trace(final Object msg) {
 		log(TRACE, msg);
 	}
@@ -99,6 +145,18 @@ public interface Logger {
 		log(TRACE, msg, t);
 	}
 
+	default void trace(final Supplier<?> msg) {
+		log(TRACE, msg, null);
+	}
+
+	default void trace(final Supplier<?> msg, final Throwable t) {
+		log(TRACE, msg, t);
+	}
+
+	default void tracef(final String format, final Object... args) {
+		logf(TRACE, format, args);
+	}
+
 	default void warn(final Object msg) {
 		log(WARN, msg);
 	}
@@ -111,6 +169,18 @@ public interface Logger {
 		log(WARN, msg, t);
 	}
 
+	default void warn(final Supplier<?> msg) {
+		log(WARN, msg, null);
+	}
+
+	default void warn(final Supplier<?> msg, final Throwable t) {
+		log(WARN, msg, t);
+	}
+
+	default void warnf(final String format, final Object... args) {
+		logf(WARN, format, args);
+	}
+
 	default boolean isDebug() {
 		return isLevel(DEBUG);
 	}
@@ -172,6 +242,38 @@ public interface Logger {
 		if (isLevel(level)) alwaysLog(level, msg, t);
 	}
 
+	/**
+	 * Logs a message, computed only if and when it is needed.
+	 *
+	 * @param level The level at which the information will be logged. If the
+	 *          current level (given by {@link #getLevel()} is below this one, no
+	 *          logging is performed, and the supplier is not invoked.
+	 * @param msg Supplier of the message to log. It is invoked at most once,
+	 *          possibly later and on another thread than that of the caller.
+	 * @param t The exception to log, or null.
+	 */
+	default void log(final int level, final Supplier<?> msg, final Throwable t) {
+		if (isLevel(level)) alwaysLog(level, new DeferredMessage(msg), t);
+	}
+
+	/**
+	 * Logs a message given as a format string with arguments, formatted only if
+	 * and when the message is needed.
+	 *
+	 * @param level The level at which the information will be logged. If the
+	 *          current level (given by {@link #getLevel()} is below this one, no
+	 *          logging is performed.
+	 * @param format Format string, as with {@link String#format}.
+	 * @param args Arguments referenced by the format string. They might be
+	 *          formatted later and on another thread than that of the caller.
+	 */
+	default void logf(final int level, final String format,
+		final Object... args)
+	{
+		if (isLevel(level)) alwaysLog(level, new DeferredMessage(format, args),
+			null);
+	}
+
 	/**
 	 * Logs a message with an exception. This message will always be logged even
 	 * if its level is above the current level (given by {@link #getLevel()}).
@@ -36,6 +36,7 @@ import java.io.PrintStream;
 import java.util.function.Function;
 
 import org.scijava.Priority;
+import org.scijava.log.AsyncLogSink.OverflowPolicy;
 import org.scijava.plugin.Plugin;
 import org.scijava.service.Service;
 
@@ -46,6 +47,12 @@ import org.scijava.service.Service;
  * and {@code ERROR} messages to stderr, but messages at lesser severities to
  * stdout.
  * </p>
+ * <p>
+ * Messages can also be written asynchronously, by an {@link AsyncLogSink}; see
+ * {@link #setAsynchronous(int, OverflowPolicy)}. This mode can be enabled at
+ * startup by setting the {@code scijava.log.async} system property to
+ * {@code true}, or to the name of an {@link OverflowPolicy}.
+ * </p>
  * 
  * @author Johannes Schindelin
  * @author Curtis Rueden
@@ -53,16 +60,102 @@ import org.scijava.service.Service;
 @Plugin(type = Service.class, priority = Priority.LOW)
 public class StderrLogService extends AbstractLogService {
 
-	private Function<Integer, PrintStream> levelToStream =
+	/** System property which enables asynchronous writing at startup. */
+	public static final String ASYNC_PROPERTY = "scijava.log.async";
+
+	/** Default buffer capacity for asynchronous writing. */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private volatile Function<Integer, PrintStream> levelToStream =
 		level -> (level <= LogLevel.WARN) ? System.err : System.out;
 
+	/** Sink writing messages asynchronously, or null if writing directly. */
+	private volatile AsyncLogSink sink;
+
 	public void setPrintStreams(Function<Integer, PrintStream> levelToStream) {
 		this.levelToStream = levelToStream;
 	}
 
+	/**
+	 * Enables or disables asynchronous writing, with a buffer of
+	 * {@link #DEFAULT_CAPACITY} messages which blocks when full.
+	 */
+	public void setAsynchronous(final boolean async) {
+		if (async) setAsynchronous(DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+		else closeSink();
+	}
+
+	/**
+	 * Enables asynchronous writing: messages are enqueued, and written in
+	 * batches on a background thread, by an {@link AsyncLogSink}.
+	 * 
+	 * @param capacity Number of messages which can be pending at once.
+	 * @param policy What to do with messages while the buffer is full.
+	 */
+	public synchronized void setAsynchronous(final int capacity,
+		final OverflowPolicy policy)
+	{
+		closeSink();
+		sink = new AsyncLogSink(capacity, policy, //
+			level -> levelToStream.apply(level));
+	}
+
+	/** Gets whether messages are written asynchronously. */
+	public boolean isAsynchronous() {
+		return sink != null;
+	}
+
+	/**
+	 * Gets the number of messages dropped since asynchronous writing was last
+	 * enabled, because the buffer was full.
+	 */
+	public long getDroppedCount() {
+		final AsyncLogSink s = sink;
+		return s == null ? 0 : s.getDroppedCount();
+	}
+
+	/** Waits until all pending messages have been written. */
+	public void flush() {
+		final AsyncLogSink s = sink;
+		if (s != null) s.flush();
+	}
+
+	// -- Logger methods --
+
 	@Override
 	public void notifyListeners(LogMessage message) {
+		final AsyncLogSink s = sink;
+		if (s != null && s.offer(message)) return;
 		final PrintStream out = levelToStream.apply(message.level());
 		out.print(message);
 	}
+
+	// -- Service methods --
+
+	@Override
+	public void initialize() {
+		final String async = System.getProperty(ASYNC_PROPERTY);
+		if (async == null || async.equalsIgnoreCase("false")) return;
+		OverflowPolicy policy = OverflowPolicy.BLOCK;
+		for (final OverflowPolicy p : OverflowPolicy.values()) {
+			if (p.name().equalsIgnoreCase(async)) policy = p;
+		}
+		setAsynchronous(DEFAULT_CAPACITY, policy);
+	}
+
+	// -- Disposable methods --
+
+	@Override
+	public void dispose() {
+		closeSink();
+	}
+
+	// -- Helper methods --
+
+	private synchronized void closeSink() {
+		final AsyncLogSink s = sink;
+		if (s == null) return;
+		sink = null;
+		s.close();
+	}
 }
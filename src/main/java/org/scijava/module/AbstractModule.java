@@ -32,9 +32,11 @@
 
 package org.scijava.module;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.scijava.Initializable;
 
@@ -48,19 +50,21 @@ import org.scijava.Initializable;
  */
 public abstract class AbstractModule implements Module {
 
-	private final HashMap<String, Object> inputs;
-	private final HashMap<String, Object> outputs;
+	// NB: Synchronized, since independent preprocessors may populate different
+	// items of the same module concurrently; see ModuleRunner#preProcess().
+	private final Map<String, Object> inputs;
+	private final Map<String, Object> outputs;
 
-	private final HashSet<String> resolvedInputs;
-	private final HashSet<String> resolvedOutputs;
+	private final Set<String> resolvedInputs;
+	private final Set<String> resolvedOutputs;
 
 	private MethodRef initializerRef;
 
 	public AbstractModule() {
-		inputs = new HashMap<>();
-		outputs = new HashMap<>();
-		resolvedInputs = new HashSet<>();
-		resolvedOutputs = new HashSet<>();
+		inputs = Collections.synchronizedMap(new HashMap<>());
+		outputs = Collections.synchronizedMap(new HashMap<>());
+		resolvedInputs = Collections.synchronizedSet(new HashSet<>());
+		resolvedOutputs = Collections.synchronizedSet(new HashSet<>());
 	}
 
 	// -- Module methods --
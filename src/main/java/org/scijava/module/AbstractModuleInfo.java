@@ -113,10 +113,12 @@ public abstract class AbstractModuleInfo extends AbstractUIDetails implements
 
 	/** Clears input and output parameters. */
 	protected void clearParameters() {
-		inputMap.clear();
-		outputMap.clear();
-		inputList.clear();
-		outputList.clear();
+		// NB: Replace the tables rather than clearing them, so that anyone still
+		// iterating over the previous parameters is not disturbed.
+		inputMap = new HashMap<>();
+		outputMap = new HashMap<>();
+		inputList = new ArrayList<>();
+		outputList = new ArrayList<>();
 	}
 
 	/**
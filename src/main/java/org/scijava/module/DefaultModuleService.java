@@ -32,33 +32,54 @@
 
 package org.scijava.module;
 
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import org.scijava.MenuPath;
 import org.scijava.Priority;
+import org.scijava.app.StatusService;
 import org.scijava.convert.ConvertService;
+import org.scijava.event.EventHandler;
 import org.scijava.event.EventService;
 import org.scijava.input.Accelerator;
 import org.scijava.log.LogService;
 import org.scijava.module.event.ModulesAddedEvent;
 import org.scijava.module.event.ModulesRemovedEvent;
+import org.scijava.module.event.ModulesUpdatedEvent;
 import org.scijava.module.process.ModulePostprocessor;
 import org.scijava.module.process.ModulePreprocessor;
+import org.scijava.module.process.ModuleProcessor;
 import org.scijava.module.process.PostprocessorPlugin;
 import org.scijava.module.process.PreprocessorPlugin;
+import org.scijava.module.process.ReusableProcessor;
 import org.scijava.object.ObjectService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.plugin.PluginInfo;
 import org.scijava.plugin.PluginService;
+import org.scijava.plugin.SciJavaPlugin;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.prefs.PrefService;
 import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
@@ -67,6 +88,15 @@ import org.scijava.util.ClassUtils;
 
 /**
  * Default service for keeping track of and executing available modules.
+ * <p>
+ * When modules are executed with processing enabled, instances of pre- and
+ * postprocessor plugins marked as {@link ReusableProcessor}s are pooled and
+ * reused across executions, rather than being created and injected anew each
+ * time. Other processors still get a fresh instance for every execution. Each
+ * execution checks out a chain of its own, so chains are never shared between
+ * threads. The pool is discarded whenever plugins are added or removed, and
+ * chains containing a canceled reusable preprocessor are never reused.
+ * </p>
  * 
  * @author Curtis Rueden
  * @see Module
@@ -77,6 +107,15 @@ public class DefaultModuleService extends AbstractService implements
 	ModuleService
 {
 
+	/** Types whose persisted values may be shared once converted. */
+	private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays
+		.asList(String.class, Boolean.class, Character.class, Byte.class,
+			Short.class, Integer.class, Long.class, Float.class, Double.class,
+			BigInteger.class, BigDecimal.class, File.class));
+
+	/** How many batch executions elapse between progress updates. */
+	private static final int PROGRESS_INTERVAL = 100;
+
 	@Parameter
 	private LogService log;
 
@@ -101,6 +140,34 @@ public class DefaultModuleService extends AbstractService implements
 	/** Index of registered modules. */
 	private ModuleIndex moduleIndex;
 
+	/** Pool of idle processor chains, ready for reuse. */
+	private final ConcurrentLinkedDeque<ProcessorChain> chains =
+		new ConcurrentLinkedDeque<>();
+
+	/**
+	 * Which processors of the chain apply to each known module, as computed by
+	 * {@link ModuleProcessor#canProcess(ModuleInfo)}.
+	 */
+	private final Map<ModuleInfo, ProcessorMask> masks = new WeakHashMap<>();
+
+	/** Number of times the processor plugins have changed. */
+	private volatile int generation;
+
+	/**
+	 * Persisted input values, by preference key, as last read from or written
+	 * to the {@link PrefService}. Valid only while the service's modification
+	 * count equals {@link #persistedCount}.
+	 * <p>
+	 * NB: The cache is keyed by preference rather than by {@link ModuleInfo},
+	 * since several modules may share one preference (e.g., commands with the
+	 * same persist key, or scripts, which all have the same delegate class).
+	 * </p>
+	 */
+	private final Map<PrefKey, PersistedValue> persisted = new HashMap<>();
+
+	/** Modification count of the {@link PrefService} matching the cache. */
+	private long persistedCount = -1;
+
 	// -- ModuleService methods --
 
 	@Override
@@ -143,22 +210,12 @@ public class DefaultModuleService extends AbstractService implements
 
 	@Override
 	public ModuleInfo getModuleById(final String id) {
-		// TODO: Cache identifiers in a hash?
-		for (final ModuleInfo info : getModules()) {
-			final String infoID = info.getIdentifier();
-			if (id.equals(infoID)) return info;
-		}
-		return null;
+		return moduleIndex.getModuleById(id);
 	}
 
 	@Override
 	public ModuleInfo getModuleForAccelerator(final Accelerator acc) {
-		for (final ModuleInfo info : getModules()) {
-			final MenuPath menuPath = info.getMenuPath();
-			if (menuPath == null || menuPath.isEmpty()) continue;
-			if (acc.equals(menuPath.getLeaf().getAccelerator())) return info;
-		}
-		return null;
+		return moduleIndex.getModuleForAccelerator(acc);
 	}
 
 	@Override
@@ -182,14 +239,17 @@ public class DefaultModuleService extends AbstractService implements
 	public Future<Module> run(final ModuleInfo info, final boolean process,
 		final Object... inputs)
 	{
-		return run(info, pre(process), post(process), inputs);
+		return run(info, process, createMap(inputs));
 	}
 
 	@Override
 	public Future<Module> run(final ModuleInfo info, final boolean process,
 		final Map<String, Object> inputMap)
 	{
-		return run(info, pre(process), post(process), inputMap);
+		if (!process) return run(info, null, null, inputMap);
+		final Module module = createModule(info);
+		if (module == null) return null;
+		return run(module, true, inputMap);
 	}
 
 	@Override
@@ -215,14 +275,61 @@ public class DefaultModuleService extends AbstractService implements
 	public <M extends Module> Future<M> run(final M module,
 		final boolean process, final Object... inputs)
 	{
-		return run(module, pre(process), post(process), inputs);
+		return run(module, process, createMap(inputs));
 	}
 
 	@Override
 	public <M extends Module> Future<M> run(final M module,
 		final boolean process, final Map<String, Object> inputMap)
 	{
-		return run(module, pre(process), post(process), inputMap);
+		if (!process) return run(module, null, null, inputMap);
+		assignInputs(module, inputMap);
+		return runProcessed(module, true, null);
+	}
+
+	@Override
+	public Stream<Module> runBatch(final ModuleInfo info,
+		final boolean process,
+		final Iterable<? extends Map<String, Object>> inputMaps,
+		final int parallelism, final boolean notify)
+	{
+		final StatusService statusService = notify ? null : //
+			getContext().getService(StatusService.class);
+		final int total = inputMaps instanceof Collection ? //
+			((Collection<?>) inputMaps).size() : -1;
+		final AtomicInteger done = new AtomicInteger();
+		final Runnable progress = statusService == null ? null : () -> {
+			final int count = done.incrementAndGet();
+			if (count % PROGRESS_INTERVAL != 0 && count != total) return;
+			final String message = "Running batch: " + info.getTitle();
+			if (total < 0) statusService.showStatus(message + " (" + count + ")");
+			else statusService.showStatus(count, total, message);
+		};
+		final Runnable finish = statusService == null ? null : () -> //
+		statusService.showStatus("Batch finished: " + info.getTitle() + " (" +
+			done.get() + " executions)");
+
+		final ModuleBatchIterator iterator = new ModuleBatchIterator(inputMaps,
+			inputMap -> {
+				final Module module = createModule(info);
+				if (module == null) return null;
+				assignInputs(module, inputMap);
+				if (process) return runProcessed(module, notify, progress);
+				final ModuleRunner runner = //
+					new ModuleRunner(getContext(), module, null, null);
+				runner.setNotifying(notify);
+				return threadService.run(() -> {
+					try {
+						return runner.call();
+					}
+					finally {
+						if (progress != null) progress.run();
+					}
+				});
+			}, parallelism, log, finish);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+			Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(
+				iterator::cancel);
 	}
 
 	@Override
@@ -301,9 +408,13 @@ public class DefaultModuleService extends AbstractService implements
 		// Otherwise many things (e.g. File[]) are persisted improperly.
 		final String sValue = value == null ? "" : value.toString();
 
+		// do not touch the store if the value is already persisted
+		if (sValue.equals(persisted(item).string)) return;
+
 		// do not persist if object cannot be converted back from a string
 		if (!convertService.supports(sValue, item.getType())) return;
 
+		final long count = prefService.getModificationCount();
 		final String persistKey = item.getPersistKey();
 		if (persistKey == null || persistKey.isEmpty()) {
 			final Class<?> prefClass = delegateClass(item);
@@ -311,6 +422,14 @@ public class DefaultModuleService extends AbstractService implements
 			prefService.put(prefClass, prefKey, sValue);
 		}
 		else prefService.put(persistKey, sValue);
+
+		// keep the cache coherent, unless someone else modified the store too
+		synchronized (persisted) {
+			if (count < 0 || count != persistedCount) return;
+			if (prefService.getModificationCount() != count + 1) return;
+			persistedCount = count + 1;
+			persisted.put(new PrefKey(item), new PersistedValue(sValue));
+		}
 	}
 
 	@Override
@@ -318,19 +437,12 @@ public class DefaultModuleService extends AbstractService implements
 		// if there is nothing to load from persistence return nothing
 		if (!item.isPersisted()) return null;
 
-		final String sValue;
-		final String persistKey = item.getPersistKey();
-		if (persistKey == null || persistKey.isEmpty()) {
-			final Class<?> prefClass = delegateClass(item);
-			final String prefKey = item.getName();
-			sValue = prefService.get(prefClass, prefKey);
-		}
-		else sValue = prefService.get(persistKey);
+		final PersistedValue persistedValue = persisted(item);
 
 		// if persisted value has never been set before return null
-		if (sValue == null) return null;
+		if (persistedValue.string == null) return null;
 
-		return convertService.convert(sValue, item.getType());
+		return persistedValue.value(item.getType());
 	}
 	
 	@Override
@@ -360,18 +472,147 @@ public class DefaultModuleService extends AbstractService implements
 		moduleIndex = new ModuleIndex();
 	}
 
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(final ModulesUpdatedEvent evt) {
+		moduleIndex.update(evt.getItems());
+		// NB: The modules' parameters may have changed (e.g., a script which
+		// has been parsed again), so which processors apply must be rechecked.
+		synchronized (masks) {
+			for (final ModuleInfo info : evt.getItems()) {
+				masks.remove(info);
+			}
+		}
+	}
+
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent evt) {
+		invalidateChains();
+	}
+
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent evt) {
+		invalidateChains();
+	}
+
 	// -- Helper methods --
 
-	/** Creates the preprocessor chain. */
-	private List<? extends PreprocessorPlugin> pre(final boolean process) {
-		if (!process) return null;
-		return pluginService.createInstancesOfType(PreprocessorPlugin.class);
+	/**
+	 * Executes the given module, whose inputs have already been assigned, with
+	 * a pooled processor chain.
+	 */
+	private <M extends Module> Future<M> runProcessed(final M module,
+		final boolean notify, final Runnable onCompletion)
+	{
+		final ProcessorChain chain = checkOut();
+		final ProcessorMask mask = mask(module, chain);
+		final ModuleRunner runner = new ModuleRunner(getContext(), module, //
+			mask.select(chain.pre, mask.pre), mask.select(chain.post, mask.post));
+		runner.setNotifying(notify);
+		final Callable<M> callable = () -> {
+			try {
+				@SuppressWarnings("unchecked")
+				final M result = (M) runner.call();
+				return result;
+			}
+			finally {
+				checkIn(chain);
+				if (onCompletion != null) onCompletion.run();
+			}
+		};
+		return threadService.run(callable);
 	}
 
-	/** Creates the postprocessor chain. */
-	private List<? extends PostprocessorPlugin> post(final boolean process) {
-		if (!process) return null;
-		return pluginService.createInstancesOfType(PostprocessorPlugin.class);
+	/**
+	 * Obtains an idle processor chain, creating a new one if needed. Processors
+	 * which are not {@link ReusableProcessor}s are replaced by new instances.
+	 */
+	private ProcessorChain checkOut() {
+		final int gen = generation;
+		while (true) {
+			final ProcessorChain chain = chains.pollFirst();
+			if (chain == null) break;
+			if (chain.generation != gen) continue;
+			renew(chain.preInfos, chain.pre);
+			renew(chain.postInfos, chain.post);
+			return chain;
+		}
+		final List<PluginInfo<PreprocessorPlugin>> preInfos =
+			pluginService.getPluginsOfType(PreprocessorPlugin.class);
+		final List<PluginInfo<PostprocessorPlugin>> postInfos =
+			pluginService.getPluginsOfType(PostprocessorPlugin.class);
+		return new ProcessorChain(gen, preInfos, createInstances(preInfos),
+			postInfos, createInstances(postInfos));
+	}
+
+	/** Returns a processor chain to the pool, if it is fit for reuse. */
+	private void checkIn(final ProcessorChain chain) {
+		if (chain.generation != generation) return; // plugins have changed
+		for (final PreprocessorPlugin p : chain.pre) {
+			// NB: Other processors are replaced anyway, canceled or not.
+			if (p instanceof ReusableProcessor && p.isCanceled()) return;
+		}
+		chains.offerFirst(chain);
+	}
+
+	/**
+	 * Creates one instance of each given plugin. Plugins which fail to
+	 * instantiate leave a null entry, keeping the list aligned with the infos.
+	 */
+	private <P extends SciJavaPlugin> List<P> createInstances(
+		final List<PluginInfo<P>> infos)
+	{
+		final List<P> instances = new ArrayList<>(infos.size());
+		for (final PluginInfo<P> info : infos) {
+			instances.add(pluginService.createInstance(info));
+		}
+		return instances;
+	}
+
+	/** Replaces each processor which is not reusable with a new instance. */
+	private <P extends SciJavaPlugin> void renew(
+		final List<PluginInfo<P>> infos, final List<P> instances)
+	{
+		for (int i = 0; i < instances.size(); i++) {
+			if (instances.get(i) instanceof ReusableProcessor) continue;
+			instances.set(i, pluginService.createInstance(infos.get(i)));
+		}
+	}
+
+	/** Discards all pooled processor chains and applicability masks. */
+	private void invalidateChains() {
+		generation++;
+		chains.clear();
+		synchronized (masks) {
+			masks.clear();
+		}
+	}
+
+	/**
+	 * Gets which processors of the given chain apply to the specified module.
+	 * The answer is cached per {@link ModuleInfo} until a
+	 * {@link ModulesUpdatedEvent} for it, unless the module's metadata might
+	 * change from one execution to the next.
+	 */
+	private ProcessorMask mask(final Module module,
+		final ProcessorChain chain)
+	{
+		final ModuleInfo info = module.getInfo();
+		final boolean cacheable = !(info instanceof MutableModuleInfo);
+		if (cacheable) {
+			synchronized (masks) {
+				final ProcessorMask mask = masks.get(info);
+				if (mask != null && mask.generation == chain.generation) return mask;
+			}
+		}
+		final ProcessorMask mask = new ProcessorMask(chain, info);
+		if (cacheable) {
+			synchronized (masks) {
+				masks.put(info, mask);
+			}
+		}
+		return mask;
 	}
 
 	/**
@@ -517,6 +758,44 @@ public class DefaultModuleService extends AbstractService implements
 		return result;
 	}
 
+	/**
+	 * Gets the persisted value of the given item, reading it from the
+	 * {@link PrefService} only if it is not already cached.
+	 */
+	private PersistedValue persisted(final ModuleItem<?> item) {
+		final long count = prefService.getModificationCount();
+		if (count < 0) return new PersistedValue(read(item)); // untracked
+		final PrefKey key = new PrefKey(item);
+		synchronized (persisted) {
+			if (count != persistedCount) {
+				// NB: The preferences have changed since they were cached.
+				persisted.clear();
+				persistedCount = count;
+			}
+			final PersistedValue persistedValue = persisted.get(key);
+			if (persistedValue != null) return persistedValue;
+		}
+		// NB: Read outside the lock, so that loads do not wait on each other.
+		final PersistedValue persistedValue = new PersistedValue(read(item));
+		synchronized (persisted) {
+			// NB: Cache the value only if the store has not moved on meanwhile.
+			if (count != persistedCount) return persistedValue;
+			final PersistedValue cached = persisted.putIfAbsent(key, persistedValue);
+			return cached == null ? persistedValue : cached;
+		}
+	}
+
+	/** Reads the persisted value of the given item from the store. */
+	private String read(final ModuleItem<?> item) {
+		final String persistKey = item.getPersistKey();
+		if (persistKey == null || persistKey.isEmpty()) {
+			final Class<?> prefClass = delegateClass(item);
+			final String prefKey = item.getName();
+			return prefService.get(prefClass, prefKey);
+		}
+		return prefService.get(persistKey);
+	}
+
 	private <T> Class<?> delegateClass(final ModuleItem<T> item) {
 		try {
 			return item.getInfo().loadDelegateClass();
@@ -526,4 +805,155 @@ public class DefaultModuleService extends AbstractService implements
 		}
 	}
 
+	// -- Helper classes --
+
+	/** A persisted input value, as stored in the {@link PrefService}. */
+	private class PersistedValue {
+
+		/** The stored string, or null if nothing is stored. */
+		private final String string;
+
+		/** The converted value, cached only if its type is immutable. */
+		private volatile Converted converted;
+
+		private PersistedValue(final String string) {
+			this.string = string;
+		}
+
+		private <T> T value(final Class<T> type) {
+			if (!isImmutable(type)) return convertService.convert(string, type);
+			final Converted c = converted;
+			if (c != null && c.type == type) {
+				@SuppressWarnings("unchecked")
+				final T v = (T) c.value;
+				return v;
+			}
+			// NB: The item's type may differ from when the value was converted,
+			// e.g. after its script has been reparsed, or for another module
+			// sharing the same preference.
+			final T v = convertService.convert(string, type);
+			converted = new Converted(type, v);
+			return v;
+		}
+
+		/**
+		 * Gets whether instances of the given type can be shared between module
+		 * executions, rather than converted anew from the stored string.
+		 */
+		private boolean isImmutable(final Class<?> type) {
+			return type.isPrimitive() || type.isEnum() ||
+				IMMUTABLE_TYPES.contains(type);
+		}
+	}
+
+	/** A persisted value converted to a particular type. */
+	private static class Converted {
+
+		private final Class<?> type;
+		private final Object value;
+
+		private Converted(final Class<?> type, final Object value) {
+			this.type = type;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * The key under which an item's value is persisted: either its persist key,
+	 * or its name within the node of its module's delegate class.
+	 */
+	private static class PrefKey {
+
+		/** Name of the delegate class, or null for a persist key. */
+		private final String className;
+		private final String name;
+
+		private PrefKey(final ModuleItem<?> item) {
+			final String persistKey = item.getPersistKey();
+			if (persistKey == null || persistKey.isEmpty()) {
+				className = item.getInfo().getDelegateClassName();
+				name = item.getName();
+			}
+			else {
+				className = null;
+				name = persistKey;
+			}
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof PrefKey)) return false;
+			final PrefKey that = (PrefKey) o;
+			return Objects.equals(className, that.className) && //
+				Objects.equals(name, that.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(className, name);
+		}
+	}
+
+	/**
+	 * A set of processor plugin instances for executing one module, together
+	 * with the plugin metadata from which each was created.
+	 */
+	private static class ProcessorChain {
+
+		private final int generation;
+		private final List<PluginInfo<PreprocessorPlugin>> preInfos;
+		private final List<PreprocessorPlugin> pre;
+		private final List<PluginInfo<PostprocessorPlugin>> postInfos;
+		private final List<PostprocessorPlugin> post;
+
+		private ProcessorChain(final int generation,
+			final List<PluginInfo<PreprocessorPlugin>> preInfos,
+			final List<PreprocessorPlugin> pre,
+			final List<PluginInfo<PostprocessorPlugin>> postInfos,
+			final List<PostprocessorPlugin> post)
+		{
+			this.generation = generation;
+			this.preInfos = preInfos;
+			this.pre = pre;
+			this.postInfos = postInfos;
+			this.post = post;
+		}
+	}
+
+	/** Which processors of a chain apply to a particular module. */
+	private static class ProcessorMask {
+
+		private final int generation;
+		private final boolean[] pre;
+		private final boolean[] post;
+
+		private ProcessorMask(final ProcessorChain chain, final ModuleInfo info) {
+			generation = chain.generation;
+			pre = applicable(chain.pre, info);
+			post = applicable(chain.post, info);
+		}
+
+		private <P extends ModuleProcessor> List<P> select(
+			final List<? extends P> processors, final boolean[] applicable)
+		{
+			final List<P> selected = new ArrayList<>(processors.size());
+			for (int i = 0; i < applicable.length; i++) {
+				final P processor = processors.get(i);
+				if (applicable[i] && processor != null) selected.add(processor);
+			}
+			return Collections.unmodifiableList(selected);
+		}
+
+		private static boolean[] applicable(
+			final List<? extends ModuleProcessor> processors, final ModuleInfo info)
+		{
+			final boolean[] applicable = new boolean[processors.size()];
+			for (int i = 0; i < applicable.length; i++) {
+				final ModuleProcessor processor = processors.get(i);
+				applicable[i] = processor == null || processor.canProcess(info);
+			}
+			return applicable;
+		}
+	}
+
 }
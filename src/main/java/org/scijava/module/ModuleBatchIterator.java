@@ -0,0 +1,163 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.module;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.scijava.log.LogService;
+
+/**
+ * Iterator over the results of a batch of module executions.
+ * <p>
+ * At most {@code parallelism} executions are in flight at any given time: new
+ * executions are only submitted as results are consumed, so a slow consumer
+ * throttles the batch rather than letting completed modules pile up. Results
+ * are delivered in the same order as their inputs. Executions which fail are
+ * logged and skipped.
+ * </p>
+ * 
+ * @see ModuleService#runBatch(ModuleInfo, boolean, Iterable, int, boolean)
+ * @author agent
+ */
+class ModuleBatchIterator implements Iterator<Module> {
+
+	private final Iterator<? extends Map<String, Object>> inputs;
+	private final Function<Map<String, Object>, Future<? extends Module>> submitter;
+	private final int parallelism;
+	private final LogService log;
+	private final Runnable onFinish;
+
+	private final Deque<Future<? extends Module>> pending = new ArrayDeque<>();
+	private Module next;
+	private boolean finished;
+
+	ModuleBatchIterator(final Iterable<? extends Map<String, Object>> inputs,
+		final Function<Map<String, Object>, Future<? extends Module>> submitter,
+		final int parallelism, final LogService log, final Runnable onFinish)
+	{
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Invalid parallelism: " +
+				parallelism);
+		}
+		this.inputs = inputs.iterator();
+		this.submitter = submitter;
+		this.parallelism = parallelism;
+		this.log = log;
+		this.onFinish = onFinish;
+	}
+
+	// -- ModuleBatchIterator methods --
+
+	/** Cancels all pending executions, and submits no further ones. */
+	public synchronized void cancel() {
+		for (final Future<? extends Module> future : pending) {
+			future.cancel(true);
+		}
+		pending.clear();
+		finish();
+	}
+
+	// -- Iterator methods --
+
+	@Override
+	public boolean hasNext() {
+		while (true) {
+			final Future<? extends Module> future;
+			synchronized (this) {
+				if (next != null) return true;
+				if (finished) return false;
+				fill();
+				future = pending.peek();
+				if (future == null) {
+					finish();
+					return false;
+				}
+			}
+			// NB: Wait outside the lock, so that cancel() can interrupt the wait.
+			Module result = null;
+			try {
+				result = future.get();
+			}
+			catch (final CancellationException exc) {
+				// NB: The batch was canceled; finished is now true.
+			}
+			catch (final InterruptedException exc) {
+				cancel();
+				Thread.currentThread().interrupt();
+			}
+			catch (final ExecutionException exc) {
+				if (log != null) log.error("Error during module execution", exc);
+			}
+			synchronized (this) {
+				if (pending.peek() == future) pending.poll();
+				if (next == null && !finished) next = result;
+			}
+		}
+	}
+
+	@Override
+	public Module next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		synchronized (this) {
+			final Module result = next;
+			if (result == null) throw new NoSuchElementException();
+			next = null;
+			return result;
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Submits executions until the window of pending executions is full. */
+	private void fill() {
+		while (pending.size() < parallelism && inputs.hasNext()) {
+			final Future<? extends Module> future = submitter.apply(inputs.next());
+			if (future != null) pending.add(future);
+		}
+	}
+
+	private void finish() {
+		if (finished) return;
+		finished = true;
+		if (onFinish != null) onFinish.run();
+	}
+
+}
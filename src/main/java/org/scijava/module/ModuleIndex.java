@@ -32,17 +32,165 @@
 
 package org.scijava.module;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.scijava.MenuPath;
+import org.scijava.input.Accelerator;
+import org.scijava.object.LazyObjects;
 import org.scijava.object.SortedObjectIndex;
 
 /**
  * Data structure for managing registered modules.
+ * <p>
+ * In addition to the type-based lists of {@link SortedObjectIndex}, the index
+ * maintains hash tables for looking up modules by identifier and by
+ * accelerator. The tables are rebuilt lazily, upon the first lookup following
+ * a change to the index; since module metadata can change without the index
+ * noticing, callers who know of such changes should notify the index via
+ * {@link #update}.
+ * </p>
  * 
  * @author Curtis Rueden
  */
 public class ModuleIndex extends SortedObjectIndex<ModuleInfo> {
 
+	/** Current lookup tables, or null if they need to be rebuilt. */
+	private volatile Lookups lookups;
+
+	/** Number of changes to the index; guarded by {@link #lock}. */
+	private int version;
+
+	private final Object lock = new Object();
+
 	public ModuleIndex() {
 		super(ModuleInfo.class);
 	}
 
+	// -- ModuleIndex methods --
+
+	/**
+	 * Gets the first module with the given identifier.
+	 * 
+	 * @return The matching module, or null if none.
+	 * @see ModuleInfo#getIdentifier()
+	 */
+	public ModuleInfo getModuleById(final String id) {
+		return lookups().byId.get(id);
+	}
+
+	/**
+	 * Gets the first module whose menu path leaf has the given accelerator.
+	 * 
+	 * @return The matching module, or null if none.
+	 */
+	public ModuleInfo getModuleForAccelerator(final Accelerator acc) {
+		return lookups().byAccelerator.get(acc);
+	}
+
+	/**
+	 * Informs the index that the metadata of the given modules (e.g., their
+	 * identifiers or menu paths) may have changed.
+	 */
+	public void update(
+		@SuppressWarnings("unused") final Collection<? extends ModuleInfo> modules)
+	{
+		invalidate();
+	}
+
+	// -- ObjectIndex methods --
+
+	@Override
+	public void addLater(final LazyObjects<? extends ModuleInfo> c) {
+		super.addLater(c);
+		invalidate();
+	}
+
+	// -- Collection methods --
+
+	@Override
+	public boolean addAll(final Collection<? extends ModuleInfo> c) {
+		final boolean changed = super.addAll(c);
+		if (changed) invalidate();
+		return changed;
+	}
+
+	@Override
+	public boolean removeAll(final Collection<?> c) {
+		final boolean changed = super.removeAll(c);
+		if (changed) invalidate();
+		return changed;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		invalidate();
+	}
+
+	// -- Internal methods --
+
+	@Override
+	protected boolean add(final ModuleInfo o, final boolean batch) {
+		final boolean changed = super.add(o, batch);
+		if (changed) invalidate();
+		return changed;
+	}
+
+	@Override
+	protected boolean remove(final Object o, final boolean batch) {
+		final boolean changed = super.remove(o, batch);
+		if (changed) invalidate();
+		return changed;
+	}
+
+	// -- Helper methods --
+
+	private Lookups lookups() {
+		final Lookups current = lookups;
+		if (current != null) return current;
+
+		// NB: Build the tables from a snapshot of the index, outside the lock.
+		// If the index changes meanwhile, the tables are not retained.
+		final int v;
+		synchronized (lock) {
+			v = version;
+		}
+		final Lookups built = new Lookups(getAll());
+		synchronized (lock) {
+			if (version == v) lookups = built;
+		}
+		return built;
+	}
+
+	private void invalidate() {
+		synchronized (lock) {
+			version++;
+			lookups = null;
+		}
+	}
+
+	// -- Helper classes --
+
+	/** Immutable hash tables for looking up modules. */
+	private static class Lookups {
+
+		private final Map<String, ModuleInfo> byId = new HashMap<>();
+		private final Map<Accelerator, ModuleInfo> byAccelerator =
+			new HashMap<>();
+
+		private Lookups(final Iterable<ModuleInfo> modules) {
+			// NB: The first match wins, as with a linear scan of the index.
+			for (final ModuleInfo info : modules) {
+				final String id = info.getIdentifier();
+				if (id != null) byId.putIfAbsent(id, info);
+				final MenuPath menuPath = info.getMenuPath();
+				if (menuPath == null || menuPath.isEmpty()) continue;
+				final Accelerator acc = menuPath.getLeaf().getAccelerator();
+				if (acc != null) byAccelerator.putIfAbsent(acc, info);
+			}
+		}
+	}
+
 }
@@ -32,8 +32,15 @@
 
 package org.scijava.module;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Cancelable;
@@ -42,6 +49,7 @@ import org.scijava.app.StatusService;
 import org.scijava.event.EventService;
 import org.scijava.log.LogService;
 import org.scijava.module.event.ModuleCanceledEvent;
+import org.scijava.module.event.ModuleEvent;
 import org.scijava.module.event.ModuleExecutedEvent;
 import org.scijava.module.event.ModuleExecutingEvent;
 import org.scijava.module.event.ModuleFinishedEvent;
@@ -50,7 +58,11 @@ import org.scijava.module.event.ModulePreprocessEvent;
 import org.scijava.module.event.ModuleStartedEvent;
 import org.scijava.module.process.ModulePostprocessor;
 import org.scijava.module.process.ModulePreprocessor;
+import org.scijava.module.process.ModuleProcessor;
+import org.scijava.module.profile.ModuleProfile;
+import org.scijava.module.profile.ModuleProfileService;
 import org.scijava.plugin.Parameter;
+import org.scijava.thread.ThreadService;
 
 /**
  * Helper class for executing a {@link Module}, including pre- and
@@ -60,6 +72,16 @@ import org.scijava.plugin.Parameter;
  * easier to invoke in a variety of ways, such as with the
  * {@link java.util.concurrent} package.
  * </p>
+ * <p>
+ * Preprocessors normally run sequentially. Set the
+ * {@code scijava.module.parallel} system property to {@code true} to run
+ * consecutive preprocessors which declare the module items they access (see
+ * {@link ModulePreprocessor#getItemsRead} and
+ * {@link ModulePreprocessor#getItemsWritten}) concurrently on the
+ * {@link ThreadService}, as far as their accesses do not conflict. Conflicting
+ * preprocessors still run in priority order, and preprocessors which have
+ * proven quick run inline, since forking them costs more than it saves.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -67,6 +89,13 @@ public class ModuleRunner extends AbstractContextual implements
 	Callable<Module>, Runnable
 {
 
+	/** Preprocessors which took less time than this last time run inline. */
+	private static final long FORK_THRESHOLD_NANOS = 1000000;
+
+	/** Recent execution time of each concurrently run preprocessor. */
+	private static final Map<ModulePreprocessor, Long> COSTS = Collections
+		.synchronizedMap(new WeakHashMap<>());
+
 	private final Module module;
 	private final List<? extends ModulePreprocessor> pre;
 	private final List<? extends ModulePostprocessor> post;
@@ -80,6 +109,18 @@ public class ModuleRunner extends AbstractContextual implements
 	@Parameter(required = false)
 	private LogService log;
 
+	@Parameter(required = false)
+	private ThreadService threadService;
+
+	@Parameter(required = false)
+	private ModuleProfileService profileService;
+
+	/** Whether to publish events and status updates during execution. */
+	private boolean notifying = true;
+
+	/** Profile into which execution phases are recorded, if profiling. */
+	private ModuleProfile profile;
+
 	public ModuleRunner(final Context context, final Module module,
 		final List<? extends ModulePreprocessor> pre,
 		final List<? extends ModulePostprocessor> post)
@@ -92,6 +133,19 @@ public class ModuleRunner extends AbstractContextual implements
 
 	// -- ModuleRunner methods --
 
+	/**
+	 * Sets whether to publish module events and status updates during
+	 * execution. Errors are logged regardless.
+	 */
+	public void setNotifying(final boolean notifying) {
+		this.notifying = notifying;
+	}
+
+	/** Gets whether module events and status updates are published. */
+	public boolean isNotifying() {
+		return notifying;
+	}
+
 	/**
 	 * Feeds the module through the {@link ModulePreprocessor}s.
 	 * 
@@ -101,10 +155,26 @@ public class ModuleRunner extends AbstractContextual implements
 	public ModulePreprocessor preProcess() {
 		if (pre == null) return null; // no preprocessors
 
-		for (final ModulePreprocessor p : pre) {
-			p.process(module);
-			if (es != null) es.publish(new ModulePreprocessEvent(module, p));
-			if (p.isCanceled()) return p;
+		final boolean parallel = threadService != null && isParallel();
+		int start = 0;
+		while (start < pre.size()) {
+			// find the next run of preprocessors which declare their item accesses
+			int end = start;
+			if (parallel) {
+				while (end < pre.size() && isDeclared(pre.get(end))) end++;
+			}
+			if (end - start < 2) {
+				final ModulePreprocessor p = pre.get(start);
+				process(p, ModuleProfile.PREPROCESS);
+				publish(new ModulePreprocessEvent(module, p));
+				if (p.isCanceled()) return p;
+				start++;
+				continue;
+			}
+			final ModulePreprocessor canceler = //
+				preProcessConcurrently(pre.subList(start, end));
+			if (canceler != null) return canceler;
+			start = end;
 		}
 		return null;
 	}
@@ -114,8 +184,8 @@ public class ModuleRunner extends AbstractContextual implements
 		if (post == null) return; // no postprocessors
 
 		for (final ModulePostprocessor p : post) {
-			p.process(module);
-			if (es != null) es.publish(new ModulePostprocessEvent(module, p));
+			process(p, ModuleProfile.POSTPROCESS);
+			publish(new ModulePostprocessEvent(module, p));
 		}
 	}
 
@@ -147,11 +217,28 @@ public class ModuleRunner extends AbstractContextual implements
 	public void run() {
 		if (module == null) return;
 
+		if (profileService != null && profileService.isEnabled()) {
+			profile = profileService.getProfile(module.getInfo());
+		}
+		final ModuleProfile.Timer timer = //
+			profile == null ? null : profile.start(ModuleProfile.TOTAL);
+		try {
+			execute();
+		}
+		finally {
+			if (timer != null) timer.stop();
+			profile = null;
+		}
+	}
+
+	// -- Helper methods --
+
+	private void execute() {
 		final String title = module.getInfo().getTitle();
 
 		// announce start of execution process
-		if (ss != null) ss.showStatus("Running command: " + title);
-		if (es != null) es.publish(new ModuleStartedEvent(module));
+		showStatus("Running command: " + title);
+		publish(new ModuleStartedEvent(module));
 
 		// execute preprocessors
 		final ModulePreprocessor canceler = preProcess();
@@ -164,35 +251,229 @@ public class ModuleRunner extends AbstractContextual implements
 		}
 
 		// execute module
-		if (es != null) es.publish(new ModuleExecutingEvent(module));
-		module.run();
+		publish(new ModuleExecutingEvent(module));
+		final ModuleProfile.Timer timer = //
+			profile == null ? null : profile.start(ModuleProfile.RUN);
+		try {
+			module.run();
+		}
+		finally {
+			if (timer != null) timer.stop();
+		}
 		if (isCanceled()) {
 			// module execution was canceled by the module itself
 			cleanupAndBroadcastCancelation(title, getCancelReason());
 			return;
 		}
-		if (es != null) es.publish(new ModuleExecutedEvent(module));
+		publish(new ModuleExecutedEvent(module));
 
 		// execute postprocessors
 		postProcess();
 
 		// announce completion of execution process
-		if (es != null) es.publish(new ModuleFinishedEvent(module));
-		if (ss != null) ss.showStatus("Command finished: " + title);
+		publish(new ModuleFinishedEvent(module));
+		showStatus("Command finished: " + title);
 	}
 
-	// -- Helper methods --
+	/**
+	 * Gets whether to run independent preprocessors concurrently, as controlled
+	 * by the {@code scijava.module.parallel} system property (default false).
+	 */
+	private boolean isParallel() {
+		return Boolean.getBoolean("scijava.module.parallel");
+	}
+
+	private boolean isDeclared(final ModulePreprocessor p) {
+		final ModuleInfo info = module.getInfo();
+		return p.getItemsRead(info) != null && p.getItemsWritten(info) != null;
+	}
+
+	/**
+	 * Runs the given preprocessors, all of which declare their item accesses,
+	 * in rounds: each preprocessor runs in the round after the last one of the
+	 * higher priority preprocessors it conflicts with. Events are published in
+	 * priority order.
+	 * <p>
+	 * NB: Unlike a sequential run, lower priority preprocessors which do not
+	 * depend on a canceling one may already have run by the time it cancels.
+	 * For example, when the {@code ValidityPreprocessor} cancels, services may
+	 * already have been injected. Their effects on the module are not undone,
+	 * but no events are published for them.
+	 * </p>
+	 * 
+	 * @return The preprocessor that canceled the execution, or null if all
+	 *         preprocessors completed successfully.
+	 */
+	private ModulePreprocessor preProcessConcurrently(
+		final List<? extends ModulePreprocessor> stage)
+	{
+		final ModuleInfo info = module.getInfo();
+		final int count = stage.size();
+		final List<Set<String>> reads = new ArrayList<>(count);
+		final List<Set<String>> writes = new ArrayList<>(count);
+		final List<List<Integer>> rounds = new ArrayList<>();
+		final int[] round = new int[count];
+		for (int i = 0; i < count; i++) {
+			reads.add(stage.get(i).getItemsRead(info));
+			writes.add(stage.get(i).getItemsWritten(info));
+			for (int j = 0; j < i; j++) {
+				if (round[j] < round[i]) continue;
+				if (conflicts(reads.get(i), writes.get(i), reads.get(j), writes.get(
+					j))) round[i] = round[j] + 1;
+			}
+			if (round[i] == rounds.size()) rounds.add(new ArrayList<>());
+			rounds.get(round[i]).add(i);
+		}
+
+		// NB: Once a preprocessor cancels, those following it need not run.
+		int limit = count;
+		for (final List<Integer> indices : rounds) {
+			final List<ModulePreprocessor> tasks = new ArrayList<>();
+			for (final int i : indices) {
+				if (i < limit) tasks.add(stage.get(i));
+			}
+			runAll(tasks);
+			for (final int i : indices) {
+				if (i < limit && stage.get(i).isCanceled()) limit = i;
+			}
+		}
+
+		for (int i = 0; i < count; i++) {
+			final ModulePreprocessor p = stage.get(i);
+			publish(new ModulePreprocessEvent(module, p));
+			if (i == limit) return p;
+		}
+		return null;
+	}
+
+	private boolean conflicts(final Set<String> read1, final Set<String> write1,
+		final Set<String> read2, final Set<String> write2)
+	{
+		return intersects(write1, read2) || intersects(write1, write2) ||
+			intersects(read1, write2);
+	}
+
+	private boolean intersects(final Set<String> s1, final Set<String> s2) {
+		for (final String s : s1) {
+			if (s2.contains(s)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Runs the given preprocessors concurrently and waits for all of them to
+	 * finish. Only those which took a while last time are forked, as long as
+	 * there are at least two of them; the others run on the calling thread, in
+	 * priority order.
+	 */
+	private void runAll(final List<ModulePreprocessor> tasks) {
+		final List<ModulePreprocessor> forked = new ArrayList<>();
+		final List<ModulePreprocessor> inline = new ArrayList<>();
+		for (final ModulePreprocessor p : tasks) {
+			(isQuick(p) ? inline : forked).add(p);
+		}
+		if (forked.size() < 2) {
+			forked.clear();
+			inline.clear();
+			inline.addAll(tasks);
+		}
+		else {
+			// NB: The calling thread runs one of the slow ones itself.
+			inline.add(forked.remove(forked.size() - 1));
+		}
+
+		final List<Future<?>> futures = new ArrayList<>(forked.size());
+		for (final ModulePreprocessor p : forked) {
+			futures.add(threadService.run(() -> preProcessTimed(p)));
+		}
+		Throwable failure = null;
+		try {
+			for (final ModulePreprocessor p : inline) {
+				preProcessTimed(p);
+			}
+		}
+		catch (final RuntimeException | Error t) {
+			failure = t;
+		}
+		for (final Future<?> future : futures) {
+			try {
+				future.get();
+			}
+			catch (final ExecutionException exc) {
+				if (failure == null) failure = exc.getCause();
+			}
+			catch (final InterruptedException exc) {
+				Thread.currentThread().interrupt();
+				if (failure == null) failure = exc;
+			}
+		}
+		if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+		if (failure instanceof Error) throw (Error) failure;
+		if (failure != null) throw new RuntimeException(failure);
+	}
+
+	/** Gets whether the given preprocessor was quick last time it ran. */
+	private boolean isQuick(final ModulePreprocessor p) {
+		final Long cost = COSTS.get(p);
+		return cost != null && cost < FORK_THRESHOLD_NANOS;
+	}
+
+	/** Invokes the given preprocessor, recording how long it took. */
+	private void preProcessTimed(final ModulePreprocessor p) {
+		final long start = System.nanoTime();
+		try {
+			process(p, ModuleProfile.PREPROCESS);
+		}
+		finally {
+			COSTS.put(p, System.nanoTime() - start);
+		}
+	}
 
 	private void cleanupAndBroadcastCancelation(final String title,
 		final String reason)
 	{
-		if (ss != null) ss.showStatus("Canceling command: " + title);
+		showStatus("Canceling command: " + title);
 		module.cancel();
-		if (es != null) es.publish(new ModuleCanceledEvent(module, reason));
-		if (ss != null) {
-			ss.showStatus("Command canceled: " + title);
-			if (reason != null) ss.warn(reason);
+		publish(new ModuleCanceledEvent(module, reason));
+		showStatus("Command canceled: " + title);
+		if (reason != null && notifying && ss != null) ss.warn(reason);
+	}
+
+	/** Invokes the given processor, timing it if profiling. */
+	private void process(final ModuleProcessor p, final String phasePrefix) {
+		final ModuleProfile prof = profile;
+		if (prof == null) {
+			p.process(module);
+			return;
 		}
+		final ModuleProfile.Timer timer = //
+			prof.start(phasePrefix + p.getClass().getName());
+		try {
+			p.process(module);
+		}
+		finally {
+			timer.stop();
+		}
+	}
+
+	private void publish(final ModuleEvent event) {
+		if (!notifying || es == null) return;
+		final ModuleProfile prof = profile;
+		if (prof == null) {
+			es.publish(event);
+			return;
+		}
+		final ModuleProfile.Timer timer = prof.start(ModuleProfile.EVENTS);
+		try {
+			es.publish(event);
+		}
+		finally {
+			timer.stop();
+		}
+	}
+
+	private void showStatus(final String message) {
+		if (notifying && ss != null) ss.showStatus(message);
 	}
 
 	private boolean isCanceled() {
@@ -35,11 +35,16 @@ package org.scijava.module;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.scijava.Identifiable;
 import org.scijava.Prioritized;
 import org.scijava.input.Accelerator;
+import org.scijava.log.LogService;
 import org.scijava.module.process.ModulePostprocessor;
 import org.scijava.module.process.ModulePreprocessor;
 import org.scijava.module.process.PostprocessorPlugin;
@@ -267,6 +272,64 @@ public interface ModuleService extends SciJavaService {
 		List<? extends ModulePreprocessor> pre,
 		List<? extends ModulePostprocessor> post, Map<String, Object> inputMap);
 
+	/**
+	 * Executes the given module once for each of the given input maps, with as
+	 * many concurrent executions as there are available processors, and
+	 * without publishing events for the individual executions.
+	 * 
+	 * @see #runBatch(ModuleInfo, boolean, Iterable, int, boolean)
+	 */
+	default Stream<Module> runBatch(final ModuleInfo info,
+		final boolean process, final Iterable<? extends Map<String, Object>> inputMaps)
+	{
+		return runBatch(info, process, inputMaps, //
+			Runtime.getRuntime().availableProcessors(), false);
+	}
+
+	/**
+	 * Executes the given module once for each of the given input maps.
+	 * <p>
+	 * Executions are submitted lazily as the returned stream is consumed, with
+	 * at most {@code parallelism} of them in flight at once, so that arbitrarily
+	 * large (or even unbounded) batches can be processed in constant memory.
+	 * The stream yields the executed module instances in the same order as the
+	 * input maps. Executions which fail with an exception are logged and
+	 * omitted; canceled executions are included, and can be recognized via
+	 * {@link org.scijava.Cancelable#isCanceled()}. Closing the stream cancels
+	 * any pending executions.
+	 * </p>
+	 * <p>
+	 * To run over a {@link Stream} of input maps, pass its
+	 * {@link Stream#iterator()} method reference as the iterable.
+	 * </p>
+	 * 
+	 * @param info The module to instantiate and run.
+	 * @param process If true, executes the modules with pre- and
+	 *          postprocessing steps from all available {@link PreprocessorPlugin}
+	 *          s and {@link PostprocessorPlugin}s in the plugin index; if false,
+	 *          executes with no pre- or postprocessing.
+	 * @param inputMaps Input parameter values for each execution, as in
+	 *          {@link #run(ModuleInfo, boolean, Map)}.
+	 * @param parallelism Maximum number of concurrent executions.
+	 * @param notify If true, each execution publishes the usual module events
+	 *          and status updates; if false, implementations are free to
+	 *          silence the individual executions, reporting only the overall
+	 *          progress of the batch.
+	 * @return Stream of the executed module instances.
+	 */
+	default Stream<Module> runBatch(final ModuleInfo info,
+		final boolean process,
+		final Iterable<? extends Map<String, Object>> inputMaps,
+		final int parallelism, final boolean notify)
+	{
+		final ModuleBatchIterator iterator = new ModuleBatchIterator(inputMaps,
+			inputMap -> run(info, process, inputMap), parallelism, //
+			context().getService(LogService.class), null);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+			Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(
+				iterator::cancel);
+	}
+
 	/** Blocks until the given module is finished executing. */
 	<M extends Module> M waitFor(Future<M> future);
 
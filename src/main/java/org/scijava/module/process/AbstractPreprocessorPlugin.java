@@ -32,7 +32,11 @@
 
 package org.scijava.module.process;
 
+import java.util.function.Predicate;
+
 import org.scijava.AbstractContextual;
+import org.scijava.module.ModuleInfo;
+import org.scijava.module.ModuleItem;
 
 /**
  * Abstract base class for plugin preprocessors.
@@ -62,4 +66,20 @@ public abstract class AbstractPreprocessorPlugin extends AbstractContextual
 		return cancelReason;
 	}
 
+	// -- Helper methods --
+
+	/**
+	 * Gets whether the module described by the given metadata has any autofill
+	 * input whose type matches the given predicate. This is useful for
+	 * implementing {@link #canProcess(ModuleInfo)}.
+	 */
+	protected static boolean hasAutoFillInput(final ModuleInfo info,
+		final Predicate<Class<?>> type)
+	{
+		for (final ModuleItem<?> input : info.inputs()) {
+			if (input.isAutoFill() && type.test(input.getType())) return true;
+		}
+		return false;
+	}
+
 }
@@ -46,7 +46,9 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = PreprocessorPlugin.class,
 	priority = SaveInputsPreprocessor.PRIORITY - 1)
-public class CheckInputsPreprocessor extends AbstractPreprocessorPlugin {
+public class CheckInputsPreprocessor extends AbstractPreprocessorPlugin
+	implements ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private LogService log;
@@ -46,7 +46,9 @@ import org.scijava.plugin.Plugin;
  * @author Curtis Rueden
  */
 @Plugin(type = PostprocessorPlugin.class, priority = Priority.FIRST)
-public class DebugPostprocessor extends AbstractPostprocessorPlugin {
+public class DebugPostprocessor extends AbstractPostprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private LogService log;
@@ -44,7 +44,9 @@ import org.scijava.plugin.Plugin;
  * @author Curtis Rueden
  */
 @Plugin(type = PreprocessorPlugin.class, priority = Priority.FIRST)
-public class DebugPreprocessor extends AbstractPreprocessorPlugin {
+public class DebugPreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private LogService log;
@@ -32,10 +32,13 @@
 
 package org.scijava.module.process;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 import org.scijava.Priority;
 import org.scijava.module.Module;
+import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
 import org.scijava.plugin.Parameter;
@@ -51,7 +54,9 @@ import org.scijava.util.ConversionUtils;
  * @author Curtis Rueden
  */
 @Plugin(type = PreprocessorPlugin.class, priority = Priority.VERY_HIGH)
-public class DefaultValuePreprocessor extends AbstractPreprocessorPlugin {
+public class DefaultValuePreprocessor extends AbstractPreprocessorPlugin
+	implements ReusableProcessor
+{
 
 	@Parameter
 	private ModuleService moduleService;
@@ -68,6 +73,23 @@ public class DefaultValuePreprocessor extends AbstractPreprocessorPlugin {
 		}
 	}
 
+	@Override
+	public Set<String> getItemsRead(final ModuleInfo info) {
+		final Set<String> names = new HashSet<>();
+		for (final ModuleItem<?> input : info.inputs()) {
+			names.add(input.getName());
+		}
+		for (final ModuleItem<?> output : info.outputs()) {
+			names.add(output.getName());
+		}
+		return names;
+	}
+
+	@Override
+	public Set<String> getItemsWritten(final ModuleInfo info) {
+		return getItemsRead(info);
+	}
+
 	// -- Helper methods --
 
 	private <T> void assignDefaultValue(final Module module,
@@ -33,12 +33,16 @@
 package org.scijava.module.process;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.scijava.Context;
 import org.scijava.Gateway;
 import org.scijava.Priority;
 import org.scijava.log.LogService;
 import org.scijava.module.Module;
+import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleItem;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -55,7 +59,9 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = PreprocessorPlugin.class, //
 	priority = 2 * Priority.VERY_HIGH)
-public class GatewayPreprocessor extends AbstractPreprocessorPlugin {
+public class GatewayPreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter
 	private LogService log;
@@ -77,6 +83,28 @@ public class GatewayPreprocessor extends AbstractPreprocessorPlugin {
 		}
 	}
 
+	@Override
+	public boolean canProcess(final ModuleInfo info) {
+		return hasAutoFillInput(info, Gateway.class::isAssignableFrom);
+	}
+
+	@Override
+	public Set<String> getItemsRead(final ModuleInfo info) {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public Set<String> getItemsWritten(final ModuleInfo info) {
+		final Set<String> names = new HashSet<>();
+		for (final ModuleItem<?> input : info.inputs()) {
+			if (!input.isAutoFill()) continue;
+			if (Gateway.class.isAssignableFrom(input.getType())) {
+				names.add(input.getName());
+			}
+		}
+		return names;
+	}
+
 	// -- Helper methods --
 
 	private <G extends Gateway> void setGatewayValue(final Context context,
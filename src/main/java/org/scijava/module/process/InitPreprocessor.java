@@ -49,7 +49,9 @@ import org.scijava.plugin.Plugin;
  * @author Curtis Rueden
  */
 @Plugin(type = PreprocessorPlugin.class, priority = Priority.HIGH)
-public class InitPreprocessor extends AbstractPreprocessorPlugin {
+public class InitPreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private LogService log;
@@ -32,8 +32,12 @@
 
 package org.scijava.module.process;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.scijava.convert.ConvertService;
 import org.scijava.module.Module;
+import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
 import org.scijava.plugin.Parameter;
@@ -54,7 +58,9 @@ import org.scijava.widget.InputHarvester;
  */
 @Plugin(type = PreprocessorPlugin.class,
 	priority = InputHarvester.PRIORITY + 1)
-public class LoadInputsPreprocessor extends AbstractPreprocessorPlugin {
+public class LoadInputsPreprocessor extends AbstractPreprocessorPlugin
+	implements ReusableProcessor
+{
 
 	@Parameter
 	private ModuleService moduleService;
@@ -72,6 +78,20 @@ public class LoadInputsPreprocessor extends AbstractPreprocessorPlugin {
 		}
 	}
 
+	@Override
+	public Set<String> getItemsRead(final ModuleInfo info) {
+		final Set<String> names = new HashSet<>();
+		for (final ModuleItem<?> input : info.inputs()) {
+			names.add(input.getName());
+		}
+		return names;
+	}
+
+	@Override
+	public Set<String> getItemsWritten(final ModuleInfo info) {
+		return getItemsRead(info);
+	}
+
 	// -- Helper methods --
 
 	/** Loads the value of the given module item from persistent storage. */
@@ -34,6 +34,7 @@ package org.scijava.module.process;
 import org.scijava.log.LogService;
 import org.scijava.log.Logger;
 import org.scijava.module.Module;
+import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
 import org.scijava.plugin.Parameter;
@@ -47,7 +48,9 @@ import org.scijava.plugin.Plugin;
  * @author Matthias Arzt
  */
 @Plugin(type = PreprocessorPlugin.class)
-public class LoggerPreprocessor extends AbstractPreprocessorPlugin {
+public class LoggerPreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private LogService logService;
@@ -75,4 +78,9 @@ public class LoggerPreprocessor extends AbstractPreprocessorPlugin {
 		module.resolveInput(name);
 	}
 
+	@Override
+	public boolean canProcess(final ModuleInfo info) {
+		return hasAutoFillInput(info, Logger.class::isAssignableFrom);
+	}
+
 }
@@ -32,7 +32,10 @@
 
 package org.scijava.module.process;
 
+import java.util.Set;
+
 import org.scijava.module.Module;
+import org.scijava.module.ModuleInfo;
 
 /**
  * A module processor defines some sort of processing that occurs on a module
@@ -46,4 +49,52 @@ public interface ModuleProcessor {
 	/** Performs a processing step on the given module instance. */
 	void process(Module module);
 
+	/**
+	 * Gets whether this processor might do anything for modules described by
+	 * the given metadata. Processors which only act on particular kinds of
+	 * inputs can return false when the module has no such inputs, so that they
+	 * can be skipped entirely when executing it.
+	 * <p>
+	 * The answer may be cached per {@link ModuleInfo}, so it must only depend
+	 * on metadata which does not change between executions.
+	 * </p>
+	 * 
+	 * @return false if processing such modules would certainly have no effect;
+	 *         true otherwise (the default).
+	 */
+	default boolean canProcess(final ModuleInfo info) {
+		return true;
+	}
+
+	/**
+	 * Gets the names of the module items whose values or resolution states this
+	 * processor might read, for modules described by the given metadata.
+	 * <p>
+	 * Processors which declare both the items they read and the items they
+	 * write (see {@link #getItemsWritten(ModuleInfo)}) are allowed to run
+	 * concurrently with neighboring processors whose item accesses do not
+	 * conflict with theirs. Such a processor must otherwise be free of side
+	 * effects which depend on the order of execution, apart from canceling the
+	 * module.
+	 * </p>
+	 * 
+	 * @return The names of the items read, or null if unknown (the default), in
+	 *         which case this processor always runs by itself, in order.
+	 */
+	default Set<String> getItemsRead(final ModuleInfo info) {
+		return null;
+	}
+
+	/**
+	 * Gets the names of the module items whose values or resolution states this
+	 * processor might write, for modules described by the given metadata.
+	 * 
+	 * @return The names of the items written, or null if unknown (the default),
+	 *         in which case this processor always runs by itself, in order.
+	 * @see #getItemsRead(ModuleInfo)
+	 */
+	default Set<String> getItemsWritten(final ModuleInfo info) {
+		return null;
+	}
+
 }
@@ -52,7 +52,9 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = PreprocessorPlugin.class,
 	priority = Priority.VERY_LOW - 1)
-public class SaveInputsPreprocessor extends AbstractPreprocessorPlugin {
+public class SaveInputsPreprocessor extends AbstractPreprocessorPlugin
+	implements ReusableProcessor
+{
 
 	public static final double PRIORITY = Priority.VERY_LOW - 1;
 
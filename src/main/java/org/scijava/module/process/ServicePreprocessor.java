@@ -32,6 +32,10 @@
 
 package org.scijava.module.process;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.scijava.Context;
 import org.scijava.Priority;
 import org.scijava.command.Command;
@@ -64,7 +68,9 @@ import org.scijava.service.Service;
  */
 @Plugin(type = PreprocessorPlugin.class, //
 	priority = 2 * Priority.VERY_HIGH)
-public class ServicePreprocessor extends AbstractPreprocessorPlugin {
+public class ServicePreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	// -- ModuleProcessor methods --
 
@@ -89,6 +95,32 @@ public class ServicePreprocessor extends AbstractPreprocessorPlugin {
 		}
 	}
 
+	@Override
+	public boolean canProcess(final ModuleInfo info) {
+		return hasAutoFillInput(info, type -> Service.class.isAssignableFrom(
+			type) || type.isAssignableFrom(getContext().getClass()));
+	}
+
+	@Override
+	public Set<String> getItemsRead(final ModuleInfo info) {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public Set<String> getItemsWritten(final ModuleInfo info) {
+		final Set<String> names = new HashSet<>();
+		for (final ModuleItem<?> input : info.inputs()) {
+			if (!input.isAutoFill()) continue;
+			final Class<?> type = input.getType();
+			if (Service.class.isAssignableFrom(type) || //
+				type.isAssignableFrom(getContext().getClass()))
+			{
+				names.add(input.getName());
+			}
+		}
+		return names;
+	}
+
 	// -- Helper methods --
 
 	private <S extends Service> void setServiceValue(final Context context,
@@ -32,6 +32,9 @@
 
 package org.scijava.module.process;
 
+import java.util.Collections;
+import java.util.Set;
+
 import org.scijava.Priority;
 import org.scijava.ValidityProblem;
 import org.scijava.module.Module;
@@ -46,7 +49,9 @@ import org.scijava.plugin.Plugin;
  */
 @Plugin(type = PreprocessorPlugin.class,
 	priority = 3 * Priority.VERY_HIGH)
-public class ValidityPreprocessor extends AbstractPreprocessorPlugin {
+public class ValidityPreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	// -- ModuleProcessor methods --
 
@@ -66,4 +71,14 @@ public class ValidityPreprocessor extends AbstractPreprocessorPlugin {
 		cancel(sb.toString());
 	}
 
+	@Override
+	public Set<String> getItemsRead(final ModuleInfo info) {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public Set<String> getItemsWritten(final ModuleInfo info) {
+		return Collections.emptySet();
+	}
+
 }
@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.module.profile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated measurements of the executions of one kind of module, broken
+ * down by phase.
+ * <p>
+ * Each phase is timed with a {@link Timer}, which measures the wall-clock time
+ * and&mdash;as far as the JVM supports it&mdash;the CPU time and allocated
+ * bytes of the current thread, using the platform {@link ThreadMXBean}.
+ * </p>
+ * 
+ * @see ModuleProfileService
+ * @author agent
+ */
+public class ModuleProfile {
+
+	/** Phase for the execution of the module as a whole. */
+	public static final String TOTAL = "total";
+
+	/** Phase for the module body, i.e., {@link org.scijava.module.Module#run}. */
+	public static final String RUN = "run";
+
+	/** Phase for publishing module events. */
+	public static final String EVENTS = "events";
+
+	/** Prefix of the phases for each preprocessor. */
+	public static final String PREPROCESS = "preprocess: ";
+
+	/** Prefix of the phases for each postprocessor. */
+	public static final String POSTPROCESS = "postprocess: ";
+
+	private static final ThreadMXBean THREADS = //
+		ManagementFactory.getThreadMXBean();
+
+	private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+	private final String identifier;
+
+	/** Phases in order of first occurrence. */
+	private final Map<String, PhaseProfile> phases = new LinkedHashMap<>();
+
+	public ModuleProfile(final String identifier) {
+		this.identifier = identifier;
+	}
+
+	// -- ModuleProfile methods --
+
+	/** Gets the identifier of the profiled modules. */
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	/** Gets the number of profiled module executions. */
+	public long getCount() {
+		final PhaseProfile total = getPhase(TOTAL);
+		return total == null ? 0 : total.getCount();
+	}
+
+	/** Gets the measurements of the given phase, or null if none. */
+	public synchronized PhaseProfile getPhase(final String name) {
+		return phases.get(name);
+	}
+
+	/** Gets the measurements of all phases, in order of first occurrence. */
+	public synchronized List<PhaseProfile> getPhases() {
+		return new ArrayList<>(phases.values());
+	}
+
+	/** Starts timing the given phase on the current thread. */
+	public Timer start(final String phase) {
+		return new Timer(phase(phase));
+	}
+
+	// -- Helper methods --
+
+	private synchronized PhaseProfile phase(final String name) {
+		return phases.computeIfAbsent(name, PhaseProfile::new);
+	}
+
+	private static long cpuTime() {
+		return THREADS.isCurrentThreadCpuTimeSupported() ? //
+			THREADS.getCurrentThreadCpuTime() : -1;
+	}
+
+	private static long allocatedBytes() {
+		if (!ALLOCATION_SUPPORTED) return -1;
+		final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) THREADS;
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static boolean isAllocationSupported() {
+		try {
+			return THREADS instanceof com.sun.management.ThreadMXBean &&
+				((com.sun.management.ThreadMXBean) THREADS)
+					.isThreadAllocatedMemorySupported();
+		}
+		catch (final LinkageError err) {
+			// NB: Not a HotSpot-based JVM.
+			return false;
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Measures one occurrence of a phase, from its creation until
+	 * {@link #stop()} is called, on the same thread.
+	 */
+	public static class Timer {
+
+		private final PhaseProfile phase;
+		private final long wall, cpu, alloc;
+
+		private Timer(final PhaseProfile phase) {
+			this.phase = phase;
+			cpu = cpuTime();
+			alloc = allocatedBytes();
+			wall = System.nanoTime();
+		}
+
+		/** Records the measurement into the phase's profile. */
+		public void stop() {
+			final long wallEnd = System.nanoTime();
+			final long cpuEnd = cpu < 0 ? -1 : cpuTime();
+			final long allocEnd = alloc < 0 ? -1 : allocatedBytes();
+			phase.record(wallEnd - wall, cpuEnd < 0 ? -1 : cpuEnd - cpu,
+				allocEnd < 0 ? -1 : allocEnd - alloc);
+		}
+	}
+
+}
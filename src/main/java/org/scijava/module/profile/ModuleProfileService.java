@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.module.profile;
+
+import java.util.List;
+
+import org.scijava.module.ModuleInfo;
+import org.scijava.module.ModuleRunner;
+import org.scijava.service.SciJavaService;
+
+/**
+ * Interface for service that profiles module executions.
+ * <p>
+ * While enabled, each {@link ModuleRunner} records the time spent in each
+ * phase of a module's execution&mdash;every preprocessor, the module body,
+ * every postprocessor, and event publication&mdash;into the
+ * {@link ModuleProfile} of its module. Profiling is disabled by default; it
+ * can also be enabled at startup via the {@code scijava.module.profile} system
+ * property.
+ * </p>
+ * 
+ * @see ModuleProfileCommand
+ * @author agent
+ */
+public interface ModuleProfileService extends SciJavaService {
+
+	/** Gets whether module executions are being profiled. */
+	boolean isEnabled();
+
+	/** Sets whether module executions are being profiled. */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * Gets the profile of the modules described by the given metadata,
+	 * creating it if needed. Modules are profiled together when they share an
+	 * identifier (see {@link ModuleInfo#getIdentifier()}).
+	 */
+	ModuleProfile getProfile(ModuleInfo info);
+
+	/** Gets the profile with the given identifier, or null if none. */
+	ModuleProfile getProfile(String identifier);
+
+	/** Gets all profiles recorded so far. */
+	List<ModuleProfile> getProfiles();
+
+	/** Discards all profiles recorded so far. */
+	void clear();
+
+	/**
+	 * Gets a human-readable report of all profiles recorded so far, with times
+	 * in milliseconds and allocations in kibibytes.
+	 */
+	default String getReport() {
+		final StringBuilder sb = new StringBuilder();
+		for (final ModuleProfile profile : getProfiles()) {
+			sb.append(profile.getIdentifier());
+			sb.append(" (" + profile.getCount() + " runs)\n");
+			sb.append(String.format("  %-48s %8s %10s %10s %10s %10s %10s %12s%n",
+				"phase", "count", "mean", "p50", "p99", "max", "cpu", "alloc"));
+			for (final PhaseProfile phase : profile.getPhases()) {
+				sb.append(String.format(
+					"  %-48s %8d %10.3f %10.3f %10.3f %10.3f %10.3f %12.1f%n", //
+					phase.getName(), phase.getCount(), //
+					phase.getMeanWallTime() / 1e6, //
+					phase.getWallTimePercentile(50) / 1e6, //
+					phase.getWallTimePercentile(99) / 1e6, //
+					phase.getMaxWallTime() / 1e6, //
+					phase.getCpuTime() / 1e6, //
+					phase.getAllocatedBytes() / 1024.0));
+			}
+		}
+		return sb.toString();
+	}
+
+}
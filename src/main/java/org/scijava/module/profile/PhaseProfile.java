@@ -0,0 +1,160 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.module.profile;
+
+/**
+ * Aggregated measurements of one phase of a module's execution, such as a
+ * particular preprocessor, or the module body itself.
+ * <p>
+ * Besides totals, a histogram of wall-clock times is kept, with one bucket per
+ * power of two nanoseconds, from which percentiles can be estimated.
+ * </p>
+ * 
+ * @see ModuleProfile
+ * @author agent
+ */
+public class PhaseProfile {
+
+	private final String name;
+
+	private long count;
+	private long wallTotal, wallMin = Long.MAX_VALUE, wallMax;
+	private long cpuTotal;
+	private long allocTotal;
+	private final long[] histogram = new long[64];
+
+	public PhaseProfile(final String name) {
+		this.name = name;
+	}
+
+	// -- PhaseProfile methods --
+
+	/** Gets the name of the phase. */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Adds a measurement of the phase.
+	 * 
+	 * @param wall Elapsed wall-clock time, in nanoseconds.
+	 * @param cpu Elapsed CPU time of the executing thread, in nanoseconds, or
+	 *          -1 if not measured.
+	 * @param alloc Bytes allocated by the executing thread, or -1 if not
+	 *          measured.
+	 */
+	public synchronized void record(final long wall, final long cpu,
+		final long alloc)
+	{
+		count++;
+		wallTotal += wall;
+		if (wall < wallMin) wallMin = wall;
+		if (wall > wallMax) wallMax = wall;
+		if (cpu > 0) cpuTotal += cpu;
+		if (alloc > 0) allocTotal += alloc;
+		histogram[bucket(wall)]++;
+	}
+
+	/** Gets the number of measurements. */
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/** Gets the total wall-clock time, in nanoseconds. */
+	public synchronized long getWallTime() {
+		return wallTotal;
+	}
+
+	/** Gets the shortest wall-clock time, in nanoseconds. */
+	public synchronized long getMinWallTime() {
+		return count == 0 ? 0 : wallMin;
+	}
+
+	/** Gets the longest wall-clock time, in nanoseconds. */
+	public synchronized long getMaxWallTime() {
+		return wallMax;
+	}
+
+	/** Gets the mean wall-clock time, in nanoseconds. */
+	public synchronized long getMeanWallTime() {
+		return count == 0 ? 0 : wallTotal / count;
+	}
+
+	/** Gets the total CPU time, in nanoseconds. */
+	public synchronized long getCpuTime() {
+		return cpuTotal;
+	}
+
+	/** Gets the total number of bytes allocated. */
+	public synchronized long getAllocatedBytes() {
+		return allocTotal;
+	}
+
+	/**
+	 * Estimates the given percentile of the wall-clock times, as the upper
+	 * bound of the histogram bucket in which it falls.
+	 * 
+	 * @param p The percentile, between 0 and 100.
+	 * @return The estimated wall-clock time, in nanoseconds.
+	 */
+	public synchronized long getWallTimePercentile(final double p) {
+		if (count == 0) return 0;
+		final long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+		long seen = 0;
+		for (int b = 0; b < histogram.length; b++) {
+			seen += histogram[b];
+			if (seen >= rank) return Math.min(wallMax, upperBound(b));
+		}
+		return wallMax;
+	}
+
+	/**
+	 * Gets a copy of the wall-clock time histogram. Bucket {@code b} counts the
+	 * measurements of at least 2<sup>b</sup> and less than 2<sup>b+1</sup>
+	 * nanoseconds; bucket 0 also counts those of zero nanoseconds.
+	 */
+	public synchronized long[] getHistogram() {
+		return histogram.clone();
+	}
+
+	// -- Helper methods --
+
+	private static int bucket(final long nanos) {
+		return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos) - 1;
+	}
+
+	private static long upperBound(final int bucket) {
+		return bucket >= 62 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+	}
+
+}
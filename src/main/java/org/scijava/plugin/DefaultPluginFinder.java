@@ -37,6 +37,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.scijava.annotations.Index;
 import org.scijava.annotations.IndexItem;
@@ -47,6 +49,14 @@ import org.scijava.annotations.IndexItem;
  * It works by scanning the classpath for {@link Plugin} annotations
  * previously indexed by scijava-common itself.
  * </p>
+ * <p>
+ * The index of each classpath entry is read, and its {@link PluginInfo}
+ * objects created, on the common fork-join pool; the results are merged in
+ * classpath order, so the discovered plugins are the same as with sequential
+ * discovery. Set the {@code scijava.plugin.parallel} system property to
+ * {@code false} to read the indexes sequentially instead. On a single
+ * processor, they are always read sequentially, which is faster there.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -82,23 +92,44 @@ public class DefaultPluginFinder implements PluginFinder {
 		final Index<Plugin> annotationIndex =
 			Index.load(Plugin.class, classLoader);
 
-		// create a PluginInfo object for each item in the index
-		for (final IndexItem<Plugin> item : annotationIndex) {
+		// read each index and create its PluginInfo objects, possibly in parallel
+		final List<Index<Plugin>> indexes = annotationIndex.split();
+		final boolean parallel = isParallel() && indexes.size() > 1 && //
+			Runtime.getRuntime().availableProcessors() > 1;
+		final Stream<Index<Plugin>> stream = parallel ? indexes.parallelStream()
+			: indexes.stream();
+		final List<Discovery> discoveries = stream.map(index -> discover(index,
+			classLoader)).collect(Collectors.toList());
+
+		// merge the results, preserving classpath order
+		for (final Discovery discovery : discoveries) {
+			plugins.addAll(discovery.plugins);
+			exceptions.putAll(discovery.exceptions);
+		}
+
+		return exceptions;
+	}
+
+	// -- Helper methods --
+
+	/** Creates a {@link PluginInfo} object for each item in the given index. */
+	private Discovery discover(final Index<Plugin> index,
+		final ClassLoader classLoader)
+	{
+		final Discovery discovery = new Discovery();
+		for (final IndexItem<Plugin> item : index) {
 			if (blacklist.contains(item.className())) continue;
 			try {
 				final PluginInfo<?> info = createInfo(item, classLoader);
-				plugins.add(info);
+				discovery.plugins.add(info);
 			}
 			catch (final Throwable t) {
-				exceptions.put(item.className(), t);
+				discovery.exceptions.put(item.className(), t);
 			}
 		}
-
-		return exceptions;
+		return discovery;
 	}
 
-	// -- Helper methods --
-
 	private PluginInfo<SciJavaPlugin> createInfo(
 		final IndexItem<Plugin> item, final ClassLoader classLoader)
 	{
@@ -112,6 +143,14 @@ public class DefaultPluginFinder implements PluginFinder {
 		return new PluginInfo<>(className, pluginType, plugin, classLoader);
 	}
 
+	/**
+	 * Gets whether to read the annotation indexes in parallel, as controlled by
+	 * the {@code scijava.plugin.parallel} system property (default true).
+	 */
+	private boolean isParallel() {
+		return !"false".equals(System.getProperty("scijava.plugin.parallel"));
+	}
+
 	private ClassLoader getClassLoader() {
 		if (customClassLoader != null) return customClassLoader;
 		return Thread.currentThread().getContextClassLoader();
@@ -119,6 +158,12 @@ public class DefaultPluginFinder implements PluginFinder {
 
 	// -- Helper classes --
 
+	/** The plugins and errors discovered from a single annotation index. */
+	private static class Discovery {
+		private final List<PluginInfo<?>> plugins = new ArrayList<>();
+		private final HashMap<String, Throwable> exceptions = new HashMap<>();
+	}
+
 	private interface PluginBlacklist {
 		boolean contains(String className);
 	}
@@ -39,12 +39,14 @@ import java.util.List;
 import java.util.Map;
 
 import org.scijava.InstantiableException;
+import org.scijava.event.EventHandler;
 import org.scijava.event.EventService;
 import org.scijava.log.LogService;
 import org.scijava.plugin.event.PluginsAddedEvent;
 import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
+import org.scijava.service.event.ServicesLoadedEvent;
 import org.scijava.util.ListUtils;
 
 /**
@@ -59,6 +61,13 @@ import org.scijava.util.ListUtils;
  * event service. (No events are published for plugins directly added to or
  * removed from the {@link PluginIndex}.)
  * </p>
+ * <p>
+ * Once all services are loaded, a report of plugin class loading and
+ * instantiation times is logged at debug level. When
+ * {@link PluginInfo#STRICT_LOADING_PROPERTY strict loading} is enabled, a
+ * warning is also logged for each plugin whose class was loaded without the
+ * plugin being instantiated.
+ * </p>
  * 
  * @author Curtis Rueden
  * @author Johannes Schindelin
@@ -262,6 +271,22 @@ public class DefaultPluginService extends AbstractService implements
 		super.initialize();
 	}
 
+	// -- Event handlers --
+
+	/** Reports plugin loading statistics once the context is up and running. */
+	@EventHandler
+	protected void onEvent(
+		@SuppressWarnings("unused") final ServicesLoadedEvent event)
+	{
+		if (log.isDebug()) log.debug(getLoadReport());
+		if (!Boolean.getBoolean(PluginInfo.STRICT_LOADING_PROPERTY)) return;
+		for (final PluginInfo<?> info : getLoadedPlugins()) {
+			if (!info.isLoadedEagerly()) continue;
+			log.warn("Plugin class loaded but never instantiated: " +
+				info.getClassName(), info.getLoadTrace());
+		}
+	}
+
 	// -- Utility methods --
 
 	/**
@@ -69,6 +69,14 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 	implements Instantiable<PT>, Identifiable, Locatable, Versioned
 {
 
+	/**
+	 * System property which, when set to {@code true}, enables strict loading:
+	 * the call site of each plugin class load is recorded (see
+	 * {@link #getLoadTrace()}), so that plugins which are loaded without ever
+	 * being instantiated can be tracked down.
+	 */
+	public static final String STRICT_LOADING_PROPERTY = "scijava.plugin.strict";
+
 	/** Fully qualified class name of this plugin. */
 	private String className;
 
@@ -84,6 +92,21 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 	/** Class loader to use when loading the class with {@link #loadClass()}. */
 	private ClassLoader classLoader;
 
+	/** Time spent loading the plugin class, in nanoseconds, or -1 if not yet. */
+	private volatile long loadTime = -1;
+
+	/** Call site of the plugin class load, when loading strictly. */
+	private volatile Throwable loadTrace;
+
+	/** Whether the class was loaded by {@link #loadClassForDiscovery()}. */
+	private volatile boolean discoveryLoad;
+
+	/** Number of instances created so far. */
+	private int instanceCount;
+
+	/** Total time spent creating instances, in nanoseconds. */
+	private long instantiationTime;
+
 	/**
 	 * Creates a new plugin metadata object.
 	 * 
@@ -259,6 +282,80 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 		return true;
 	}
 
+	/**
+	 * Gets the time spent loading the plugin class via {@link #loadClass()}, in
+	 * nanoseconds.
+	 * 
+	 * @return The load time, or -1 if the class has not been loaded by this
+	 *         object (either not at all, or because it was given explicitly).
+	 */
+	public long getLoadTime() {
+		return loadTime;
+	}
+
+	/**
+	 * Gets the call stack at the moment the plugin class was loaded, if
+	 * {@link #STRICT_LOADING_PROPERTY strict loading} was enabled at that time.
+	 * 
+	 * @return The load trace, or null if unavailable.
+	 */
+	public Throwable getLoadTrace() {
+		return loadTrace;
+	}
+
+	/**
+	 * Gets whether the plugin class was loaded by
+	 * {@link #loadClassForDiscovery()}, i.e., only to decide which plugin to
+	 * use.
+	 */
+	public boolean isDiscoveryLoad() {
+		return discoveryLoad;
+	}
+
+	/** Gets the number of plugin instances created so far. */
+	public synchronized int getInstanceCount() {
+		return instanceCount;
+	}
+
+	/** Gets the total time spent creating plugin instances, in nanoseconds. */
+	public synchronized long getInstantiationTime() {
+		return instantiationTime;
+	}
+
+	/**
+	 * Records the creation of a plugin instance by means other than
+	 * {@link #createInstance()} (e.g., by the service framework).
+	 * 
+	 * @param time The time spent creating the instance, in nanoseconds.
+	 */
+	public synchronized void recordInstantiation(final long time) {
+		instanceCount++;
+		instantiationTime += time;
+	}
+
+	/**
+	 * Gets whether the plugin class was loaded without any plugin instance ever
+	 * being created; i.e., whether this metadata could have sufficed.
+	 * Loads done by {@link #loadClassForDiscovery()} do not count as eager.
+	 */
+	public boolean isLoadedEagerly() {
+		return loadTime >= 0 && !discoveryLoad && getInstanceCount() == 0;
+	}
+
+	/**
+	 * Loads the plugin class in order to decide which plugin to use, rather
+	 * than to use this one; e.g., to match service implementations against the
+	 * service interfaces they implement. Such loads are needed even for
+	 * plugins which are never instantiated, so they are recorded separately
+	 * (see {@link #isDiscoveryLoad()}), and not reported as eager.
+	 */
+	public Class<? extends PT> loadClassForDiscovery()
+		throws InstantiableException
+	{
+		if (pluginClass == null) discoveryLoad = true;
+		return loadClass();
+	}
+
 	// -- Object methods --
 
 	@Override
@@ -282,9 +379,14 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 	public Class<? extends PT> loadClass() throws InstantiableException {
 		if (pluginClass == null) {
 			try {
+				final long start = System.nanoTime();
 				final Class<?> c = ClassUtils.loadClass(className, classLoader, false);
 				@SuppressWarnings("unchecked")
 				final Class<? extends PT> typedClass = (Class<? extends PT>) c;
+				loadTime = System.nanoTime() - start;
+				if (Boolean.getBoolean(STRICT_LOADING_PROPERTY)) {
+					loadTrace = new Throwable("Plugin class loaded: " + className);
+				}
 				pluginClass = typedClass;
 			}
 			catch (final IllegalArgumentException exc) {
@@ -302,9 +404,11 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 		// instantiate plugin
 		final PT instance;
 		try {
+			final long start = System.nanoTime();
 			instance = c.newInstance();
 			inject(instance);
 			Priority.inject(instance, getPriority());
+			recordInstantiation(System.nanoTime() - start);
 		}
 		catch (final InstantiationException e) {
 			throw new InstantiableException(e);
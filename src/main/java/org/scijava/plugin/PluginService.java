@@ -33,7 +33,9 @@
 package org.scijava.plugin;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 import org.scijava.service.SciJavaService;
@@ -254,4 +256,52 @@ public interface PluginService extends SciJavaService {
 	 */
 	<PT extends SciJavaPlugin> PT createInstance(PluginInfo<PT> info);
 
+	/**
+	 * Gets the plugins whose classes have been loaded, sorted by the total time
+	 * spent loading and instantiating them, most expensive first.
+	 * 
+	 * @see PluginInfo#getLoadTime()
+	 * @see PluginInfo#getInstantiationTime()
+	 */
+	default List<PluginInfo<?>> getLoadedPlugins() {
+		final List<PluginInfo<?>> loaded = new ArrayList<>();
+		for (final PluginInfo<?> info : getPlugins()) {
+			if (info.getLoadTime() >= 0 || info.getInstanceCount() > 0) {
+				loaded.add(info);
+			}
+		}
+		loaded.sort(Comparator.comparingLong((PluginInfo<?> info) -> Math.max(0,
+			info.getLoadTime()) + info.getInstantiationTime()).reversed());
+		return loaded;
+	}
+
+	/**
+	 * Gets a human-readable report of plugin class loading and instantiation,
+	 * including the plugins whose classes were loaded without ever being
+	 * instantiated.
+	 * 
+	 * @see #getLoadedPlugins()
+	 * @see PluginInfo#isLoadedEagerly()
+	 */
+	default String getLoadReport() {
+		final List<PluginInfo<?>> loaded = getLoadedPlugins();
+		long loadTime = 0, instantiationTime = 0;
+		int eagerCount = 0;
+		final StringBuilder sb = new StringBuilder();
+		for (final PluginInfo<?> info : loaded) {
+			loadTime += Math.max(0, info.getLoadTime());
+			instantiationTime += info.getInstantiationTime();
+			if (info.isLoadedEagerly()) eagerCount++;
+			sb.append(String.format("%n%10.3f ms load, %10.3f ms create (x%d)%s %s",
+				Math.max(0, info.getLoadTime()) / 1e6, //
+				info.getInstantiationTime() / 1e6, info.getInstanceCount(), //
+				info.isLoadedEagerly() ? " [eager]" : info.isDiscoveryLoad() ?
+					" [discovery]" : "", info.getClassName()));
+		}
+		return String.format("%d of %d plugin classes loaded " +
+			"(%d never instantiated): %.3f ms loading, %.3f ms instantiating", //
+			loaded.size(), getPlugins().size(), eagerCount, loadTime / 1e6,
+			instantiationTime / 1e6) + sb;
+	}
+
 }
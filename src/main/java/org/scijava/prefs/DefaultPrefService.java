@@ -32,6 +32,8 @@
 
 package org.scijava.prefs;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -45,8 +47,10 @@ import org.scijava.plugin.Plugin;
 import org.scijava.service.Service;
 
 /**
- * Default {@link PrefService} implementation, which persists preferences to
- * disk using the {@link java.util.prefs.Preferences} API.
+ * Default {@link PrefService} implementation, which keeps preferences in a
+ * {@link PrefStore}. By default, preferences are persisted to disk using the
+ * {@link java.util.prefs.Preferences} API; see {@link #STORE_PROPERTY} for
+ * alternatives.
  *
  * @author Mark Hiner
  * @author Curtis Rueden
@@ -55,9 +59,81 @@ import org.scijava.service.Service;
 @Plugin(type = Service.class)
 public class DefaultPrefService extends AbstractPrefService {
 
+	/**
+	 * System property selecting the initial {@link PrefStore}: {@code memory} for
+	 * a {@link MemoryPrefStore}, {@code file} for a {@link FilePrefStore}, or
+	 * {@code java} (the default) for a {@link JavaPrefStore}.
+	 */
+	public static final String STORE_PROPERTY = "scijava.prefs.store";
+
+	/**
+	 * System property giving the path of the {@link FilePrefStore}'s file;
+	 * defaults to {@code .scijava/prefs.log} in the user's home directory.
+	 */
+	public static final String FILE_PROPERTY = "scijava.prefs.file";
+
 	@Parameter(required = false)
 	private LogService log;
 
+	private volatile PrefStore store;
+
+	/**
+	 * Modification count reported when the current store was set, and the
+	 * store's own count at that time.
+	 */
+	private long countBase, storeBase;
+
+	// -- DefaultPrefService methods --
+
+	/** Gets the storage backend of the preferences. */
+	public PrefStore getStore() {
+		if (store == null) initStore();
+		return store;
+	}
+
+	/**
+	 * Sets the storage backend of the preferences. The previous store is closed;
+	 * its preferences are not carried over.
+	 */
+	public synchronized void setStore(final PrefStore store) {
+		if (this.store != null && this.store != store) close(this.store);
+		final long count = this.store == null ? -1 : getModificationCount();
+		this.store = store;
+		// NB: Keep the count moving forward across stores.
+		countBase = Math.max(countBase, count) + 1;
+		storeBase = Math.max(0, store.getModificationCount());
+	}
+
+	// -- PrefService methods --
+
+	/**
+	 * Gets the number of modifications made to the preferences so far, as
+	 * counted by the {@link PrefStore}. Stores which cannot observe every
+	 * change, such as the {@link JavaPrefStore}, whose preferences are shared
+	 * with the rest of the JVM and with other processes, leave it untracked.
+	 */
+	@Override
+	public synchronized long getModificationCount() {
+		final long count = getStore().getModificationCount();
+		if (count < 0) return -1; // untracked
+		return countBase + count - storeBase;
+	}
+
+	// -- Service methods --
+
+	@Override
+	public void initialize() {
+		super.initialize();
+		initStore();
+	}
+
+	// -- Disposable methods --
+
+	@Override
+	public synchronized void dispose() {
+		if (store != null) close(store);
+	}
+
 	// -- Global preferences --
 
 	@Override
@@ -372,19 +448,24 @@ public class DefaultPrefService extends AbstractPrefService {
 		return c == null ? name : c.getSimpleName() + "." + name;
 	}
 
+	/**
+	 * Gets the node of the given class's package, as
+	 * {@link java.util.prefs.Preferences#userNodeForPackage} would.
+	 */
 	private SmartPrefs prefs(final Class<?> c) {
-		return new SmartPrefs(java.util.prefs.Preferences.userNodeForPackage(
-			c == null ? PrefService.class : c), log);
+		final Package pkg = (c == null ? PrefService.class : c).getPackage();
+		final String path = pkg == null ? "/<unnamed>" : //
+			"/" + pkg.getName().replace('.', '/');
+		return prefs(path);
 	}
 
 	private SmartPrefs prefs(final String absolutePath) {
-		return new SmartPrefs(java.util.prefs.Preferences.userRoot().node(
-			absolutePath), log);
+		return new SmartPrefs(getStore().root().node(absolutePath), log);
 	}
 
 	private String[] allPrefs() {
 		try {
-			return java.util.prefs.Preferences.userRoot().childrenNames();
+			return getStore().root().childrenNames();
 		}
 		catch (java.util.prefs.BackingStoreException exc) {
 			if (log != null) log.error(exc);
@@ -392,6 +473,38 @@ public class DefaultPrefService extends AbstractPrefService {
 		}
 	}
 
+	/** Closes the given store, logging rather than propagating failures. */
+	private void close(final PrefStore s) {
+		try {
+			s.close();
+		}
+		catch (final RuntimeException exc) {
+			if (log != null) log.error("Cannot write preferences", exc);
+		}
+	}
+
+	private synchronized void initStore() {
+		if (store != null) return;
+		final String type = System.getProperty(STORE_PROPERTY, "java");
+		if ("memory".equals(type)) store = new MemoryPrefStore();
+		else if ("file".equals(type)) {
+			final String path = System.getProperty(FILE_PROPERTY);
+			final File file = path != null ? new File(path) : //
+				new File(System.getProperty("user.home"), ".scijava/prefs.log");
+			try {
+				store = FilePrefStore.open(file);
+			}
+			catch (final IOException exc) {
+				if (log != null) log.error("Cannot read preferences: " + file, exc);
+			}
+		}
+		else if (!"java".equals(type) && log != null) {
+			log.warn("Unknown preference store: " + type);
+		}
+		if (store == null) store = new JavaPrefStore();
+		storeBase = Math.max(0, store.getModificationCount());
+	}
+
 	// -- Helper classes --
 
 	/**
@@ -441,15 +554,17 @@ public class DefaultPrefService extends AbstractPrefService {
 		}
 
 		public void putList(final List<String> list) {
-			for (int index = 0; list != null && index < list.size(); index++) {
+			int index = 0;
+			for (; list != null && index < list.size(); index++) {
 				final Object value = list.get(index);
 				put("" + index, value);
 			}
+			truncate(index);
 		}
 
 		public List<String> getList() {
 			final List<String> list = new ArrayList<>();
-			for (int index = 0; index < 1000; index++) {
+			for (int index = 0;; index++) {
 				final String value = get("" + index);
 				if (value == null) {
 					break;
@@ -464,6 +579,14 @@ public class DefaultPrefService extends AbstractPrefService {
 			for (final String value : iterable) {
 				put("" + index++, value);
 			}
+			truncate(index);
+		}
+
+		/** Removes the elements of a previously stored, longer list. */
+		private void truncate(final int size) {
+			for (int index = size; get("" + index) != null; index++) {
+				p.remove("" + index);
+			}
 		}
 
 		public Iterable<String> getIterable() {
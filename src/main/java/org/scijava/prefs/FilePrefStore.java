@@ -0,0 +1,395 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.prefs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.prefs.AbstractPreferences;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+/**
+ * {@link PrefStore} which keeps preferences in memory and persists them to a
+ * single append-only log file.
+ * <p>
+ * Reads never touch the disk. Changes are recorded in memory and appended to
+ * the file in batches, at most once per {@link #FLUSH_INTERVAL}, as well as
+ * upon {@link #flush()}, {@link #close()} and JVM shutdown. When the store is
+ * opened, the log is replayed; if it has grown much larger than the
+ * preferences it describes (or ends in a partially written record), it is
+ * rewritten as a compact snapshot.
+ * </p>
+ * <p>
+ * Within one JVM, a file is served by a single shared store: {@link #open}
+ * hands out the same instance to every caller until all of them have closed
+ * it. The file must not be shared between concurrently running processes.
+ * </p>
+ *
+ * @author agent
+ */
+public class FilePrefStore implements PrefStore {
+
+	/** Delay in milliseconds between a change and its batch being written. */
+	public static final long FLUSH_INTERVAL = 1000;
+
+	/** Number of superfluous log records tolerated before compacting. */
+	private static final int COMPACT_SLACK = 1024;
+
+	// log record types
+	private static final int PUT = 1;
+	private static final int REMOVE = 2;
+	private static final int REMOVE_NODE = 3;
+
+	/** Stores currently open, keyed on canonical file. */
+	private static final Map<File, FilePrefStore> OPEN = new HashMap<>();
+
+	private final File file;
+	private final Node root = new Node(null, "");
+
+	/** Number of callers which have opened this store and not yet closed it. */
+	private int users;
+
+	/** Records not yet written to the file. */
+	private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+	private final DataOutputStream batchOut = new DataOutputStream(batch);
+
+	/** Serializes writes to the file, so that batches stay in order. */
+	private final Object writeLock = new Object();
+
+	private final ScheduledExecutorService writer;
+	private final Thread shutdownHook;
+
+	private boolean loading;
+	private boolean flushScheduled;
+
+	private FilePrefStore(final File file) throws IOException {
+		this.file = file;
+		load();
+
+		writer = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread t = new Thread(r, "SciJava-Prefs-Writer");
+			t.setDaemon(true);
+			return t;
+		});
+
+		// NB: Write any pending changes before the JVM exits.
+		shutdownHook = new Thread(this::flush, "SciJava-Prefs-Flusher");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	// -- FilePrefStore methods --
+
+	/**
+	 * Opens the store of the given file, reading any preferences already in it.
+	 * If the file's store is already open, it is shared rather than opened
+	 * again; it is released once every caller has {@link #close closed} it.
+	 *
+	 * @throws IOException if the file exists but cannot be read.
+	 */
+	public static FilePrefStore open(final File file) throws IOException {
+		final File canonical = file.getCanonicalFile();
+		synchronized (OPEN) {
+			FilePrefStore store = OPEN.get(canonical);
+			if (store == null) {
+				store = new FilePrefStore(canonical);
+				OPEN.put(canonical, store);
+			}
+			store.users++;
+			return store;
+		}
+	}
+
+	/** Gets the file to which preferences are persisted. */
+	public File getFile() {
+		return file;
+	}
+
+	// -- PrefStore methods --
+
+	@Override
+	public Preferences root() {
+		return root;
+	}
+
+	/**
+	 * Counts every change to the store's preferences. Within the JVM, these are
+	 * all made through this store, since it is shared per file.
+	 */
+	@Override
+	public long getModificationCount() {
+		return root.getModificationCount();
+	}
+
+	@Override
+	public void flush() {
+		synchronized (writeLock) {
+			final byte[] bytes;
+			synchronized (this) {
+				flushScheduled = false;
+				if (batch.size() == 0) return;
+				bytes = batch.toByteArray();
+				batch.reset();
+			}
+			try {
+				append(bytes);
+			}
+			catch (final IOException exc) {
+				// put the records back, to be retried with the next batch
+				synchronized (this) {
+					final byte[] newer = batch.toByteArray();
+					batch.reset();
+					batch.write(bytes, 0, bytes.length);
+					batch.write(newer, 0, newer.length);
+				}
+				throw new UncheckedIOException(exc);
+			}
+		}
+	}
+
+	/**
+	 * Writes any pending changes. Once every caller which {@link #open opened}
+	 * the store has closed it, also releases the store's resources.
+	 */
+	@Override
+	public void close() {
+		synchronized (OPEN) {
+			if (users > 1) {
+				users--;
+				flush();
+				return;
+			}
+			users = 0;
+			OPEN.remove(file, this);
+		}
+		writer.shutdown();
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		}
+		catch (final IllegalStateException exc) {
+			// NB: The JVM is already shutting down.
+		}
+		flush();
+	}
+
+	// -- Helper methods --
+
+	/** Queues a log record, scheduling the next batch as needed. */
+	private synchronized void record(final int type, final String path,
+		final String key, final String value)
+	{
+		if (loading) return;
+		try {
+			writeRecord(batchOut, type, path, key, value);
+		}
+		catch (final IOException exc) {
+			// NB: Writing to a byte array never fails.
+			throw new IllegalStateException(exc);
+		}
+		if (!flushScheduled && !writer.isShutdown()) {
+			flushScheduled = true;
+			writer.schedule(this::flush, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void writeRecord(final DataOutputStream out, final int type,
+		final String path, final String key, final String value) throws IOException
+	{
+		out.writeByte(type);
+		out.writeUTF(path);
+		if (type == REMOVE_NODE) return;
+		out.writeUTF(key);
+		if (type == PUT) out.writeUTF(value);
+	}
+
+	private void append(final byte[] bytes) throws IOException {
+		final File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null && !dir.exists()) dir.mkdirs();
+		try (final FileOutputStream out = new FileOutputStream(file, true)) {
+			out.write(bytes);
+		}
+	}
+
+	/** Replays the log file into memory, compacting it if worthwhile. */
+	private void load() throws IOException {
+		if (!file.exists()) return;
+		loading = true;
+		long records = 0;
+		boolean torn = false;
+		try (final DataInputStream in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(file))))
+		{
+			while (true) {
+				final int type = in.read();
+				if (type < 0) break; // end of log
+				if (!replay(type, in)) {
+					torn = true;
+					break;
+				}
+				records++;
+			}
+		}
+		catch (final BackingStoreException exc) {
+			throw new IOException(exc);
+		}
+		finally {
+			loading = false;
+		}
+		if (torn || records > 2 * count(root) + COMPACT_SLACK) compact();
+	}
+
+	/**
+	 * Applies one log record to the in-memory tree.
+	 *
+	 * @return false if the record is incomplete or unintelligible.
+	 */
+	private boolean replay(final int type, final DataInputStream in)
+		throws IOException, BackingStoreException
+	{
+		try {
+			final String path = in.readUTF();
+			switch (type) {
+				case PUT:
+					final String key = in.readUTF();
+					root.node(path).put(key, in.readUTF());
+					return true;
+				case REMOVE:
+					root.node(path).remove(in.readUTF());
+					return true;
+				case REMOVE_NODE:
+					if (!"/".equals(path) && root.nodeExists(path)) {
+						root.node(path).removeNode();
+					}
+					return true;
+				default:
+					return false;
+			}
+		}
+		catch (final EOFException exc) {
+			return false;
+		}
+	}
+
+	/** Rewrites the log file as a snapshot of the in-memory tree. */
+	private void compact() throws IOException {
+		final File tmp = new File(file.getPath() + ".tmp");
+		try (final DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			snapshot(root, out);
+		}
+		catch (final BackingStoreException exc) {
+			throw new IOException(exc);
+		}
+		Files.move(tmp.toPath(), file.toPath(),
+			StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void snapshot(final Preferences node, final DataOutputStream out)
+		throws IOException, BackingStoreException
+	{
+		final String path = node.absolutePath();
+		for (final String key : node.keys()) {
+			writeRecord(out, PUT, path, key, node.get(key, null));
+		}
+		for (final String child : node.childrenNames()) {
+			snapshot(node.node(child), out);
+		}
+	}
+
+	/** Counts the values in the given subtree. */
+	private long count(final Preferences node) throws IOException {
+		try {
+			long count = node.keys().length;
+			for (final String child : node.childrenNames()) {
+				count += count(node.node(child));
+			}
+			return count;
+		}
+		catch (final BackingStoreException exc) {
+			throw new IOException(exc);
+		}
+	}
+
+	// -- Helper classes --
+
+	/** An in-memory node whose changes are recorded to the log. */
+	private class Node extends MemoryPreferences {
+
+		private Node(final Node parent, final String name) {
+			super(parent, name);
+		}
+
+		@Override
+		protected void putSpi(final String key, final String value) {
+			// NB: Avoid logging values which did not actually change.
+			if (value.equals(getSpi(key))) return;
+			super.putSpi(key, value);
+			record(PUT, absolutePath(), key, value);
+		}
+
+		@Override
+		protected void removeSpi(final String key) {
+			if (getSpi(key) == null) return;
+			super.removeSpi(key);
+			record(REMOVE, absolutePath(), key, null);
+		}
+
+		@Override
+		protected void removeNodeSpi() {
+			super.removeNodeSpi();
+			record(REMOVE_NODE, absolutePath(), null, null);
+		}
+
+		@Override
+		protected AbstractPreferences childSpi(final String name) {
+			return new Node(this, name);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.prefs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.prefs.AbstractPreferences;
+
+/**
+ * {@link java.util.prefs.Preferences} node which holds its values in memory.
+ * <p>
+ * All children are kept in the node cache of {@link AbstractPreferences}, which
+ * also guards the service provider methods with the node's lock.
+ * </p>
+ *
+ * @author agent
+ */
+class MemoryPreferences extends AbstractPreferences {
+
+	private final Map<String, String> values = new HashMap<>();
+
+	/** Number of changes made to the tree, shared by all of its nodes. */
+	private final AtomicLong modifications;
+
+	/** Creates a root node. */
+	MemoryPreferences() {
+		this(null, "");
+	}
+
+	MemoryPreferences(final MemoryPreferences parent, final String name) {
+		super(parent, name);
+		modifications = parent == null ? new AtomicLong() : parent.modifications;
+	}
+
+	// -- MemoryPreferences methods --
+
+	/** Gets the number of changes made to the tree of this node so far. */
+	long getModificationCount() {
+		return modifications.get();
+	}
+
+	// -- AbstractPreferences methods --
+
+	@Override
+	protected void putSpi(final String key, final String value) {
+		values.put(key, value);
+		modifications.incrementAndGet();
+	}
+
+	@Override
+	protected String getSpi(final String key) {
+		return values.get(key);
+	}
+
+	@Override
+	protected void removeSpi(final String key) {
+		values.remove(key);
+		modifications.incrementAndGet();
+	}
+
+	@Override
+	protected void removeNodeSpi() {
+		values.clear();
+		modifications.incrementAndGet();
+	}
+
+	@Override
+	protected String[] keysSpi() {
+		return values.keySet().toArray(new String[values.size()]);
+	}
+
+	@Override
+	protected String[] childrenNamesSpi() {
+		// NB: Every child is already in the node cache.
+		return new String[0];
+	}
+
+	@Override
+	protected AbstractPreferences childSpi(final String name) {
+		return new MemoryPreferences(this, name);
+	}
+
+	@Override
+	protected void syncSpi() {
+		// NB: Nothing to synchronize.
+	}
+
+	@Override
+	protected void flushSpi() {
+		// NB: Nothing to flush.
+	}
+
+}
@@ -215,4 +215,17 @@ public interface PrefService extends SciJavaService {
 	 * Gets an iterable from the preferences.
 	 */
 	Iterable<String> getIterable(Class<?> prefClass, String key);
+
+	/**
+	 * Gets the number of modifications made to the preferences so far.
+	 * <p>
+	 * Callers may cache preference values for as long as this number stays the
+	 * same. It must therefore account for every modification, not only those
+	 * made through this service. A negative number means modifications are not
+	 * tracked, in which case nothing should be cached.
+	 * </p>
+	 */
+	default long getModificationCount() {
+		return -1;
+	}
 }
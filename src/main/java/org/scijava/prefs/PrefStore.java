@@ -0,0 +1,76 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.prefs;
+
+import java.io.Closeable;
+import java.util.prefs.Preferences;
+
+/**
+ * Storage backend of a {@link DefaultPrefService}.
+ * <p>
+ * A store exposes its preferences as a tree of {@link Preferences} nodes;
+ * whether and when changes reach persistent storage is up to the store.
+ * </p>
+ *
+ * @see JavaPrefStore
+ * @see MemoryPrefStore
+ * @see FilePrefStore
+ * @author agent
+ */
+public interface PrefStore extends Closeable {
+
+	/** Gets the root node of the store's preference tree. */
+	Preferences root();
+
+	/**
+	 * Gets the number of changes made to the store's preferences so far, by
+	 * anyone. A negative number means the store cannot observe every change
+	 * (e.g., because its preferences are shared with other processes), in which
+	 * case nothing read from it should be cached.
+	 */
+	default long getModificationCount() {
+		return -1;
+	}
+
+	/** Writes any pending changes to persistent storage. */
+	default void flush() {
+		// NB: No action needed by default.
+	}
+
+	/** Writes any pending changes, then releases the store's resources. */
+	@Override
+	default void close() {
+		flush();
+	}
+
+}
@@ -32,7 +32,9 @@
 
 package org.scijava.script;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -42,6 +44,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
 import javax.script.ScriptException;
@@ -111,11 +114,21 @@ public class DefaultScriptService extends
 	private HashMap<File, MenuPath> menuPrefixes;
 
 	/** Index of available scripts, by script path. */
-	private HashMap<String, ScriptInfo> scripts;
+	private volatile HashMap<String, ScriptInfo> scripts;
 
 	/** Table of short type names to associated {@link Class}. */
 	private HashMap<String, Class<?>> aliasMap;
 
+	/** Finder which discovered {@link #scripts}. */
+	private ScriptFinder scriptFinder;
+
+	/** Handle for watching the script directories, or null if not watching. */
+	private Closeable scriptWatcher;
+
+	/** Engine pools of languages for which pooling is enabled. */
+	private final Map<ScriptLanguage, ScriptEnginePool> enginePools =
+		new ConcurrentHashMap<>();
+
 	// -- ScriptService methods - scripting languages --
 
 	@Override
@@ -123,6 +136,22 @@ public class DefaultScriptService extends
 		return scriptLanguageIndex();
 	}
 
+	@Override
+	public ScriptEnginePool getEnginePool(final ScriptLanguage language) {
+		return enginePools.get(language);
+	}
+
+	@Override
+	public void setEnginePooled(final ScriptLanguage language,
+		final boolean pooled)
+	{
+		if (pooled) enginePools.computeIfAbsent(language, ScriptEnginePool::new);
+		else {
+			final ScriptEnginePool pool = enginePools.remove(language);
+			if (pool != null) pool.clear();
+		}
+	}
+
 	// -- ScriptService methods - scripts --
 
 	@Override
@@ -158,6 +187,30 @@ public class DefaultScriptService extends
 		return Collections.unmodifiableCollection(scripts().values());
 	}
 
+	@Override
+	public synchronized void setScriptsWatched(final boolean watched) {
+		if (watched == (scriptWatcher != null)) return;
+		if (watched) {
+			// NB: Discover the scripts first, then report changes relative to them.
+			final List<ScriptInfo> baseline = new ArrayList<>(scripts().values());
+			try {
+				scriptWatcher = scriptFinder.watch(baseline, this::scriptsChanged);
+			}
+			catch (final IOException exc) {
+				log.error("Cannot watch script directories", exc);
+			}
+		}
+		else {
+			try {
+				scriptWatcher.close();
+			}
+			catch (final IOException exc) {
+				log.error(exc);
+			}
+			scriptWatcher = null;
+		}
+	}
+
 	@Override
 	public ScriptInfo getScript(final File scriptFile) {
 		return getOrCreate(scriptFile);
@@ -236,6 +289,13 @@ public class DefaultScriptService extends
 		});
 	}
 
+	// -- Disposable methods --
+
+	@Override
+	public void dispose() {
+		setScriptsWatched(false);
+	}
+
 	// -- Helper methods - lazy initialization --
 
 	/** Gets {@link #scriptLanguageIndex}, initializing if needed. */
@@ -316,7 +376,8 @@ public class DefaultScriptService extends
 		final HashMap<String, ScriptInfo> map = new HashMap<>();
 
 		final ArrayList<ScriptInfo> scriptList = new ArrayList<>();
-		new ScriptFinder(context()).findScripts(scriptList);
+		scriptFinder = new ScriptFinder(context());
+		scriptFinder.findScripts(scriptList);
 
 		for (final ScriptInfo info : scriptList) {
 			map.put(info.getPath(), info);
@@ -352,6 +413,27 @@ public class DefaultScriptService extends
 		aliasMap = map;
 	}
 
+	// -- Helper methods - script changes --
+
+	/** Updates the scripts and module index to reflect changed scripts. */
+	private synchronized void scriptsChanged(final List<ScriptInfo> added,
+		final List<ScriptInfo> removed)
+	{
+		// NB: Replace the map rather than mutating it, since callers of
+		// getScripts() may be iterating over it.
+		final HashMap<String, ScriptInfo> map = new HashMap<>(scripts);
+		for (final ScriptInfo info : removed) {
+			map.remove(info.getPath(), info);
+		}
+		for (final ScriptInfo info : added) {
+			map.put(info.getPath(), info);
+		}
+		scripts = map;
+
+		if (!removed.isEmpty()) moduleService.removeModules(removed);
+		if (!added.isEmpty()) moduleService.addModules(added);
+	}
+
 	// -- Helper methods - run --
 
 	/**
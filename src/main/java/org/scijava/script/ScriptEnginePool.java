@@ -0,0 +1,198 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.script;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+/**
+ * A pool of reusable {@link ScriptEngine}s for a particular
+ * {@link ScriptLanguage}, together with the scripts they have compiled.
+ * <p>
+ * Creating a script engine, and parsing a script, can each be much more
+ * expensive than actually running a short script. When a script is run many
+ * times, reusing engines from the pool avoids the former, and reusing the
+ * {@link CompiledScript} forms of {@link Compilable} engines avoids the latter.
+ * </p>
+ * <p>
+ * An engine is only returned to the pool if its engine-scope bindings can be
+ * reset, so that no variables leak from one execution to the next. Other
+ * engine state (e.g., classes or functions defined globally by a script
+ * outside the bindings) may still persist, which is why pooling must be
+ * enabled explicitly, per language, via
+ * {@link ScriptService#setEnginePooled(ScriptLanguage, boolean)}.
+ * </p>
+ *
+ * @author agent
+ */
+public class ScriptEnginePool {
+
+	/** Maximum number of compiled scripts retained per engine. */
+	private static final int MAX_COMPILED = 64;
+
+	private final ScriptLanguage language;
+	private final int maxIdle;
+
+	/** Engines which are ready for reuse. */
+	private final Deque<ScriptEngine> idle = new ArrayDeque<>();
+
+	/** Compiled scripts of each engine created by this pool. */
+	private final Map<ScriptEngine, CompiledScripts> compiled =
+		new IdentityHashMap<>();
+
+	public ScriptEnginePool(final ScriptLanguage language) {
+		this(language, Runtime.getRuntime().availableProcessors());
+	}
+
+	public ScriptEnginePool(final ScriptLanguage language, final int maxIdle) {
+		this.language = language;
+		this.maxIdle = maxIdle;
+	}
+
+	// -- ScriptEnginePool methods --
+
+	/** Gets the language whose engines are pooled. */
+	public ScriptLanguage getLanguage() {
+		return language;
+	}
+
+	/**
+	 * Obtains an engine for exclusive use, reusing an idle one if available.
+	 * The engine should be given back via {@link #release} when done.
+	 */
+	public ScriptEngine acquire() {
+		synchronized (this) {
+			final ScriptEngine engine = idle.pollFirst();
+			if (engine != null) return engine;
+		}
+		final ScriptEngine engine = language.getScriptEngine();
+		synchronized (this) {
+			compiled.put(engine, new CompiledScripts());
+		}
+		return engine;
+	}
+
+	/**
+	 * Returns an engine obtained from {@link #acquire()} to the pool. Its
+	 * engine-scope bindings are reset; if that is not possible, or the pool
+	 * is full, the engine is discarded.
+	 */
+	public void release(final ScriptEngine engine) {
+		boolean reusable;
+		try {
+			final Bindings bindings = engine.createBindings();
+			engine.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+			reusable = true;
+		}
+		catch (final UnsupportedOperationException exc) {
+			reusable = false;
+		}
+		synchronized (this) {
+			if (!compiled.containsKey(engine)) return; // not one of ours
+			if (reusable && idle.size() < maxIdle) idle.offerFirst(engine);
+			else compiled.remove(engine);
+		}
+	}
+
+	/**
+	 * Gets the compiled form of the given script's processed source, compiling
+	 * it with the given engine if it has not been compiled by that engine yet.
+	 * Compiled forms are shared by all scripts with identical processed source.
+	 * 
+	 * @param engine An engine obtained from {@link #acquire()}.
+	 * @return The compiled script, or null if the engine is not
+	 *         {@link Compilable}.
+	 * @throws ScriptException if compilation fails.
+	 */
+	public CompiledScript compile(final ScriptEngine engine,
+		final ScriptInfo info) throws ScriptException
+	{
+		if (!(engine instanceof Compilable)) return null;
+		final String key = info.getProcessedScriptDigest();
+		final CompiledScripts scripts;
+		synchronized (this) {
+			scripts = compiled.get(engine);
+			if (scripts == null) return null; // not one of ours
+			final CompiledScript script = scripts.get(key);
+			if (script != null) return script;
+		}
+		// NB: The engine is in exclusive use by the caller, so no other thread
+		// can be compiling the same script with it right now.
+		final CompiledScript script = //
+			((Compilable) engine).compile(info.getProcessedScript());
+		synchronized (this) {
+			scripts.put(key, script);
+		}
+		return script;
+	}
+
+	/** Discards all idle engines and their compiled scripts. */
+	public synchronized void clear() {
+		for (final ScriptEngine engine : idle) {
+			compiled.remove(engine);
+		}
+		idle.clear();
+	}
+
+	// -- Helper classes --
+
+	/** Compiled scripts of one engine, least recently used first. */
+	private static class CompiledScripts extends
+		LinkedHashMap<String, CompiledScript>
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private CompiledScripts() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(
+			final Map.Entry<String, CompiledScript> eldest)
+		{
+			return size() > MAX_COMPILED;
+		}
+	}
+
+}
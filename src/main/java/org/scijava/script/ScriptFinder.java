@@ -32,21 +32,51 @@
 
 package org.scijava.script;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Context;
 import org.scijava.MenuPath;
 import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
+import org.scijava.thread.ThreadService;
 import org.scijava.util.FileUtils;
 
 /**
@@ -57,6 +87,24 @@ import org.scijava.util.FileUtils;
  * include the {@code scripts} and {@code plugins/Scripts} folders off the
  * SciJava application's base directory.
  * </p>
+ * <p>
+ * The script directories are crawled, and the scripts read, in parallel;
+ * set the {@code scijava.scripts.parallel} system property to {@code false}
+ * to do so sequentially instead. Discovery is incremental: the finder
+ * remembers the scripts it has found, and subsequent calls to
+ * {@link #findScripts} reuse the same {@link ScriptInfo} for each script file
+ * whose modification time and size are unchanged. The script directories can
+ * also be {@link #watch watched}, rediscovering the scripts whenever they
+ * change.
+ * </p>
+ * <p>
+ * The listing of each script directory can also be kept in an
+ * {@link #setIndexFile index file}, so that it survives from one session to
+ * the next. A listing is reused as long as none of the directories beneath it
+ * has been modified since, which takes one file system query per directory
+ * rather than per script. To enable the index by default, set the
+ * {@code scijava.scripts.index} system property to the path of the file.
+ * </p>
  * 
  * @author Johannes Schindelin
  * @author Curtis Rueden
@@ -65,14 +113,38 @@ public class ScriptFinder extends AbstractContextual {
 
 	private static final String SCRIPT_ICON = "/icons/script_code.png";
 
+	/** Time to wait for further changes before rediscovering scripts. */
+	private static final long WATCH_SETTLE_MILLIS = 200;
+
+	/** System property giving the default {@link #setIndexFile index file}. */
+	public static final String INDEX_PROPERTY = "scijava.scripts.index";
+
+	/** Version of the index file format. */
+	private static final int INDEX_VERSION = 1;
+
 	@Parameter
 	private ScriptService scriptService;
 
 	@Parameter
 	private LogService log;
 
+	@Parameter(required = false)
+	private ThreadService threadService;
+
 	private final String pathPrefix;
 
+	/** Scripts discovered previously, keyed on URL. */
+	private final Map<URL, CachedScript> cache = new ConcurrentHashMap<>();
+
+	/** File in which directory listings persist, or null for none. */
+	private File indexFile;
+
+	/** Directory listings, keyed on directory; null until the index is read. */
+	private Map<File, Listing> listings;
+
+	/** Whether {@link #listings} has changed since the index was written. */
+	private volatile boolean listingsChanged;
+
 	/**
 	 * Creates a new script finder.
 	 * 
@@ -92,76 +164,296 @@ public class ScriptFinder extends AbstractContextual {
 	public ScriptFinder(final Context context, final String pathPrefix) {
 		setContext(context);
 		this.pathPrefix = pathPrefix;
+		final String index = System.getProperty(INDEX_PROPERTY);
+		if (index != null && !index.isEmpty()) indexFile = new File(index);
 	}
 
 	// -- ScriptFinder methods --
 
+	/** Gets the file in which directory listings persist, or null if none. */
+	public synchronized File getIndexFile() {
+		return indexFile;
+	}
+
+	/**
+	 * Sets the file in which the listings of the script directories persist
+	 * between sessions, or null to list the directories anew each time.
+	 */
+	public synchronized void setIndexFile(final File indexFile) {
+		this.indexFile = indexFile;
+		listings = null;
+	}
+
 	/**
 	 * Discovers the scripts.
 	 * 
 	 * @param scripts The collection to which the discovered scripts are added.
 	 */
-	public void findScripts(final List<ScriptInfo> scripts) {
+	public synchronized void findScripts(final List<ScriptInfo> scripts) {
+		if (indexFile != null && listings == null) readIndex();
+
 		final List<File> directories = scriptService.getScriptDirectories();
 
+		// NB: We use a separate call to findResources for each directory so that
+		// we can distinguish which URLs came from each directory, because each
+		// directory may have a different menu prefix. The classpath resources
+		// come first, and the earlier sources take precedence.
+		final List<Source> sources = new ArrayList<>();
+		sources.add(null); // classpath resources
+		sources.addAll(directories.stream().map(Source::new).collect(Collectors
+			.toList()));
+		final List<Map<String, URL>> scriptMaps = //
+			stream(sources).map(this::scan).collect(Collectors.toList());
+
+		// determine the scripts to create, skipping duplicates
 		final Set<URL> urls = new HashSet<>();
+		final List<Candidate> candidates = new ArrayList<>();
+		for (int i = 0; i < sources.size(); i++) {
+			final Source source = sources.get(i);
+			final MenuPath menuPrefix = source == null ? null : source.menuPrefix;
+			addCandidates(candidates, urls, scriptMaps.get(i), menuPrefix);
+		}
+
+		// create the script metadata, reading the scripts as needed
+		final List<ScriptInfo> infos = //
+			stream(candidates).map(this::createInfo).collect(Collectors.toList());
 		int scriptCount = 0;
+		for (final ScriptInfo info : infos) {
+			if (info == null) continue;
+			scripts.add(info);
+			scriptCount++;
+		}
 
-		scriptCount += scanResources(scripts, urls);
+		// forget scripts which have disappeared
+		cache.keySet().retainAll(urls);
 
-		// NB: We use a separate call to findResources for each directory so that
-		// we can distinguish which URLs came from each directory, because each
-		// directory may have a different menu prefix.
-		for (final File dir : directories) {
-			scriptCount += scanDirectory(scripts, urls, dir);
-		}
+		if (listingsChanged) writeIndex();
 
 		log.debug("Found " + scriptCount + " scripts");
 	}
 
+	/**
+	 * Watches the script directories for changes, rediscovering the scripts
+	 * whenever something changes. Rediscovery is incremental, rereading only
+	 * those scripts which are new or modified.
+	 * 
+	 * @param listener Callback to notify of added and removed scripts. A
+	 *          modified script is reported as the removal of its old
+	 *          {@link ScriptInfo} plus the addition of a new one.
+	 * @return A handle which stops watching when closed.
+	 * @throws IOException if the directories cannot be watched.
+	 */
+	public Closeable watch(final Listener listener) throws IOException {
+		final List<ScriptInfo> baseline = new ArrayList<>();
+		findScripts(baseline);
+		return watch(baseline, listener);
+	}
+
+	/**
+	 * Watches the script directories for changes, as {@link #watch(Listener)}
+	 * does, reporting changes relative to the given scripts. Any difference
+	 * between those scripts and the ones present once watching has begun is
+	 * reported first, so that no change is missed in between.
+	 * 
+	 * @param baseline The scripts known to the listener so far.
+	 * @param listener Callback to notify of added and removed scripts.
+	 * @return A handle which stops watching when closed.
+	 * @throws IOException if the directories cannot be watched.
+	 */
+	public Closeable watch(final Collection<ScriptInfo> baseline,
+		final Listener listener) throws IOException
+	{
+		final WatchService watchService = //
+			FileSystems.getDefault().newWatchService();
+		for (final File dir : scriptService.getScriptDirectories()) {
+			if (dir.isDirectory()) register(watchService, dir.toPath());
+		}
+		final List<ScriptInfo> known = new ArrayList<>(baseline);
+
+		final Runnable watcher = () -> {
+			List<ScriptInfo> previous = known;
+			try {
+				// NB: Catch up with changes made before the watch was registered.
+				final List<ScriptInfo> initial = new ArrayList<>();
+				findScripts(initial);
+				notify(listener, previous, initial);
+				previous = initial;
+				while (true) {
+					// wait for a change, then for things to settle down
+					WatchKey key = watchService.take();
+					while (key != null) {
+						handleEvents(watchService, key);
+						key = watchService.poll(WATCH_SETTLE_MILLIS,
+							TimeUnit.MILLISECONDS);
+					}
+					final List<ScriptInfo> current = new ArrayList<>();
+					findScripts(current);
+					notify(listener, previous, current);
+					previous = current;
+				}
+			}
+			catch (final ClosedWatchServiceException | InterruptedException exc) {
+				// NB: Watching was stopped.
+			}
+		};
+		if (threadService == null) {
+			final Thread thread = new Thread(watcher, "SciJava-ScriptFinder");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		else threadService.run(watcher);
+
+		return watchService;
+	}
+
 	// -- Helper methods --
 
+	/** Gets a stream over the given list, parallel if appropriate. */
+	private <T> Stream<T> stream(final List<T> list) {
+		final boolean parallel = list.size() > 1 && //
+			!"false".equals(System.getProperty("scijava.scripts.parallel"));
+		return parallel ? list.parallelStream() : list.stream();
+	}
+
+	/** Scans classpath resources (null source) or a directory for scripts. */
+	private Map<String, URL> scan(final Source source) {
+		return source == null ? scanResources() : scanDirectory(source.dir);
+	}
+
 	/** Scans classpath resources for scripts (e.g., inside JAR files). */
-	private int scanResources(final List<ScriptInfo> scripts, final Set<URL> urls) {
-		if (pathPrefix == null) return 0;
+	private Map<String, URL> scanResources() {
+		if (pathPrefix == null) return Collections.emptyMap();
 
 		// NB: We leave the baseDirectory argument null, because scripts on disk
 		// will be picked up in the subsequent logic, which handles multiple
 		// script directories rather than being limited to a single one.
-		final Map<String, URL> scriptMap = //
-			FileUtils.findResources(null, pathPrefix, null);
-
-		return createInfos(scripts, urls, scriptMap, null);
+		return FileUtils.findResources(null, pathPrefix, null);
 	}
 
-	/** Scans a directory for scripts. */
-	private int scanDirectory(final List<ScriptInfo> scripts, final Set<URL> urls,
-		final File dir)
-	{
+	/**
+	 * Scans a directory for scripts, reusing its indexed listing if no
+	 * directory beneath it has been modified since.
+	 */
+	private Map<String, URL> scanDirectory(final File dir) {
 		if (!dir.exists()) {
 			final String path = dir.getAbsolutePath();
 			log.debug("Ignoring non-existent scripts directory: " + path);
-			return 0;
+			return Collections.emptyMap();
+		}
+
+		final Map<File, Listing> index = listings;
+		if (index != null) {
+			final Listing listing = index.get(dir);
+			if (listing != null && listing.isCurrent()) return listing.scripts;
 		}
-		final MenuPath menuPrefix = scriptService.getMenuPrefix(dir);
 
 		try {
+			// NB: Stamp the directories first, so that any change made while
+			// listing them invalidates the listing.
+			final Map<String, Long> stamps = index == null ? null : stamp(dir);
 			final Set<URL> dirURL = Collections.singleton(dir.toURI().toURL());
-			final Map<String, URL> scriptMap = //
-				FileUtils.findResources(null, dirURL);
-
-			return createInfos(scripts, urls, scriptMap, menuPrefix);
+			final Map<String, URL> scripts = FileUtils.findResources(null, dirURL);
+			if (index != null) {
+				index.put(dir, new Listing(stamps, scripts));
+				listingsChanged = true;
+			}
+			return scripts;
 		}
 		catch (final MalformedURLException exc) {
 			log.error("Invalid script directory: " + dir, exc);
-			return 0;
+			return Collections.emptyMap();
+		}
+	}
+
+	/** Records the modification time of the given directory and all below. */
+	private static Map<String, Long> stamp(final File dir) {
+		final Map<String, Long> stamps = new HashMap<>();
+		final List<File> queue = new ArrayList<>();
+		queue.add(dir);
+		while (!queue.isEmpty()) {
+			final File d = queue.remove(queue.size() - 1);
+			stamps.put(d.getPath(), d.lastModified());
+			final File[] subdirs = d.listFiles(File::isDirectory);
+			if (subdirs != null) queue.addAll(Arrays.asList(subdirs));
+		}
+		return stamps;
+	}
+
+	/** Reads the directory listings from the index file, if it exists. */
+	private void readIndex() {
+		listings = new ConcurrentHashMap<>();
+		listingsChanged = false;
+		if (!indexFile.exists()) return;
+		try (final DataInputStream in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(indexFile))))
+		{
+			if (in.readInt() != INDEX_VERSION) return;
+			final int listingCount = in.readInt();
+			for (int l = 0; l < listingCount; l++) {
+				final File dir = new File(in.readUTF());
+				final Map<String, Long> stamps = new HashMap<>();
+				final int stampCount = in.readInt();
+				for (int i = 0; i < stampCount; i++) {
+					stamps.put(in.readUTF(), in.readLong());
+				}
+				final Map<String, URL> scripts = new HashMap<>();
+				final int scriptCount = in.readInt();
+				for (int i = 0; i < scriptCount; i++) {
+					scripts.put(in.readUTF(), new URL(in.readUTF()));
+				}
+				listings.put(dir, new Listing(stamps, scripts));
+			}
+		}
+		catch (final IOException exc) {
+			log.debug("Ignoring unreadable script index: " + indexFile, exc);
+			listings.clear();
+		}
+	}
+
+	/** Writes the directory listings to the index file. */
+	private void writeIndex() {
+		listingsChanged = false;
+		final File dir = indexFile.getAbsoluteFile().getParentFile();
+		final File temp = new File(dir, indexFile.getName() + ".tmp");
+		try {
+			if (!dir.isDirectory()) Files.createDirectories(dir.toPath());
+			try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(temp))))
+			{
+				out.writeInt(INDEX_VERSION);
+				out.writeInt(listings.size());
+				for (final Map.Entry<File, Listing> entry : listings.entrySet()) {
+					out.writeUTF(entry.getKey().getPath());
+					final Listing listing = entry.getValue();
+					out.writeInt(listing.stamps.size());
+					for (final Map.Entry<String, Long> stamp : listing.stamps
+						.entrySet())
+					{
+						out.writeUTF(stamp.getKey());
+						out.writeLong(stamp.getValue());
+					}
+					out.writeInt(listing.scripts.size());
+					for (final Map.Entry<String, URL> script : listing.scripts
+						.entrySet())
+					{
+						out.writeUTF(script.getKey());
+						out.writeUTF(script.getValue().toString());
+					}
+				}
+			}
+			Files.move(temp.toPath(), indexFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (final IOException exc) {
+			log.warn("Cannot write script index: " + indexFile, exc);
+			temp.delete();
 		}
 	}
 
-	private int createInfos(final List<ScriptInfo> scripts, final Set<URL> urls,
-		final Map<String, URL> scriptMap, final MenuPath menuPrefix)
+	private void addCandidates(final List<Candidate> candidates,
+		final Set<URL> urls, final Map<String, URL> scriptMap,
+		final MenuPath menuPrefix)
 	{
-		int scriptCount = 0;
 		for (final String path : scriptMap.keySet()) {
 			if (!scriptService.canHandleFile(path)) {
 				log.debug("Ignoring unsupported script: " + path);
@@ -190,22 +482,207 @@ public class ScriptFinder extends AbstractContextual {
 			if (urls.contains(url)) continue;
 			urls.add(url);
 
-			try {
-				final ScriptInfo info = new ScriptInfo(getContext(), url, path);
+			candidates.add(new Candidate(path, url, menuPath));
+		}
+	}
 
-				info.setMenuPath(menuPath);
+	/**
+	 * Creates the metadata for a script, reusing the previously created
+	 * {@link ScriptInfo} if the script is unchanged.
+	 */
+	private ScriptInfo createInfo(final Candidate candidate) {
+		final URL url = candidate.url;
+		final File file = file(url);
+		final long modified = file == null ? 0 : file.lastModified();
+		final long size = file == null ? 0 : file.length();
+
+		final CachedScript cached = file == null ? null : cache.get(url);
+		if (cached != null && cached.modified == modified && //
+			cached.size == size && cached.info.getPath().equals(candidate.path) && //
+			candidate.menuString().equals(cached.menuString))
+		{
+			return cached.info;
+		}
+
+		try {
+			final ScriptInfo info = //
+				new ScriptInfo(getContext(), url, candidate.path);
+
+			info.setMenuPath(candidate.menuPath);
 
-				// flag script with special icon
-				menuPath.getLeaf().setIconPath(SCRIPT_ICON);
+			// flag script with special icon
+			candidate.menuPath.getLeaf().setIconPath(SCRIPT_ICON);
 
-				scripts.add(info);
-				scriptCount++;
+			if (file != null) {
+				cache.put(url, new CachedScript(info, candidate.menuString(), modified,
+					size));
+			}
+			return info;
+		}
+		catch (final IOException exc) {
+			log.error("Invalid script URL: " + url, exc);
+			return null;
+		}
+	}
+
+	/** Gets the file referenced by the given URL, or null if not a file. */
+	private File file(final URL url) {
+		if (!"file".equals(url.getProtocol())) return null;
+		try {
+			return new File(url.toURI());
+		}
+		catch (final URISyntaxException | IllegalArgumentException exc) {
+			return null;
+		}
+	}
+
+	/** Registers the given directory, and its subdirectories, for watching. */
+	private void register(final WatchService watchService, final Path dir)
+		throws IOException
+	{
+		Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(final Path d,
+				final BasicFileAttributes attrs) throws IOException
+			{
+				d.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_DELETE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/** Processes a watch key, registering any newly created directories. */
+	private void handleEvents(final WatchService watchService,
+		final WatchKey key)
+	{
+		final Path dir = (Path) key.watchable();
+		for (final WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() != StandardWatchEventKinds.ENTRY_CREATE) continue;
+			final Path child = dir.resolve((Path) event.context());
+			if (!Files.isDirectory(child)) continue;
+			try {
+				register(watchService, child);
 			}
 			catch (final IOException exc) {
-				log.error("Invalid script URL: " + url, exc);
+				log.warn("Cannot watch directory: " + child, exc);
+			}
+		}
+		key.reset();
+	}
+
+	private void notify(final Listener listener,
+		final List<ScriptInfo> previous, final List<ScriptInfo> current)
+	{
+		final Set<ScriptInfo> before = identitySet(previous);
+		final Set<ScriptInfo> after = identitySet(current);
+		final List<ScriptInfo> added = current.stream() //
+			.filter(info -> !before.contains(info)).collect(Collectors.toList());
+		final List<ScriptInfo> removed = previous.stream() //
+			.filter(info -> !after.contains(info)).collect(Collectors.toList());
+		if (added.isEmpty() && removed.isEmpty()) return;
+		try {
+			listener.scriptsChanged(added, removed);
+		}
+		catch (final RuntimeException exc) {
+			log.error("Error handling script changes", exc);
+		}
+	}
+
+	private static Set<ScriptInfo> identitySet(final List<ScriptInfo> infos) {
+		final Set<ScriptInfo> set = //
+			Collections.newSetFromMap(new IdentityHashMap<>());
+		set.addAll(infos);
+		return set;
+	}
+
+	// -- Helper classes --
+
+	/** Callback for changes to the set of available scripts. */
+	public interface Listener {
+
+		/**
+		 * Notifies the listener that scripts have been added and/or removed.
+		 * 
+		 * @see ScriptFinder#watch(Listener)
+		 */
+		void scriptsChanged(List<ScriptInfo> added, List<ScriptInfo> removed);
+	}
+
+	/** A script directory, together with its menu prefix. */
+	private class Source {
+
+		private final File dir;
+		private final MenuPath menuPrefix;
+
+		private Source(final File dir) {
+			this.dir = dir;
+			menuPrefix = scriptService.getMenuPrefix(dir);
+		}
+	}
+
+	/** A script to be described by a {@link ScriptInfo}. */
+	private static class Candidate {
+
+		private final String path;
+		private final URL url;
+		private final MenuPath menuPath;
+
+		private Candidate(final String path, final URL url,
+			final MenuPath menuPath)
+		{
+			this.path = path;
+			this.url = url;
+			this.menuPath = menuPath;
+		}
+
+		private String menuString() {
+			return menuPath.getMenuString();
+		}
+	}
+
+	/** The scripts in a directory, with the directory stamps they had then. */
+	private static class Listing {
+
+		/** Modification time of the directory and each directory beneath it. */
+		private final Map<String, Long> stamps;
+		private final Map<String, URL> scripts;
+
+		private Listing(final Map<String, Long> stamps,
+			final Map<String, URL> scripts)
+		{
+			this.stamps = stamps;
+			this.scripts = scripts;
+		}
+
+		/** Gets whether no directory has been modified since the listing. */
+		private boolean isCurrent() {
+			for (final Map.Entry<String, Long> stamp : stamps.entrySet()) {
+				final long modified = new File(stamp.getKey()).lastModified();
+				if (modified == 0 || modified != stamp.getValue()) return false;
 			}
+			return true;
+		}
+	}
+
+	/** A previously discovered script, with the file stamp it had then. */
+	private static class CachedScript {
+
+		private final ScriptInfo info;
+		private final String menuString;
+		private final long modified;
+		private final long size;
+
+		private CachedScript(final ScriptInfo info, final String menuString,
+			final long modified, final long size)
+		{
+			this.info = info;
+			this.menuString = menuString;
+			this.modified = modified;
+			this.size = size;
 		}
-		return scriptCount;
 	}
 
 	// -- Deprecated methods --
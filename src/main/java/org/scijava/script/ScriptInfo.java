@@ -34,10 +34,14 @@ package org.scijava.script;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.SimpleDateFormat;
@@ -48,12 +52,15 @@ import java.util.List;
 import org.scijava.Context;
 import org.scijava.Contextual;
 import org.scijava.NullContextException;
+import org.scijava.event.EventService;
 import org.scijava.log.LogService;
 import org.scijava.module.AbstractModuleInfo;
 import org.scijava.module.ModuleException;
 import org.scijava.module.ModuleItem;
+import org.scijava.module.event.ModulesUpdatedEvent;
 import org.scijava.plugin.Parameter;
 import org.scijava.script.process.ParameterScriptProcessor;
+import org.scijava.script.process.ProcessedScript;
 import org.scijava.script.process.ScriptCallback;
 import org.scijava.script.process.ScriptProcessorService;
 import org.scijava.util.DigestUtils;
@@ -67,12 +74,13 @@ import org.scijava.util.FileUtils;
  */
 public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 
-	private static final int PARAM_CHAR_MAX = 640 * 1024; // should be enough ;-)
-
 	private final URL url;
 	private final String path;
 	private final String script;
 
+	/** True iff the script's content is read from its URL, as needed. */
+	private final boolean fromURL;
+
 	@Parameter
 	private Context context;
 
@@ -85,8 +93,23 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 	@Parameter
 	private ScriptProcessorService scriptProcessorService;
 
+	@Parameter(required = false)
+	private EventService eventService;
+
 	/** Final version of the script, after script processing. */
-	private String processedScript;
+	private volatile ProcessedScript processedScript;
+
+	/** Stamp of the script file as of the last script processing. */
+	private long processedModified, processedSize;
+
+	/** True iff the source was found to differ from its last processing. */
+	private volatile boolean drifted;
+
+	/** Text of the processed script, kept for as long as memory allows. */
+	private volatile SoftReference<ProcessedText> processedText;
+
+	/** Digest of the script file, as of its last known modification. */
+	private volatile Version version;
 
 	/** True iff the return value should be appended as an output. */
 	private boolean appendReturnValue;
@@ -132,7 +155,7 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 	public ScriptInfo(final Context context, final URL url, final String path)
 		throws IOException
 	{
-		this(context, url, path, new InputStreamReader(url.openStream()));
+		this(context, url, path, null);
 	}
 
 	/**
@@ -158,6 +181,7 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 		setContext(context);
 		this.url = url(url, path);
 		this.path = path(url, path);
+		fromURL = url != null;
 
 		String contents = null;
 		if (reader != null) {
@@ -212,22 +236,76 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 	 * This might be null, in which case the content is stored in a file on disk
 	 * given by {@link #getPath()}.
 	 * </p>
+	 * <p>
+	 * Scripts described by a URL are read from it anew each time, rather than
+	 * being held in memory.
+	 * </p>
 	 */
 	public BufferedReader getReader() {
+		if (fromURL) {
+			try {
+				return new BufferedReader(new InputStreamReader(url.openStream()));
+			}
+			catch (final IOException exc) {
+				log.error("Error reading script: " + path, exc);
+				return null;
+			}
+		}
 		if (script == null) {
 			return null;
 		}
-		return new BufferedReader(new StringReader(script), PARAM_CHAR_MAX);
+		return new BufferedReader(new StringReader(script));
 	}
 
 	/**
 	 * Gets the script contents <em>after</em> script processing.
+	 * <p>
+	 * NB: Script processing keeps only the lines it changed. The processed
+	 * text is reconstituted from the source on first use, and then kept for as
+	 * long as memory allows. The returned text always matches the
+	 * {@link #getProcessedScriptDigest() digest}, and hence the parameters, of
+	 * the last processing: a changed script is only processed again by
+	 * {@link #createModule()} or {@link #reparse()}, never while one of its
+	 * modules might be running.
+	 * </p>
 	 * 
 	 * @return The processed script.
-	 * @see ScriptProcessorService#process
+	 * @throws IllegalStateException if the text had to be reconstituted, but
+	 *           the source has changed since the script was processed.
+	 * @see ScriptProcessorService#parse
 	 */
 	public String getProcessedScript() {
-		return processedScript;
+		final ProcessedScript processed = processedScript;
+		if (processed == null) return null;
+
+		final SoftReference<ProcessedText> ref = processedText;
+		final ProcessedText cached = ref == null ? null : ref.get();
+		if (cached != null && cached.digest.equals(processed.getDigest())) {
+			return cached.text;
+		}
+
+		final String text = reconstitute(processed);
+		if (!DigestUtils.bestHex(text).equals(processed.getDigest())) {
+			// NB: The next module created will process the script anew.
+			drifted = true;
+			throw new IllegalStateException(
+				"Script has changed since it was processed: " + path);
+		}
+		processedText = new SoftReference<>( //
+			new ProcessedText(processed.getDigest(), text));
+		return text;
+	}
+
+	/**
+	 * Gets a digest of the processed script, which identifies its contents
+	 * (e.g., for caching its compiled form).
+	 * 
+	 * @return The digest, or null if the script has not been processed.
+	 * @see #getProcessedScript()
+	 */
+	public String getProcessedScriptDigest() {
+		final ProcessedScript processed = processedScript;
+		return processed == null ? null : processed.getDigest();
 	}
 
 	/** Gets the scripting language of the script. */
@@ -276,6 +354,23 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 		return callbacks;
 	}
 
+	/**
+	 * Processes the script again, e.g. because its source has changed, then
+	 * publishes a {@link ModulesUpdatedEvent} so that cached knowledge of its
+	 * parameters can be refreshed.
+	 * <p>
+	 * Modules of this script which are already running keep the parameters
+	 * they started with; a new module is needed to run the reprocessed script.
+	 * </p>
+	 */
+	public void reparse() {
+		synchronized (this) {
+			if (processedScript == null) inputs(); // NB: Not yet processed.
+			else parseParameters();
+		}
+		if (eventService != null) update(eventService);
+	}
+
 	// -- AbstractModuleInfo methods --
 
 	/**
@@ -286,10 +381,14 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 	 */
 	// NB: Widened visibility from AbstractModuleInfo.
 	@Override
-	public void parseParameters() {
+	public synchronized void parseParameters() {
 		clearParameters();
 		try {
-			processedScript = scriptProcessorService.process(this);
+			final File file = sourceFile();
+			processedModified = file == null ? 0 : file.lastModified();
+			processedSize = file == null ? 0 : file.length();
+			drifted = false;
+			processedScript = scriptProcessorService.parse(this);
 		}
 		catch (final IOException exc) {
 			// TODO: Consider a better error handling approach.
@@ -327,8 +426,16 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 		return ScriptModule.class;
 	}
 
+	/**
+	 * Creates a module for the script, first {@link #reparse() processing it
+	 * again} if its source has changed since it was last processed.
+	 */
 	@Override
 	public ScriptModule createModule() throws ModuleException {
+		if (isProcessedScriptStale()) {
+			log.debug("Script has changed; reprocessing: " + path);
+			reparse();
+		}
 		return new ScriptModule(this);
 	}
 
@@ -370,8 +477,19 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 	public String getVersion() {
 		final File file = new File(path);
 		if (!file.exists()) return null; // no version for non-existent script
-		try {
-			return DigestUtils.bestHex(FileUtils.readFile(file));
+
+		// NB: Digesting the script is expensive, so we reuse the previous result
+		// for as long as the file appears unchanged.
+		final long modified = file.lastModified();
+		final long size = file.length();
+		final Version cached = version;
+		if (cached != null && cached.modified == modified && cached.size == size) {
+			return cached.digest;
+		}
+		try (final InputStream in = new FileInputStream(file)) {
+			final String digest = DigestUtils.bestHex(in);
+			version = new Version(digest, modified, size);
+			return digest;
 		}
 		catch (final IOException exc) {
 			log.error(exc);
@@ -401,6 +519,41 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 		return u == null ? null : u.getPath();
 	}
 
+	/** Gets the file from which the script content is read, if any. */
+	private File sourceFile() {
+		if (fromURL) {
+			return "file".equals(url.getProtocol()) ? FileUtils.urlToFile(url) : null;
+		}
+		if (script != null || path == null) return null;
+		return new File(path);
+	}
+
+	private String reconstitute(final ProcessedScript processed) {
+		try (final BufferedReader in = openReader()) {
+			return processed.apply(in);
+		}
+		catch (final IOException exc) {
+			// TODO: Consider a better error handling approach.
+			throw new RuntimeException(exc);
+		}
+	}
+
+	/** Gets whether the script has changed since it was last processed. */
+	private synchronized boolean isProcessedScriptStale() {
+		if (processedScript == null) return false;
+		if (drifted) return true;
+		final File file = sourceFile();
+		if (file == null) return false;
+		return file.lastModified() != processedModified ||
+			file.length() != processedSize;
+	}
+
+	private BufferedReader openReader() throws IOException {
+		final BufferedReader reader = getReader();
+		if (reader != null) return reader;
+		return new BufferedReader(new FileReader(path));
+	}
+
 	/**
 	 * Read entire contents of a Reader and return as String.
 	 *
@@ -424,6 +577,36 @@ public class ScriptInfo extends AbstractModuleInfo implements Contextual {
 		return builder.toString();
 	}
 
+	// -- Helper classes --
+
+	/** A script file's digest, together with the file stamp it belongs to. */
+	private static class Version {
+
+		private final String digest;
+		private final long modified;
+		private final long size;
+
+		private Version(final String digest, final long modified,
+			final long size)
+		{
+			this.digest = digest;
+			this.modified = modified;
+			this.size = size;
+		}
+	}
+
+	/** The processed script's text, together with its digest. */
+	private static class ProcessedText {
+
+		private final String digest;
+		private final String text;
+
+		private ProcessedText(final String digest, final String text) {
+			this.digest = digest;
+			this.text = text;
+		}
+	}
+
 	// -- Deprecated methods --
 
 	/** @deprecated Use {@link #isReturnValueAppended()} instead. */
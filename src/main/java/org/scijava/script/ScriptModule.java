@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
@@ -102,7 +103,13 @@ public class ScriptModule extends AbstractModule implements Contextual {
 		this.error = error;
 	}
 
-	/** Gets the script engine used to execute the script. */
+	/**
+	 * Gets the script engine used to execute the script. If the script's
+	 * language uses {@link ScriptService#setEnginePooled pooled engines}, then
+	 * while the module is running, this is the pooled engine which runs it;
+	 * otherwise, calling this method gives the module an engine of its own,
+	 * which is then used for all of its runs.
+	 */
 	public ScriptEngine getEngine() {
 		if (scriptEngine == null) {
 			scriptEngine = getInfo().getLanguage().getScriptEngine();
@@ -126,9 +133,55 @@ public class ScriptModule extends AbstractModule implements Contextual {
 
 	@Override
 	public void run() {
-		final ScriptEngine engine = getEngine();
+		// NB: Use a pooled engine, unless this module already has its own.
+		final ScriptEnginePool pool = scriptEngine == null ? //
+			scriptService.getEnginePool(getInfo().getLanguage()) : null;
+		if (pool == null) {
+			run(getEngine(), null);
+			return;
+		}
+		final ScriptEngine engine = pool.acquire();
+		scriptEngine = engine;
+		final ScriptContext scriptContext = engine.getContext();
+		final Writer originalOutput = scriptContext.getWriter();
+		final Writer originalError = scriptContext.getErrorWriter();
+		try {
+			run(engine, pool);
+		}
+		finally {
+			scriptEngine = null;
+			scriptContext.setWriter(originalOutput);
+			scriptContext.setErrorWriter(originalError);
+			pool.release(engine);
+		}
+	}
+
+	// -- Contextual methods --
+
+	@Override
+	public Context context() {
+		if (context == null) throw new NullContextException();
+		return context;
+	}
+
+	@Override
+	public Context getContext() {
+		return context;
+	}
+
+	@Override
+	public void setContext(final Context context) {
+		context.inject(this);
+	}
+
+	// -- Helper methods --
+
+	private void run(final ScriptEngine engine, final ScriptEnginePool pool) {
 		final String path = getInfo().getPath();
 
+		// NB: Keep to the outputs of the parameters this run started with.
+		final Iterable<ModuleItem<?>> outputs = getInfo().outputs();
+
 		// initialize the script engine
 		engine.put(ScriptEngine.FILENAME, path);
 		engine.put(ScriptModule.class.getName(), this);
@@ -157,7 +210,10 @@ public class ScriptModule extends AbstractModule implements Contextual {
 			}
 
 			// execute script!
-			returnValue = engine.eval(getInfo().getProcessedScript());
+			final CompiledScript compiled = //
+				pool == null ? null : pool.compile(engine, getInfo());
+			returnValue = compiled == null ? //
+				engine.eval(getInfo().getProcessedScript()) : compiled.eval();
 		}
 		catch (Throwable e) {
 			while (e instanceof ScriptException && e.getCause() != null) {
@@ -169,7 +225,7 @@ public class ScriptModule extends AbstractModule implements Contextual {
 
 		// populate output values
 		final ScriptLanguage language = getInfo().getLanguage();
-		for (final ModuleItem<?> item : getInfo().outputs()) {
+		for (final ModuleItem<?> item : outputs) {
 			final String name = item.getName();
 			final Object value;
 			if (RETURN_VALUE.equals(name) && getInfo().isReturnValueAppended()) {
@@ -195,24 +251,6 @@ public class ScriptModule extends AbstractModule implements Contextual {
 		if (errorPrinter != null) errorPrinter.flush();
 	}
 
-	// -- Contextual methods --
-
-	@Override
-	public Context context() {
-		if (context == null) throw new NullContextException();
-		return context;
-	}
-
-	@Override
-	public Context getContext() {
-		return context;
-	}
-
-	@Override
-	public void setContext(final Context context) {
-		context.inject(this);
-	}
-
 	// -- Deprecated methods --
 
 	/** @deprecated Use {@link ScriptInfo#getLanguage()} instead. */
@@ -99,6 +99,33 @@ public interface ScriptService extends SingletonService<ScriptLanguage>,
 		return getIndex().getByName(name);
 	}
 
+	/**
+	 * Gets the pool of reusable script engines for the given language.
+	 * 
+	 * @return The pool, or null if engine pooling is disabled for the language
+	 *         (the default).
+	 * @see #setEnginePooled(ScriptLanguage, boolean)
+	 */
+	default ScriptEnginePool getEnginePool(final ScriptLanguage language) {
+		return null;
+	}
+
+	/**
+	 * Sets whether scripts of the given language reuse pooled script engines,
+	 * and compiled forms of their source, across executions.
+	 * <p>
+	 * Pooling is only safe for scripts which leave no state behind in their
+	 * engine, beyond the variables of its engine-scope bindings.
+	 * </p>
+	 * 
+	 * @see ScriptEnginePool
+	 */
+	default void setEnginePooled(final ScriptLanguage language,
+		final boolean pooled)
+	{
+		// NB: No implementation by default.
+	}
+
 	// -- Scripts --
 
 	/** Gets the base directories to scan for scripts. */
@@ -124,6 +151,18 @@ public interface ScriptService extends SingletonService<ScriptLanguage>,
 	/** Gets all available scripts. */
 	Collection<ScriptInfo> getScripts();
 
+	/**
+	 * Sets whether to watch the script directories for changes, keeping the
+	 * available scripts, and the modules registered with the
+	 * {@link org.scijava.module.ModuleService}, up to date as scripts are added,
+	 * modified and removed.
+	 * 
+	 * @see ScriptFinder#watch(ScriptFinder.Listener)
+	 */
+	default void setScriptsWatched(final boolean watched) {
+		// NB: No implementation by default.
+	}
+
 	/**
 	 * Gets the cached {@link ScriptInfo} metadata for the script at the given
 	 * file, creating it if it does not already exist.
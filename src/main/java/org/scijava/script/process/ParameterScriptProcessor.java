@@ -130,21 +130,14 @@ public class ParameterScriptProcessor implements ScriptProcessor {
 	@Override
 	public String process(final String line) {
 		// parse new-style parameters starting with @# anywhere in the script.
-		if (line.matches("^#@.*")) {
-			final int at = line.indexOf('@');
-			return process(line, line.substring(at + 1));
+		if (line.startsWith("#@")) {
+			return process(line, line.substring(2));
 		}
 
 		// parse old-style parameters in the initial script header
 		if (header) {
-			// NB: Check if line contains an '@' with no prior alphameric
-			// characters. This assumes that only non-alphanumeric characters can
-			// be used as comment line markers.
-			if (line.matches("^[^\\w]*@.*")) {
-				final int at = line.indexOf('@');
-				return process(line, line.substring(at + 1));
-			}
-			else if (line.matches(".*\\w.*")) header = false;
+			final int at = headerParamIndex(line);
+			if (at >= 0) return process(line, line.substring(at + 1));
 		}
 
 		return line;
@@ -162,6 +155,35 @@ public class ParameterScriptProcessor implements ScriptProcessor {
 
 	// -- Helper methods --
 
+	/**
+	 * Gets the index of the old-style parameter marker in the given header
+	 * line, or -1 if the line does not declare a parameter. Also detects the
+	 * end of the script header: the first line with any alphanumeric content
+	 * outside of a parameter declaration.
+	 * <p>
+	 * NB: This assumes that only non-alphanumeric characters can be used as
+	 * comment line markers. The line is scanned by hand, rather than matched
+	 * against regular expressions, since this happens for every line.
+	 * </p>
+	 */
+	private int headerParamIndex(final String line) {
+		for (int i = 0; i < line.length(); i++) {
+			final char c = line.charAt(i);
+			if (c == '@') return i;
+			if (isWordChar(c)) {
+				header = false;
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/** Same as the {@code \w} regular expression character class. */
+	private static boolean isWordChar(final char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || //
+			c >= '0' && c <= '9' || c == '_';
+	}
+
 	private String process(final String line, final String param) {
 		if (parseParam(param)) return "";
 		log.warn("Ignoring invalid parameter: " + param);
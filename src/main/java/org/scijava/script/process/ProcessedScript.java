@@ -0,0 +1,161 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.script.process;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.scijava.script.ScriptInfo;
+import org.scijava.util.DigestUtils;
+
+/**
+ * The outcome of running a script's {@link ScriptProcessor}s, recorded
+ * compactly as the handful of lines they changed rather than as the full
+ * processed text.
+ * <p>
+ * The processed script can be reconstituted on demand from the original
+ * source via {@link #apply(BufferedReader)}, so that large scripts need not be
+ * held in memory between being parsed and being executed.
+ * </p>
+ * 
+ * @see ScriptProcessorService#parse(ScriptInfo)
+ * @author agent
+ */
+public class ProcessedScript {
+
+	/** Replacement text for each line changed by processing, by line index. */
+	private final Map<Integer, String> edits;
+
+	private final int lineCount;
+	private final String digest;
+
+	private ProcessedScript(final Map<Integer, String> edits,
+		final int lineCount, final String digest)
+	{
+		this.edits = edits;
+		this.lineCount = lineCount;
+		this.digest = digest;
+	}
+
+	// -- ProcessedScript methods --
+
+	/** Gets the number of lines in the script. */
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/** Gets the number of lines which were changed by processing. */
+	public int getEditCount() {
+		return edits.size();
+	}
+
+	/**
+	 * Gets the best available digest of the processed script. This is the same
+	 * value {@link DigestUtils#bestHex(String)} would produce for the text
+	 * returned by {@link #apply(BufferedReader)}.
+	 */
+	public String getDigest() {
+		return digest;
+	}
+
+	/**
+	 * Reconstitutes the processed script from its original source.
+	 * 
+	 * @param source Reader delivering the same script content from which this
+	 *          object was created.
+	 * @throws IOException if the source cannot be read.
+	 */
+	public String apply(final BufferedReader source) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		int index = 0;
+		while (true) {
+			final String line = source.readLine();
+			if (line == null) break;
+			final String edit = edits.get(index++);
+			sb.append(edit == null ? line : edit);
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	// -- Helper classes --
+
+	/** Accumulates a {@link ProcessedScript}, one line at a time. */
+	static class Builder {
+
+		private final Map<Integer, String> edits = new HashMap<>();
+		private final MessageDigest md = messageDigest();
+		private int hash;
+		private int lineCount;
+
+		/** Records the given line, as it was before and after processing. */
+		void line(final String original, final String processed) {
+			if (!processed.equals(original)) edits.put(lineCount, processed);
+			lineCount++;
+			if (md == null) {
+				// NB: Compute the hash code of the processed text, incrementally.
+				for (int i = 0; i < processed.length(); i++) {
+					hash = 31 * hash + processed.charAt(i);
+				}
+				hash = 31 * hash + '\n';
+			}
+			else {
+				md.update(DigestUtils.bytes(processed));
+				md.update((byte) '\n');
+			}
+		}
+
+		ProcessedScript build() {
+			final byte[] bytes = md == null ? DigestUtils.bytes(hash) : md.digest();
+			return new ProcessedScript(edits, lineCount, DigestUtils.hex(bytes));
+		}
+
+		private static MessageDigest messageDigest() {
+			try {
+				return MessageDigest.getInstance("SHA-1");
+			}
+			catch (final NoSuchAlgorithmException exc) {
+				try {
+					return MessageDigest.getInstance("MD5");
+				}
+				catch (final NoSuchAlgorithmException exc2) {
+					return null;
+				}
+			}
+		}
+	}
+}
@@ -91,6 +91,47 @@ public interface ScriptProcessorService extends
 		return sb.toString();
 	}
 
+	/**
+	 * Invokes all {@link ScriptProcessor} plugins on the given script, line by
+	 * line in sequence, as {@link #process(ScriptInfo)} does, but without
+	 * accumulating the processed script in memory. Only the lines changed by
+	 * processing are retained, from which the processed script can later be
+	 * reconstituted via {@link ProcessedScript#apply(BufferedReader)}.
+	 */
+	default ProcessedScript parse(final ScriptInfo info) throws IOException {
+		final List<ScriptProcessor> processors = getPlugins().stream().map(
+			p -> pluginService().createInstance(p)).collect(Collectors.toList());
+
+		BufferedReader reader = info.getReader();
+		if (reader == null) {
+			reader = new BufferedReader(new FileReader(info.getPath()));
+		}
+
+		for (final ScriptProcessor p : processors) {
+			p.begin(info);
+		}
+
+		final ProcessedScript.Builder builder = new ProcessedScript.Builder();
+
+		try (final BufferedReader in = reader) {
+			while (true) {
+				final String original = in.readLine();
+				if (original == null) break;
+				String line = original;
+				for (final ScriptProcessor p : processors) {
+					line = p.process(line);
+				}
+				builder.line(original, line);
+			}
+		}
+
+		for (final ScriptProcessor p : processors) {
+			p.end();
+		}
+
+		return builder.build();
+	}
+
 	// -- PTService methods --
 
 	@Override
@@ -70,6 +70,9 @@ public class ServiceHelper extends AbstractContextual {
 	/** Classes to scan when searching for dependencies, sorted by priority. */
 	private final List<Class<? extends Service>> classPoolList;
 
+	/** Plugin metadata of the classes to scan, for recording statistics. */
+	private final Map<Class<? extends Service>, PluginInfo<Service>> classPoolInfos;
+
 	/** Classes to instantiate as services. */
 	private final List<Class<? extends Service>> serviceClasses;
 
@@ -118,7 +121,8 @@ public class ServiceHelper extends AbstractContextual {
 		if (log == null) log = new StderrLogService();
 		classPoolMap = new HashMap<>();
 		classPoolList = new ArrayList<>();
-		findServiceClasses(classPoolMap, classPoolList);
+		classPoolInfos = new HashMap<>();
+		findServiceClasses(classPoolMap, classPoolList, classPoolInfos);
 		if (classPoolList.isEmpty()) {
 			log.warn("Class pool is empty: forgot to call Thread#setClassLoader?");
 		}
@@ -300,7 +304,9 @@ public class ServiceHelper extends AbstractContextual {
 	private <S extends Service> S createServiceRecursively(final Class<S> c)
 		throws InstantiationException, IllegalAccessException
 	{
+		long start = System.nanoTime();
 		final S service = c.newInstance();
+		long instantiationTime = System.nanoTime() - start;
 		service.setContext(getContext());
 
 		// propagate priority if known
@@ -351,15 +357,22 @@ public class ServiceHelper extends AbstractContextual {
 			loadService(EventService.class, eventServiceRequired);
 		}
 
+		start = System.nanoTime();
 		service.initialize();
 		service.registerEventHandlers();
+		instantiationTime += System.nanoTime() - start;
+
+		// NB: Time spent creating dependencies is recorded for those services.
+		final PluginInfo<Service> info = classPoolInfos.get(c);
+		if (info != null) info.recordInstantiation(instantiationTime);
 		return service;
 	}
 
 	/** Asks the plugin index for all available service implementations. */
 	private void findServiceClasses(
 		final Map<Class<? extends Service>, Double> serviceMap,
-		final List<Class<? extends Service>> serviceList)
+		final List<Class<? extends Service>> serviceList,
+		final Map<Class<? extends Service>, PluginInfo<Service>> serviceInfos)
 	{
 		// ask the plugin index for the (sorted) list of available services
 		final List<PluginInfo<Service>> services =
@@ -367,10 +380,11 @@ public class ServiceHelper extends AbstractContextual {
 
 		for (final PluginInfo<Service> info : services) {
 			try {
-				final Class<? extends Service> c = info.loadClass();
+				final Class<? extends Service> c = info.loadClassForDiscovery();
 				final double priority = info.getPriority();
 				serviceMap.put(c, priority);
 				serviceList.add(c);
+				serviceInfos.put(c, info);
 			}
 			catch (final Throwable e) {
 				log.error("Invalid service: " + info, e);
@@ -44,5 +44,13 @@ import org.scijava.plugin.AbstractHandlerPlugin;
 public abstract class AbstractTextFormat extends AbstractHandlerPlugin<File>
 	implements TextFormat
 {
-	// NB: No implementation needed.
+
+	// -- Typed methods --
+
+	@Override
+	public boolean supports(final File file) {
+		// NB: AbstractTypedPlugin would otherwise accept every file.
+		return TextFormat.super.supports(file);
+	}
+
 }
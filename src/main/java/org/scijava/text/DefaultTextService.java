@@ -35,10 +35,16 @@ package org.scijava.text;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.util.stream.Stream;
 
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleInputStream;
+import org.scijava.io.location.Location;
 import org.scijava.plugin.AbstractHandlerService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -82,6 +88,20 @@ public final class DefaultTextService extends
 		return "<html><body>" + format.asHTML(open(file)) + "</body></html>";
 	}
 
+	@Override
+	public Stream<String> streamHTML(final DataHandle<Location> handle)
+		throws IOException
+	{
+		final TextFormat format = getHandler(new File(handle.get().getName()));
+		if (format == null) return null;
+		// NB: The handle belongs to the caller; closing this reader is not needed.
+		final Reader text = new InputStreamReader(new DataHandleInputStream<>(
+			handle), Charset.defaultCharset());
+		final Stream<String> body = format.streamHTML(text);
+		return Stream.concat(Stream.concat(Stream.of("<html><body>"), body),
+			Stream.of("</body></html>"));
+	}
+
 	// -- PTService methods --
 
 	@Override
@@ -0,0 +1,139 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Text format for plain text, which is shown as preformatted HTML.
+ * <p>
+ * The text is converted chunk by chunk, so that {@link #streamHTML} never
+ * holds more than one chunk of a large document in memory. The priority is
+ * very low, so that a more specialized plain text format takes precedence.
+ * </p>
+ *
+ * @author agent
+ */
+@Plugin(type = TextFormat.class, priority = Priority.VERY_LOW)
+public class PlainTextFormat extends AbstractTextFormat {
+
+	/** Number of characters converted at a time by {@link #streamHTML}. */
+	private static final int CHUNK_SIZE = 8192;
+
+	// -- TextFormat methods --
+
+	@Override
+	public List<String> getExtensions() {
+		return Arrays.asList("txt");
+	}
+
+	@Override
+	public String asHTML(final String text) {
+		return "<pre>" + escape(text) + "</pre>";
+	}
+
+	@Override
+	public Stream<String> streamHTML(final Reader text) {
+		final Iterator<String> chunks = new Iterator<String>() {
+
+			private final char[] buf = new char[CHUNK_SIZE];
+			private String next;
+			private boolean done;
+
+			@Override
+			public boolean hasNext() {
+				if (next == null && !done) {
+					try {
+						final int r = text.read(buf);
+						if (r < 0) done = true;
+						else next = escape(new String(buf, 0, r));
+					}
+					catch (final IOException exc) {
+						throw new UncheckedIOException(exc);
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				final String chunk = next;
+				next = null;
+				return chunk;
+			}
+		};
+		final Stream<String> body = StreamSupport.stream(Spliterators
+			.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false);
+		return Stream.concat(Stream.concat(Stream.of("<pre>"), body), Stream.of(
+			"</pre>"));
+	}
+
+	// -- Helper methods --
+
+	/** Escapes the HTML special characters in the given text. */
+	private static String escape(final String text) {
+		final StringBuilder sb = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+				case '&':
+					sb.append("&amp;");
+					break;
+				case '<':
+					sb.append("&lt;");
+					break;
+				case '>':
+					sb.append("&gt;");
+					break;
+				default:
+					sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -33,7 +33,10 @@
 package org.scijava.text;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.scijava.plugin.HandlerPlugin;
 import org.scijava.plugin.Plugin;
@@ -62,6 +65,27 @@ public interface TextFormat extends HandlerPlugin<File> {
 	/** Expresses the given text string in HTML format. */
 	String asHTML(String text);
 
+	/**
+	 * Expresses the text read from the given reader in HTML format, as a lazily
+	 * computed stream of fragments whose concatenation is the HTML.
+	 * <p>
+	 * By default, the whole text is read up front and passed to
+	 * {@link #asHTML(String)}. Formats able to convert their markup incrementally
+	 * (e.g., line by line) should override this method, so that large documents
+	 * need not be held in memory all at once, as {@link PlainTextFormat} does.
+	 * </p>
+	 */
+	default Stream<String> streamHTML(final Reader text) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		final char[] buf = new char[8192];
+		while (true) {
+			final int r = text.read(buf);
+			if (r < 0) break;
+			sb.append(buf, 0, r);
+		}
+		return Stream.of(asHTML(sb.toString()));
+	}
+
 	// -- Typed methods --
 
 	@Override
@@ -35,7 +35,10 @@ package org.scijava.text;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.Location;
 import org.scijava.plugin.HandlerService;
 import org.scijava.service.SciJavaService;
 
@@ -54,6 +57,17 @@ public interface TextService extends HandlerService<File, TextFormat>,
 	/** Expresses the given text string as HTML. */
 	String asHTML(File file) throws IOException;
 
+	/**
+	 * Expresses the text of the given handle as an HTML document, as a lazily
+	 * computed stream of fragments; see {@link TextFormat#streamHTML}. The text
+	 * format is chosen by the name of the handle's location. The stream must be
+	 * consumed while the handle remains open.
+	 *
+	 * @return The HTML fragments, or null if no text format supports the
+	 *         handle's location.
+	 */
+	Stream<String> streamHTML(DataHandle<Location> handle) throws IOException;
+
 	// NB: Javadoc overrides.
 
 	// -- HandlerService methods --
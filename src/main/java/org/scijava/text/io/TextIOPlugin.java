@@ -34,16 +34,28 @@ package org.scijava.text.io;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.scijava.Priority;
 import org.scijava.io.AbstractIOPlugin;
 import org.scijava.io.IOPlugin;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleOutputStream;
+import org.scijava.io.location.Location;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.text.TextService;
 
 /**
  * {@link IOPlugin} for text conversion to HTML.
+ * <p>
+ * Text files are opened as HTML, but streams of text are saved as is, encoded
+ * as UTF-8, to files of any format known to the {@link TextService}.
+ * </p>
  * 
  * @author Curtis Rueden
  * @see TextService
@@ -61,6 +73,12 @@ public class TextIOPlugin extends AbstractIOPlugin<String> {
 		return String.class;
 	}
 
+	@Override
+	public boolean isNameBased() {
+		// NB: Text formats are matched by file extension.
+		return true;
+	}
+
 	@Override
 	public boolean supportsOpen(final String source) {
 		if (textService == null) return false; // no service for opening text files
@@ -73,4 +91,38 @@ public class TextIOPlugin extends AbstractIOPlugin<String> {
 		return textService.asHTML(new File(source));
 	}
 
+	@Override
+	public boolean supportsOpenStream(final Location source) {
+		if (textService == null) return false; // no service for opening text files
+		return textService.supports(new File(source.getName()));
+	}
+
+	@Override
+	public Stream<String> openStream(final DataHandle<Location> source)
+		throws IOException
+	{
+		if (textService == null) return null; // no service for opening text files
+		return textService.streamHTML(source);
+	}
+
+	@Override
+	public boolean supportsSaveStream(final Location destination) {
+		if (textService == null) return false; // no service for saving text files
+		return textService.supports(new File(destination.getName()));
+	}
+
+	@Override
+	public void saveStream(final Stream<? extends String> data,
+		final DataHandle<Location> destination) throws IOException
+	{
+		// NB: Do not close the writer, since that would close the handle.
+		final Writer out = new OutputStreamWriter(new DataHandleOutputStream<>(
+			destination), StandardCharsets.UTF_8);
+		final Iterator<? extends String> chunks = data.iterator();
+		while (chunks.hasNext()) {
+			out.write(chunks.next());
+		}
+		out.flush();
+	}
+
 }
@@ -76,6 +76,17 @@ public final class DefaultThreadService extends AbstractService implements
 
 	private boolean disposed;
 
+	/** Cached prefix of the names of threads spawned by this service. */
+	private String contextThreadPrefix;
+
+	/**
+	 * Per-thread cache of the {@link ThreadContext} implied by each thread's own
+	 * name. {@link ThreadContext#NONE} means the name is inconclusive, and the
+	 * thread's parent (which can change between tasks) must be consulted.
+	 */
+	private final ThreadLocal<ThreadContext> namedContexts = ThreadLocal
+		.withInitial(() -> namedContext(Thread.currentThread()));
+
 	// -- ThreadService methods --
 
 	@Override
@@ -141,13 +152,11 @@ public final class DefaultThreadService extends AbstractService implements
 
 	@Override
 	public ThreadContext getThreadContext(final Thread thread) {
-		final String name = thread.getName();
-
-		// check for same context
-		if (name.startsWith(contextThreadPrefix())) return ThreadContext.SAME;
-
-		// check for different context
-		if (name.startsWith(SCIJAVA_THREAD_PREFIX)) return ThreadContext.OTHER;
+		// NB: Console output capture asks this question on every write, so the
+		// answer implied by the current thread's name is computed only once.
+		final ThreadContext named = thread == Thread.currentThread() ? //
+			namedContexts.get() : namedContext(thread);
+		if (named != ThreadContext.NONE) return named;
 
 		// recursively check parent thread
 		final Thread parent = getParent(thread);
@@ -245,8 +254,27 @@ public final class DefaultThreadService extends AbstractService implements
 	}
 
 	private String contextThreadPrefix() {
-		final String contextHash = Integer.toHexString(context().hashCode());
-		return SCIJAVA_THREAD_PREFIX + contextHash + "-Thread-";
+		if (contextThreadPrefix == null) {
+			final String contextHash = Integer.toHexString(context().hashCode());
+			contextThreadPrefix = SCIJAVA_THREAD_PREFIX + contextHash + "-Thread-";
+		}
+		return contextThreadPrefix;
+	}
+
+	/**
+	 * Gets the {@link ThreadContext} implied by the given thread's name, or
+	 * {@link ThreadContext#NONE} if the name alone is inconclusive.
+	 */
+	private ThreadContext namedContext(final Thread thread) {
+		final String name = thread.getName();
+
+		// check for same context
+		if (name.startsWith(contextThreadPrefix())) return ThreadContext.SAME;
+
+		// check for different context
+		if (name.startsWith(SCIJAVA_THREAD_PREFIX)) return ThreadContext.OTHER;
+
+		return ThreadContext.NONE;
 	}
 
 }
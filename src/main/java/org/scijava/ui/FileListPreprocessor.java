@@ -37,12 +37,15 @@ import org.scijava.module.Module;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.process.AbstractPreprocessorPlugin;
 import org.scijava.module.process.PreprocessorPlugin;
+import org.scijava.module.process.ReusableProcessor;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.widget.InputHarvester;
 
 @Plugin(type = PreprocessorPlugin.class, priority = InputHarvester.PRIORITY + 1.0)
-public class FileListPreprocessor extends AbstractPreprocessorPlugin {
+public class FileListPreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private UIService uiService;
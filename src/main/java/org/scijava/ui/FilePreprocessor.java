@@ -38,6 +38,7 @@ import org.scijava.module.Module;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.process.AbstractPreprocessorPlugin;
 import org.scijava.module.process.PreprocessorPlugin;
+import org.scijava.module.process.ReusableProcessor;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.widget.InputHarvester;
@@ -51,7 +52,9 @@ import org.scijava.widget.InputHarvester;
  */
 @Plugin(type = PreprocessorPlugin.class,
 	priority = InputHarvester.PRIORITY + 0.5)
-public class FilePreprocessor extends AbstractPreprocessorPlugin {
+public class FilePreprocessor extends AbstractPreprocessorPlugin implements
+	ReusableProcessor
+{
 
 	@Parameter(required = false)
 	private UIService uiService;
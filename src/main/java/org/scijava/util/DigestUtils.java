@@ -32,7 +32,12 @@
 
 package org.scijava.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -191,6 +196,57 @@ public final class DigestUtils {
 		return best;
 	}
 
+	/**
+	 * Gets the best available hash of the given stream's contents, reading the
+	 * stream to its end but without holding its contents in memory. Tries SHA-1
+	 * first, then MD5, then Java hash code. The result is the same as that of
+	 * {@link #best(byte[])} for the same bytes.
+	 * 
+	 * @throws IOException if the stream cannot be read.
+	 */
+	public static byte[] best(final InputStream in) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		}
+		catch (final NoSuchAlgorithmException exc) {
+			try {
+				digest = MessageDigest.getInstance("MD5");
+			}
+			catch (final NoSuchAlgorithmException exc2) {
+				digest = null;
+			}
+		}
+		if (digest == null) {
+			// NB: Compute the hash code of the decoded string, incrementally.
+			final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+			final char[] buf = new char[8192];
+			int h = 0;
+			int r;
+			while ((r = reader.read(buf)) >= 0) {
+				for (int i = 0; i < r; i++) h = 31 * h + buf[i];
+			}
+			return bytes(h);
+		}
+		final byte[] buf = new byte[8192];
+		int r;
+		while ((r = in.read(buf)) >= 0) {
+			digest.update(buf, 0, r);
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Gets the hex string of the given stream's best available hash.
+	 * 
+	 * @throws IOException if the stream cannot be read.
+	 * @see #best(InputStream)
+	 * @see #hex(byte[])
+	 */
+	public static String bestHex(final InputStream in) throws IOException {
+		return hex(best(in));
+	}
+
 	/**
 	 * Gets the hex string of the given string's best available hash.
 	 * 
@@ -104,6 +104,7 @@ public class ContextCreationTest {
 				org.scijava.main.DefaultMainService.class,
 				org.scijava.menu.DefaultMenuService.class,
 				org.scijava.module.DefaultModuleService.class,
+				org.scijava.module.profile.DefaultModuleProfileService.class,
 				org.scijava.object.DefaultObjectService.class,
 				org.scijava.options.DefaultOptionsService.class,
 				org.scijava.parse.DefaultParseService.class,
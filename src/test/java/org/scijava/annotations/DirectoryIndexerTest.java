@@ -35,6 +35,7 @@ package org.scijava.annotations;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
@@ -126,6 +127,24 @@ public class DirectoryIndexerTest {
 		assertEquals(3, seen.size());
 	}
 
+	@Test
+	public void testAnnotationValuesAreCached() {
+		final Map<String, IndexItem<Complex>> map = readIndex(Complex.class,
+			DirectoryIndexerTest.class.getClassLoader());
+		final IndexItem<Complex> item = map.get(AnnotatedC.class.getName());
+		assertNotNull(item);
+
+		final Complex c = item.annotation();
+		assertSame(c, item.annotation());
+		assertSame(c.clazz(), c.clazz());
+		assertSame(c.simple(), c.simple());
+		assertSame(c.array(), c.array());
+		assertEquals(Complex.class, c.annotationType());
+		assertEquals(c, item.annotation());
+		assertEquals(c.hashCode(), item.annotation().hashCode());
+		assertFalse(c.equals(map.get(AnnotatedA.class.getName()).annotation()));
+	}
+
 	public static void
 		testDefaultAnnotations(Map<String, IndexItem<Complex>> map)
 	{
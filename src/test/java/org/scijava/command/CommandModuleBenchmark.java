@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.command;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.ItemIO;
+import org.scijava.module.ModuleService;
+import org.scijava.plugin.Parameter;
+import org.scijava.test.Benchmark;
+import org.scijava.util.ClassUtils;
+
+/**
+ * Benchmarks the parameter field access of {@link CommandModule}, which uses
+ * compiled method handles, against plain reflection via {@link ClassUtils}.
+ *
+ * @author agent
+ * @see Benchmark
+ */
+public class CommandModuleBenchmark {
+
+	private static final int OPERATIONS = 1000000;
+
+	private Context context;
+	private CommandModule module;
+	private Command command;
+	private Field count, name, result;
+
+	@Before
+	public void setUp() {
+		context = new Context(CommandService.class);
+		final CommandInfo info = new CommandInfo(BenchmarkCommand.class);
+		module = (CommandModule) context.service(ModuleService.class)
+			.createModule(info);
+		command = module.getCommand();
+		count = info.getInput("count").getField();
+		name = info.getInput("name").getField();
+		result = info.getOutput("result").getField();
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void benchmarkFieldAccess() {
+		final Integer seven = 7;
+		Benchmark.time("reflection: 2 inputs, 1 output", OPERATIONS, () -> {
+			ClassUtils.setValue(count, command, seven);
+			ClassUtils.setValue(name, command, "name");
+			return ClassUtils.getValue(result, command);
+		});
+		Benchmark.time("CommandModule: 2 inputs, 1 output", OPERATIONS, () -> {
+			module.setInput("count", seven);
+			module.setInput("name", "name");
+			return module.getOutput("result");
+		});
+		assertEquals(7, module.getInput("count"));
+		assertEquals("name", module.getInput("name"));
+	}
+
+	/** A command with a primitive and an object input, and an output. */
+	public static class BenchmarkCommand implements Command {
+
+		@Parameter
+		private int count;
+
+		@Parameter
+		private String name;
+
+		@Parameter(type = ItemIO.OUTPUT)
+		private String result;
+
+		@Override
+		public void run() {
+			result = name + count;
+		}
+	}
+}
@@ -35,8 +35,10 @@ package org.scijava.command;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.concurrent.ExecutionException;
 
@@ -49,6 +51,7 @@ import org.scijava.Priority;
 import org.scijava.log.LogService;
 import org.scijava.module.Module;
 import org.scijava.module.ModuleItem;
+import org.scijava.module.ModuleService;
 import org.scijava.module.process.AbstractPreprocessorPlugin;
 import org.scijava.module.process.PreprocessorPlugin;
 import org.scijava.plugin.Parameter;
@@ -145,6 +148,41 @@ public class CommandModuleTest {
 		assertEquals(7, plainModule.getOutput("output"));
 	}
 
+	@Test
+	public void testFieldAccess() {
+		final Context context = new Context(CommandService.class);
+		final CommandService commandService = context.service(CommandService.class);
+		final ModuleService moduleService = context.service(ModuleService.class);
+		final CommandInfo info = //
+			commandService.getCommand(CommandWithDefaultValues.class);
+		final Module module = moduleService.createModule(info);
+
+		// primitive field, with and without conversion
+		assertEquals(5, module.getInput("weekdays"));
+		module.setInput("weekdays", 3);
+		assertEquals(3, module.getInput("weekdays"));
+		module.setInput("weekdays", "4");
+		assertEquals(4, module.getInput("weekdays"));
+		try {
+			module.setInput("weekdays", null);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (final IllegalArgumentException exc) {
+			// expected
+		}
+
+		// object fields
+		module.setInput("name", "Jane");
+		assertEquals("Jane", module.getInput("name"));
+		module.setInput("name", null);
+		assertNull(module.getInput("name"));
+		final Object thing = new Object();
+		module.setInput("thing", thing);
+		assertSame(thing, module.getInput("thing"));
+		assertSame(thing, info.getInput("thing").getValue(module
+			.getDelegateObject()));
+	}
+
 	// -- Helper classes --
 
 	/** A command which implements {@link Cancelable}. */
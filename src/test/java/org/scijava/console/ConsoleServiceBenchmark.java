@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.console;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.test.Benchmark;
+
+/**
+ * Benchmarks the throughput of standard output while {@link ConsoleService}
+ * captures it, with and without line buffering.
+ * <p>
+ * The output itself is discarded, rather than written to the real stdout.
+ * </p>
+ *
+ * @author agent
+ * @see Benchmark
+ */
+public class ConsoleServiceBenchmark {
+
+	private static final int OPERATIONS = 10000;
+
+	private PrintStream stdout;
+	private Context context;
+	private ConsoleService consoleService;
+	private final AtomicLong events = new AtomicLong();
+
+	@Before
+	public void setUp() {
+		stdout = System.out;
+		System.setOut(new PrintStream(new OutputStream() {
+
+			@Override
+			public void write(final int b) {
+				// NB: Discard the output.
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+				// NB: Discard the output.
+			}
+		}));
+		context = new Context(ConsoleService.class);
+		consoleService = context.service(ConsoleService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+		System.setOut(stdout);
+	}
+
+	@Test
+	public void benchmarkCapture() {
+		final String[] results = new String[3];
+		results[0] = time("not captured");
+		consoleService.addOutputListener(event -> events.incrementAndGet());
+		results[1] = time("captured");
+		consoleService.setLineBuffered(true);
+		results[2] = time("captured, line buffered");
+		consoleService.setLineBuffered(false);
+
+		// NB: Report on the real stdout, now that the timings are done.
+		for (final String result : results) {
+			stdout.println(result);
+		}
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Times printing single characters and whole lines.
+	 *
+	 * @return A summary of the times, and of the number of output events
+	 *         published meanwhile.
+	 */
+	private String time(final String mode) {
+		final long before = events.get();
+		final double perChar = Benchmark.time(OPERATIONS, () -> {
+			System.out.print('x');
+			return null;
+		});
+		final double perLine = Benchmark.time(OPERATIONS, () -> {
+			System.out.println("a line of output");
+			return null;
+		});
+		return String.format("%-24s %8.1f ns/char %8.1f ns/line %10d events",
+			mode, perChar, perLine, events.get() - before);
+	}
+}
@@ -37,11 +37,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -208,8 +213,111 @@ public class ConsoleServiceTest {
 		assertOutputEvent(Source.STDERR, c2InvokeErr, true, events2.get(5));
 	}
 
+	/** Tests {@link ConsoleService#setLineBuffered(boolean)}. */
+	@Test
+	public void testLineBuffered() throws InterruptedException,
+		ExecutionException
+	{
+		final ThreadService threadService =
+			consoleService.context().service(ThreadService.class);
+
+		final List<OutputEvent> events =
+			Collections.synchronizedList(new ArrayList<OutputEvent>());
+		consoleService.addOutputListener(new OutputTracker(events));
+		consoleService.setLineBuffered(true);
+		assertTrue(consoleService.isLineBuffered());
+
+		threadService.run(() -> {
+			System.out.print("abra");
+			System.out.print('-');
+			System.out.print("cad\nab");
+			System.out.print("ra\n");
+			System.out.print("cadabra");
+			System.out.flush();
+			System.out.print("-tail");
+		}).get();
+
+		// the incomplete line is reported after a short delay
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (contextualOutput(events).size() < 4 &&
+			System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+
+		final List<OutputEvent> output = contextualOutput(events);
+		assertEquals(4, output.size());
+		assertOutputEvent(Source.STDOUT, "abra-cad\n", true, output.get(0));
+		assertOutputEvent(Source.STDOUT, "abra\n", true, output.get(1));
+		assertOutputEvent(Source.STDOUT, "cadabra", true, output.get(2));
+		assertOutputEvent(Source.STDOUT, "-tail", true, output.get(3));
+
+		consoleService.setLineBuffered(false);
+		assertFalse(consoleService.isLineBuffered());
+	}
+
+	/**
+	 * Tests that no output is lost when line buffering is switched off while
+	 * other threads are writing.
+	 */
+	@Test
+	public void testLineBufferedSwitchedOff() throws InterruptedException,
+		ExecutionException
+	{
+		final ThreadService threadService =
+			consoleService.context().service(ThreadService.class);
+
+		// NB: Capture the output, rather than letting it reach the real stdout.
+		final PrintStream stdout = System.out;
+		final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured));
+		final List<OutputEvent> events =
+			Collections.synchronizedList(new ArrayList<OutputEvent>());
+		final int writers = 4, count = 200, rounds = 10;
+		try {
+			consoleService.addOutputListener(new OutputTracker(events));
+			for (int r = 0; r < rounds; r++) {
+				consoleService.setLineBuffered(true);
+				final List<Future<?>> futures = new ArrayList<>();
+				for (int w = 0; w < writers; w++) {
+					futures.add(threadService.run(() -> {
+						for (int i = 0; i < count; i++) {
+							System.out.print('x');
+						}
+					}));
+				}
+				consoleService.setLineBuffered(false);
+				for (final Future<?> future : futures) {
+					future.get();
+				}
+			}
+		}
+		finally {
+			System.setOut(stdout);
+		}
+
+		assertEquals(rounds * writers * count, captured.size());
+		int length = 0;
+		for (final OutputEvent event : contextualOutput(events)) {
+			length += event.getOutput().length();
+		}
+		assertEquals(rounds * writers * count, length);
+	}
+
 	// -- Helper methods --
 
+	private List<OutputEvent> contextualOutput(final List<OutputEvent> events) {
+		final List<OutputEvent> output = new ArrayList<>();
+		synchronized (events) {
+			for (final OutputEvent event : events) {
+				if (event.isContextual() && event.getSource() == Source.STDOUT) {
+					output.add(event);
+				}
+			}
+		}
+		return output;
+	}
+
 	private void assertOutputEvent(final Source source, final String output,
 		final boolean contextual, final OutputEvent event)
 	{
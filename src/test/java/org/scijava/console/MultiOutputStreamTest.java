@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.scijava.console.AsyncOutputStream.OverflowPolicy;
+
+/**
+ * Tests {@link MultiOutputStream}.
+ *
+ * @author agent
+ */
+public class MultiOutputStreamTest {
+
+	/** Tests that output reaches both synchronous and asynchronous streams. */
+	@Test
+	public void testAsynchronous() throws IOException, InterruptedException {
+		final ByteArrayOutputStream sync = new ByteArrayOutputStream();
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		final MultiOutputStream multi = new MultiOutputStream(sync);
+		final AsyncOutputStream async =
+			multi.addOutputStream(target, 1024, OverflowPolicy.BLOCK);
+		assertSame(async, multi.getAsyncOutputStream(target));
+
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			final String line = "line " + i + "\n";
+			multi.write(bytes(line));
+			expected.append(line);
+		}
+		multi.write('!');
+		expected.append('!');
+		multi.flush();
+
+		assertTrue(async.drain(10, TimeUnit.SECONDS));
+		assertEquals(expected.toString(), sync.toString("UTF-8"));
+		assertEquals(expected.toString(), target.toString("UTF-8"));
+		assertEquals(expected.length(), async.getWrittenBytes());
+		assertEquals(0, async.getPendingBytes());
+		assertEquals(0, async.getDroppedBytes());
+		assertTrue(async.getMaxPendingBytes() <= 1024);
+
+		multi.removeOutputStream(target);
+		assertNull(multi.getAsyncOutputStream(target));
+		multi.write(bytes("after"));
+		assertEquals(expected.length(), target.size());
+	}
+
+	/** Tests that a stalled stream neither blocks writers nor loses count. */
+	@Test
+	public void testStalledTarget() throws IOException, InterruptedException {
+		final CountDownLatch stalled = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final ByteArrayOutputStream received = new ByteArrayOutputStream();
+		final OutputStream slow = new OutputStream() {
+
+			@Override
+			public void write(final int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len)
+				throws IOException
+			{
+				stalled.countDown();
+				try {
+					release.await();
+				}
+				catch (final InterruptedException exc) {
+					throw new IOException(exc);
+				}
+				received.write(b, off, len);
+			}
+		};
+		final MultiOutputStream multi = new MultiOutputStream();
+		final AsyncOutputStream async =
+			multi.addOutputStream(slow, 20, OverflowPolicy.DROP);
+
+		multi.write(bytes("0123456789"));
+		assertTrue(stalled.await(10, TimeUnit.SECONDS));
+
+		// the target is stuck on the first write; fill the buffer, then overflow
+		multi.write(bytes("abcdefghij"));
+		multi.write(bytes("ABCDEFGHIJ"));
+		multi.write(bytes("klmnopqrst"));
+		assertEquals(20, async.getPendingBytes());
+		assertEquals(20, async.getDroppedBytes());
+		assertEquals(2, async.getDroppedWrites());
+
+		release.countDown();
+		assertTrue(async.drain(10, TimeUnit.SECONDS));
+		assertEquals("0123456789abcdefghij", received.toString("UTF-8"));
+		assertEquals(20, async.getMaxPendingBytes());
+		async.shutdown();
+	}
+
+	/** Tests that no accepted output is lost when a stream is shut down. */
+	@Test
+	public void testShutdownWhileWriting() throws InterruptedException {
+		for (int round = 0; round < 50; round++) {
+			final ByteArrayOutputStream target = new ByteArrayOutputStream();
+			final AsyncOutputStream async =
+				new AsyncOutputStream(target, 1024, OverflowPolicy.BLOCK);
+			final Thread[] threads = new Thread[4];
+			for (int t = 0; t < threads.length; t++) {
+				threads[t] = new Thread(() -> {
+					for (int i = 0; i < 100; i++) {
+						async.write('x');
+					}
+				});
+				threads[t].start();
+			}
+			async.shutdown();
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+			assertEquals(0, async.getPendingBytes());
+			assertEquals(async.getWrittenBytes(), target.size());
+		}
+	}
+
+	// -- Helper methods --
+
+	private static byte[] bytes(final String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
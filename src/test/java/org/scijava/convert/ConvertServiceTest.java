@@ -44,6 +44,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -157,8 +158,11 @@ public class ConvertServiceTest {
 		testIntechangeable(char[].class, CharArray.class);
 		testIntechangeable(boolean[].class, BoolArray.class);
 
-		// Test that primitive [] can not be converted to mismatched PrimitiveArray
-		assertFalse(convertService.supports(int[].class, LongArray.class));
+		// Test that primitive [] can not be wrapped directly by mismatched
+		// PrimitiveArray, only by converting the elements first
+		assertTrue(convertService.getHandler(new ConversionRequest(int[].class,
+			LongArray.class)) instanceof ConverterChain);
+		assertFalse(convertService.supports(char[].class, LongArray.class));
 
 		// Test that lists can be converted to any primitive []
 		final List<Integer> list = new ArrayList<>();
@@ -188,6 +192,69 @@ public class ConvertServiceTest {
 		}
 	}
 
+	/** Tests conversions which require chaining several converters. */
+	@Test
+	public void testConverterChains() {
+		final int[] ints = { 1, 2, 3 };
+		final ConversionRequest request = //
+			new ConversionRequest(ints, LongArray.class);
+
+		final List<Converter<?, ?>> path = //
+			convertService.getConversionPath(request);
+		assertEquals(2, path.size());
+		assertTrue(path.get(0) instanceof PrimitiveArrayConverter);
+		assertTrue(path.get(1) instanceof LongArrayWrapper);
+
+		final ConverterChain chain = (ConverterChain) convertService.getHandler(
+			request);
+		assertEquals(int[].class, chain.getTypes().get(0));
+		assertEquals(long[].class, chain.getTypes().get(1));
+		assertEquals(LongArray.class, chain.getTypes().get(2));
+
+		// chains are cached per type pair
+		assertSame(chain, convertService.getHandler(new int[0], LongArray.class));
+
+		final LongArray longs = convertService.convert(ints, LongArray.class);
+		assertEquals(3, longs.size());
+		assertEquals(3L, longs.getValue(2));
+
+		// direct conversions are a path of one converter
+		final List<Converter<?, ?>> direct = convertService.getConversionPath(
+			new ConversionRequest(new long[0], LongArray.class));
+		assertEquals(1, direct.size());
+		assertTrue(direct.get(0) instanceof LongArrayWrapper);
+
+		// unsupported conversions have an empty path
+		assertTrue(convertService.getConversionPath(new ConversionRequest(
+			int.class, Date.class)).isEmpty());
+	}
+
+	/**
+	 * Tests that {@link ConverterChainPlanner} prefers shorter chains, and uses
+	 * converter priorities only to choose between chains of equal length.
+	 */
+	@Test
+	public void testConverterChainCosts() {
+		final ConverterChainPlanner planner = new ConverterChainPlanner(Arrays
+			.asList(//
+				new HopConverter<>(Hop0.class, Hop1.class, Priority.HIGH), //
+				new HopConverter<>(Hop1.class, Hop2.class, Priority.HIGH), //
+				new HopConverter<>(Hop2.class, Hop4.class, Priority.HIGH), //
+				new HopConverter<>(Hop0.class, Hop3.class, Priority.LAST), //
+				new HopConverter<>(Hop3.class, Hop4.class, Priority.LAST), //
+				new HopConverter<>(Hop1.class, Hop3.class, Priority.HIGH)));
+
+		// three high priority hops lose against two lowest priority hops
+		final ConverterChain chain = planner.plan(Hop0.class, Hop4.class);
+		assertEquals(Arrays.asList(Hop0.class, Hop3.class, Hop4.class), chain
+			.getTypes());
+
+		// between chains of equal length, the higher priorities win
+		final ConverterChain tie = planner.plan(Hop1.class, Hop4.class);
+		assertEquals(Arrays.asList(Hop1.class, Hop2.class, Hop4.class), tie
+			.getTypes());
+	}
+
 	/** Tests {@link ConvertService#supports(Class, Class)}. */
 	@Test
 	public void testCanConvert() {
@@ -880,6 +947,50 @@ public class ConvertServiceTest {
 		}
 	}
 
+	/** Types linked by {@link HopConverter}s, for planning chains. */
+	private static class Hop0 {}
+
+	private static class Hop1 {}
+
+	private static class Hop2 {}
+
+	private static class Hop3 {}
+
+	private static class Hop4 {}
+
+	/**
+	 * Dummy {@link Converter} between two types, for planning chains. The
+	 * actual conversion is not implemented.
+	 */
+	private static class HopConverter<I, O> extends AbstractConverter<I, O> {
+
+		private final Class<I> inputType;
+		private final Class<O> outputType;
+
+		private HopConverter(final Class<I> inputType, final Class<O> outputType,
+			final double priority)
+		{
+			this.inputType = inputType;
+			this.outputType = outputType;
+			setPriority(priority);
+		}
+
+		@Override
+		public Class<O> getOutputType() {
+			return outputType;
+		}
+
+		@Override
+		public Class<I> getInputType() {
+			return inputType;
+		}
+
+		@Override
+		public <T> T convert(final Object src, final Class<T> dest) {
+			return null;
+		}
+	}
+
 	// -- Helper methods --
 
 	/**
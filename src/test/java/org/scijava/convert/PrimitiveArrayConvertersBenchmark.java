@@ -0,0 +1,106 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.test.Benchmark;
+import org.scijava.util.IntArray;
+
+/**
+ * Benchmarks {@link PrimitiveArrayConverters} against the element-by-element
+ * conversion of {@link DefaultConverter}, which boxes every element.
+ *
+ * @author agent
+ * @see Benchmark
+ */
+public class PrimitiveArrayConvertersBenchmark {
+
+	private static final int SIZE = 1 << 20;
+
+	private Context context;
+	private ConvertService convertService;
+	private DefaultConverter boxingConverter;
+
+	private int[] ints;
+	private IntArray intArray;
+
+	@Before
+	public void setUp() {
+		context = new Context(ConvertService.class);
+		convertService = context.getService(ConvertService.class);
+		boxingConverter = new DefaultConverter();
+		context.inject(boxingConverter);
+		ints = new int[SIZE];
+		for (int i = 0; i < SIZE; i++) ints[i] = i - SIZE / 2;
+		intArray = new IntArray(ints);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void benchmarkWidening() {
+		assertArrayEquals(boxingConverter.convert(ints, double[].class),
+			convertService.convert(ints, double[].class), 0);
+		Benchmark.time("int[] -> double[], boxed", 1, //
+			() -> boxingConverter.convert(ints, double[].class));
+		Benchmark.time("int[] -> double[], unboxed", 1, //
+			() -> convertService.convert(ints, double[].class));
+	}
+
+	@Test
+	public void benchmarkNarrowing() {
+		final double[] doubles = convertService.convert(ints, double[].class);
+		assertArrayEquals(boxingConverter.convert(doubles, int[].class),
+			convertService.convert(doubles, int[].class));
+		Benchmark.time("double[] -> int[], boxed", 1, //
+			() -> boxingConverter.convert(doubles, int[].class));
+		Benchmark.time("double[] -> int[], unboxed", 1, //
+			() -> convertService.convert(doubles, int[].class));
+	}
+
+	@Test
+	public void benchmarkPrimitiveArray() {
+		Benchmark.time("IntArray -> long[], boxed", 1, //
+			() -> boxingConverter.convert(intArray, long[].class));
+		Benchmark.time("IntArray -> long[], unboxed", 1, //
+			() -> convertService.convert(intArray, long[].class));
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.convert.PrimitiveArrayConverters.ToDoubleArrayConverter;
+import org.scijava.convert.PrimitiveArrayConverters.ToIntArrayConverter;
+import org.scijava.util.IntArray;
+
+/**
+ * Tests {@link PrimitiveArrayConverters}.
+ *
+ * @author agent
+ */
+public class PrimitiveArrayConvertersTest {
+
+	private ConvertService convertService;
+
+	@Before
+	public void setUp() {
+		final Context context = new Context(ConvertService.class);
+		convertService = context.getService(ConvertService.class);
+	}
+
+	@After
+	public void tearDown() {
+		convertService.getContext().dispose();
+	}
+
+	@Test
+	public void testHandlerSelection() {
+		assertTrue(convertService.getHandler(new int[0],
+			double[].class) instanceof ToDoubleArrayConverter);
+		assertTrue(convertService.getHandler(new double[0],
+			int[].class) instanceof ToIntArrayConverter);
+		assertTrue(convertService.getHandler(new IntArray(),
+			double[].class) instanceof ToDoubleArrayConverter);
+		assertTrue(convertService.getHandler(Arrays.asList(1, 2.5),
+			int[].class) instanceof ToIntArrayConverter);
+
+		// identical element types are cast or unwrapped, not copied
+		assertFalse(convertService.getHandler(new int[0],
+			int[].class) instanceof PrimitiveArrayConverter);
+		assertFalse(convertService.getHandler(new IntArray(),
+			int[].class) instanceof PrimitiveArrayConverter);
+
+		// non-numeric elements still use the general-purpose path
+		assertFalse(convertService.getHandler(Arrays.asList("1", "2"),
+			int[].class) instanceof PrimitiveArrayConverter);
+		assertFalse(convertService.getHandler(new char[0],
+			int[].class) instanceof PrimitiveArrayConverter);
+	}
+
+	@Test
+	public void testWidening() {
+		final int[] ints = { -3, 0, 7, Integer.MAX_VALUE };
+		final double[] doubles = convertService.convert(ints, double[].class);
+		assertArrayEquals(new double[] { -3, 0, 7, Integer.MAX_VALUE }, doubles,
+			0);
+		final long[] longs = convertService.convert(new byte[] { -1, 2 },
+			long[].class);
+		assertArrayEquals(new long[] { -1, 2 }, longs);
+	}
+
+	@Test
+	public void testNarrowing() {
+		final double[] doubles = { -3.7, 0.2, 7.9, 1e20 };
+		final int[] ints = convertService.convert(doubles, int[].class);
+		assertArrayEquals(new int[] { -3, 0, 7, Integer.MAX_VALUE }, ints);
+		final byte[] bytes = convertService.convert(new int[] { 255, 256 },
+			byte[].class);
+		assertArrayEquals(new byte[] { -1, 0 }, bytes);
+	}
+
+	@Test
+	public void testPrimitiveArraySource() {
+		final IntArray intArray = new IntArray(new int[] { 1, 2, 3 });
+		intArray.ensureCapacity(100);
+		final float[] floats = convertService.convert(intArray, float[].class);
+		assertArrayEquals(new float[] { 1, 2, 3 }, floats, 0);
+	}
+
+	@Test
+	public void testNumberCollectionSource() {
+		final List<Number> numbers = new ArrayList<>();
+		numbers.add(1);
+		numbers.add(2.5f);
+		numbers.add(3L);
+		final short[] shorts = convertService.convert(numbers, short[].class);
+		assertArrayEquals(new short[] { 1, 2, 3 }, shorts);
+	}
+
+	@Test
+	public void testLargeArray() {
+		final int size = 1 << 20;
+		final long[] longs = new long[size];
+		for (int i = 0; i < size; i++) longs[i] = i;
+		final double[] doubles = convertService.convert(longs, double[].class);
+		assertEquals(size, doubles.length);
+		assertEquals(size - 1, doubles[size - 1], 0);
+
+		assertSame(doubles, convertService.convert(doubles, double[].class));
+	}
+}
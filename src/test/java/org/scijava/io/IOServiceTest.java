@@ -0,0 +1,253 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.Priority;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleInputStream;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.plugin.Plugin;
+import org.scijava.util.FileUtils;
+
+/**
+ * Tests {@link IOService}.
+ *
+ * @author agent
+ */
+public class IOServiceTest {
+
+	private IOService ioService;
+
+	@Before
+	public void setUp() {
+		final Context context = new Context(IOService.class);
+		ioService = context.service(IOService.class);
+		NameIOPlugin.probes = 0;
+	}
+
+	@After
+	public void tearDown() {
+		ioService.context().dispose();
+	}
+
+	/** Tests that name-based plugins are probed once per extension. */
+	@Test
+	public void testNameBasedOpener() {
+		final IOPlugin<?> opener = ioService.getOpener("a.iotest");
+		assertSame(NameIOPlugin.class, opener.getClass());
+		assertSame(opener, ioService.getOpener("/some/other/b.iotest"));
+		assertEquals(1, NameIOPlugin.probes);
+
+		final ProbeStatistics stats =
+			ioService.getProbeStatistics().get(NameIOPlugin.class);
+		assertEquals(1, stats.getProbeCount());
+		assertEquals(1, stats.getMatchCount());
+
+		assertSame(opener, ioService.getSaver("data", "c.iotest"));
+		assertNull(ioService.getSaver(42, "c.iotest"));
+	}
+
+	/** Tests that the resolution caches are bounded. */
+	@Test
+	public void testBoundedCache() {
+		assertSame(NameIOPlugin.class, ioService.getOpener("a.iotest").getClass());
+		assertEquals(1, NameIOPlugin.probes);
+		for (int i = 0; i < DefaultIOService.MAX_CACHED_KEYS; i++) {
+			ioService.getOpener("http://example.com/query?page=1.x" + i);
+		}
+		final int probes = NameIOPlugin.probes;
+
+		// NB: The cache was cleared when it filled up, so this is probed again.
+		assertSame(NameIOPlugin.class, ioService.getOpener("a.iotest").getClass());
+		assertEquals(probes + 1, NameIOPlugin.probes);
+	}
+
+	/** Tests that content-based plugins are given the source's header. */
+	@Test
+	public void testHeaderOpener() throws IOException {
+		final File sniffed = File.createTempFile("IOServiceTest", ".sniff");
+		final File other = File.createTempFile("IOServiceTest", ".sniff");
+		try {
+			FileUtils.writeFile(sniffed, bytes("SNIFFLE"));
+			FileUtils.writeFile(other, bytes("SNORE"));
+			final IOPlugin<?> opener = ioService.getOpener(sniffed.getPath());
+			assertSame(HeaderIOPlugin.class, opener.getClass());
+			assertNull(ioService.getOpener(other.getPath()));
+		}
+		finally {
+			sniffed.delete();
+			other.delete();
+		}
+	}
+
+	/**
+	 * Tests {@link IOService#openStream(Location)} and
+	 * {@link IOService#saveStream(Class, Stream, Location)}.
+	 */
+	@Test
+	public void testStreams() throws IOException {
+		final File file = File.createTempFile("IOServiceTest", ".lines");
+		try {
+			final Location location = new FileLocation(file);
+			ioService.saveStream(String.class, Stream.of("alpha", "beta", "gamma"),
+				location);
+			try (final Stream<?> lines = ioService.openStream(location)) {
+				assertEquals(Arrays.asList("alpha", "beta", "gamma"), lines.collect(
+					Collectors.toList()));
+			}
+
+			// a shorter stream replaces the previous content entirely
+			ioService.saveStream(String.class, Stream.of("delta"), location);
+			try (final Stream<?> lines = ioService.openStream(location)) {
+				assertEquals(Arrays.asList("delta"), lines.collect(Collectors
+					.toList()));
+			}
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	// -- Helper methods --
+
+	private static byte[] bytes(final String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+
+	// -- Helper classes --
+
+	/** An I/O plugin which decides by extension alone. */
+	@Plugin(type = IOPlugin.class, priority = Priority.HIGH)
+	public static class NameIOPlugin extends AbstractIOPlugin<String> {
+
+		private static int probes;
+
+		@Override
+		public Class<String> getDataType() {
+			return String.class;
+		}
+
+		@Override
+		public boolean isNameBased() {
+			return true;
+		}
+
+		@Override
+		public boolean supportsOpen(final String source) {
+			probes++;
+			return supportsSave(source);
+		}
+
+		@Override
+		public boolean supportsSave(final String destination) {
+			return destination.endsWith(".iotest");
+		}
+	}
+
+	/** An I/O plugin which streams the lines of a text file. */
+	@Plugin(type = IOPlugin.class)
+	public static class LinesIOPlugin extends AbstractIOPlugin<String> {
+
+		@Override
+		public Class<String> getDataType() {
+			return String.class;
+		}
+
+		@Override
+		public boolean supportsOpenStream(final Location source) {
+			return source.getName().endsWith(".lines");
+		}
+
+		@Override
+		public boolean supportsSaveStream(final Location destination) {
+			return supportsOpenStream(destination);
+		}
+
+		@Override
+		public Stream<String> openStream(final DataHandle<Location> source) {
+			return new BufferedReader(new InputStreamReader(
+				new DataHandleInputStream<>(source), StandardCharsets.UTF_8)).lines();
+		}
+
+		@Override
+		public void saveStream(final Stream<? extends String> data,
+			final DataHandle<Location> destination) throws IOException
+		{
+			final Iterator<? extends String> iter = data.iterator();
+			while (iter.hasNext()) {
+				destination.write(bytes(iter.next() + "\n"));
+			}
+		}
+	}
+
+	/** An I/O plugin which decides by the first bytes of the content. */
+	@Plugin(type = IOPlugin.class, priority = Priority.VERY_LOW)
+	public static class HeaderIOPlugin extends AbstractIOPlugin<String> {
+
+		@Override
+		public Class<String> getDataType() {
+			return String.class;
+		}
+
+		@Override
+		public int getHeaderLength() {
+			return 4;
+		}
+
+		@Override
+		public boolean supportsOpen(final String source, final byte[] header) {
+			return source.endsWith(".sniff") && header.length == 4 &&
+				new String(header, StandardCharsets.UTF_8).equals("SNIF");
+		}
+	}
+
+}
@@ -36,6 +36,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -105,4 +106,25 @@ public class DefaultLoggerTest {
 		assertTrue(listener.hasLogged(m -> m.text().equals("Hello World!")));
 		assertTrue(listener.hasLogged(m -> m.text().equals("Goodbye!")));
 	}
+
+	@Test
+	public void testDeferredMessages() {
+		listener.clear();
+		final AtomicInteger calls = new AtomicInteger();
+
+		logger.debug(() -> "debug " + calls.incrementAndGet());
+		logger.debugf("debug %d", calls.incrementAndGet());
+		assertFalse(listener.hasLogged(m -> true));
+		assertEquals(1, calls.get()); // only the format argument was evaluated
+
+		logger.warn(() -> "warn " + calls.incrementAndGet());
+		assertEquals(1, calls.get()); // not needed yet
+		assertTrue(listener.hasLogged(m -> m.text().equals("warn 2")));
+		assertTrue(listener.hasLogged(m -> m.text().equals("warn 2")));
+		assertEquals(2, calls.get()); // computed only once
+
+		logger.errorf("%s = %.1f", "pi", Math.PI);
+		assertTrue(listener.hasLogged(m -> m.text().equals("pi = 3.1")));
+		assertTrue(listener.hasLogged(m -> m.toString().contains("pi = 3.1")));
+	}
 }
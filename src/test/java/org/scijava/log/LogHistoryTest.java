@@ -0,0 +1,194 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link LogHistory}.
+ *
+ * @author agent
+ */
+public class LogHistoryTest {
+
+	@Test
+	public void testRing() {
+		final LogHistory history = new LogHistory(3);
+		final LogSource source = LogSource.newRoot().subSource("a");
+		for (int i = 0; i < 5; i++) {
+			history.messageLogged(new LogMessage(source, LogLevel.INFO, "m" + i));
+		}
+		final List<LogMessage> messages = history.messages();
+		assertEquals(3, history.size());
+		assertEquals(3, messages.size());
+		assertEquals("m2", messages.get(0).text());
+		assertEquals("m4", messages.get(2).text());
+
+		history.clear();
+		assertEquals(0, history.size());
+		assertTrue(history.messages().isEmpty());
+	}
+
+	@Test
+	public void testQuery() {
+		final LogHistory history = new LogHistory(10);
+		final LogSource root = LogSource.newRoot();
+		final LogSource a = root.subSource("a");
+		final LogSource ab = root.subSource("a:b");
+		final LogSource c = root.subSource("c");
+		final LogMessage error = new LogMessage(ab, LogLevel.ERROR, "error");
+		history.messageLogged(new LogMessage(a, LogLevel.DEBUG, "debug"));
+		history.messageLogged(error);
+		history.messageLogged(new LogMessage(c, LogLevel.WARN, "warn"));
+
+		assertEquals(3, history.query(null, LogLevel.TRACE).size());
+		assertEquals(2, history.query(a, LogLevel.TRACE).size());
+		assertEquals(1, history.query(ab, LogLevel.TRACE).size());
+		assertEquals(2, history.query(root, LogLevel.WARN).size());
+
+		final List<LogMessage> errors = history.query(a, LogLevel.WARN);
+		assertEquals(1, errors.size());
+		assertSame(ab, errors.get(0).source());
+		assertEquals(LogLevel.ERROR, errors.get(0).level());
+		assertEquals("error", errors.get(0).text());
+		assertEquals(error.timeMillis(), errors.get(0).timeMillis());
+
+		final long time = error.timeMillis();
+		assertEquals(1, history.query(ab, LogLevel.ERROR, time, time).size());
+		assertTrue(history.query(null, LogLevel.TRACE, time + 1000, //
+			Long.MAX_VALUE).isEmpty());
+		assertTrue(history.query(null, LogLevel.TRACE, Long.MIN_VALUE, //
+			time - 1000).isEmpty());
+	}
+
+	@Test
+	public void testDetached() {
+		final LogHistory history = new LogHistory(10);
+		final LogSource source = LogSource.newRoot();
+		final int[] calls = { 0 };
+		final Object argument = new Object() {
+
+			@Override
+			public String toString() {
+				calls[0]++;
+				return "argument";
+			}
+		};
+		final IllegalStateException cause = new IllegalStateException("cause");
+		final RuntimeException exception = new RuntimeException("failed", cause);
+		final LogMessage message = new LogMessage(source, LogLevel.ERROR,
+			new DeferredMessage("message with %s", argument), exception);
+		history.messageLogged(message);
+		assertEquals(1, calls[0]);
+
+		final LogMessage held = history.messages().get(0);
+		assertEquals("message with argument", held.text());
+		assertEquals(1, calls[0]);
+		final Throwable throwable = held.throwable();
+		assertNotSame(exception, throwable);
+		assertNotSame(cause, throwable.getCause());
+		assertEquals(exception.toString(), throwable.toString());
+		assertEquals(stackTrace(exception), stackTrace(throwable));
+		assertEquals(message.toString(), held.toString());
+	}
+
+	@Test
+	public void testEvictionUpdatesLevels() {
+		final LogHistory history = new LogHistory(2);
+		final LogSource source = LogSource.newRoot();
+		history.messageLogged(new LogMessage(source, LogLevel.ERROR, "error"));
+		history.messageLogged(new LogMessage(source, LogLevel.INFO, "info1"));
+		history.messageLogged(new LogMessage(source, LogLevel.INFO, "info2"));
+		assertTrue(history.query(null, LogLevel.ERROR).isEmpty());
+		assertEquals(2, history.query(null, LogLevel.INFO).size());
+	}
+
+	@Test
+	public void testLogService() {
+		final StderrLogService log = new StderrLogService();
+		final PrintStream out = new PrintStream(new ByteArrayOutputStream());
+		log.setPrintStreams(level -> out);
+		log.setLevel(LogLevel.INFO);
+		final LogHistory history = log.getHistory();
+		assertNotNull(history);
+		assertEquals(AbstractLogService.DEFAULT_HISTORY_CAPACITY, history
+			.capacity());
+
+		final Logger sub = log.subLogger("sub");
+		log.error("root message");
+		sub.warn("sub message");
+		sub.debug("suppressed");
+		assertEquals(2, history.messages().size());
+		final List<LogMessage> subMessages = history.query(sub.getSource(),
+			LogLevel.TRACE);
+		assertEquals(1, subMessages.size());
+		assertEquals("sub message", subMessages.get(0).text());
+	}
+
+	@Test
+	public void testDisabled() {
+		final Properties properties = new Properties();
+		properties.setProperty(LogService.LOG_HISTORY_PROPERTY, "0");
+		final AbstractLogService log = new AbstractLogService(properties) {
+
+			@Override
+			public void notifyListeners(final LogMessage message) {
+				// NB: Discard the message.
+			}
+		};
+		assertNull(log.getHistory());
+		log.error("message");
+	}
+
+	// -- Helper methods --
+
+	private static String stackTrace(final Throwable t) {
+		final StringWriter sw = new StringWriter();
+		t.printStackTrace(new PrintWriter(sw));
+		return sw.toString();
+	}
+}
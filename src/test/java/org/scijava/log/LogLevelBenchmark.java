@@ -0,0 +1,80 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.scijava.test.Benchmark;
+
+/**
+ * Benchmarks {@link LogService#isDebug()}, with and without levels configured
+ * per class or package.
+ * <p>
+ * With such levels, each call has to determine the calling class. For
+ * comparison, the benchmark also times capturing the stack trace of the
+ * current thread, which is what every call used to do.
+ * </p>
+ *
+ * @author agent
+ * @see Benchmark
+ */
+public class LogLevelBenchmark {
+
+	private static final int OPERATIONS = 100000;
+
+	@Test
+	public void benchmarkIsDebug() {
+		System.out.println("Java version: " + System.getProperty("java.version"));
+
+		final StderrLogService log = new StderrLogService();
+		log.setLevel(LogLevel.INFO);
+		assertFalse(log.isDebug());
+		Benchmark.time("isDebug(), no source levels", OPERATIONS, //
+			() -> log.isDebug());
+
+		log.setLevel("org.example", LogLevel.DEBUG);
+		assertFalse(log.isDebug());
+		Benchmark.time("isDebug(), other package level", OPERATIONS, //
+			() -> log.isDebug());
+
+		log.setLevel(getClass().getName(), LogLevel.DEBUG);
+		assertTrue(log.isDebug());
+		Benchmark.time("isDebug(), own class level", OPERATIONS, //
+			() -> log.isDebug());
+
+		Benchmark.time("Thread#getStackTrace()", OPERATIONS, //
+			() -> Thread.currentThread().getStackTrace());
+	}
+}
@@ -184,6 +184,18 @@ public class LogServiceTest {
 		assertEquals(LogLevel.TRACE, level);
 	}
 
+	@Test
+	public void testClassLogLevelChanged() {
+		final LogService log = new TestableLogService();
+		log.setLevel("org.scijava.log", LogLevel.TRACE);
+		assertEquals(LogLevel.TRACE, log.getLevel());
+		log.setLevel(getClass().getName(), LogLevel.ERROR);
+		assertEquals(LogLevel.ERROR, log.getLevel());
+		log.setLevel("org.scijava.log", LogLevel.WARN);
+		assertEquals(LogLevel.ERROR, log.getLevel());
+		assertEquals(LogLevel.WARN, new MyTestClass(log).getLevel());
+	}
+
 	@Test
 	public void testListener() {
 		// setup
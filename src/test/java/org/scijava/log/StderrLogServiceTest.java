@@ -32,13 +32,19 @@
 
 package org.scijava.log;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.scijava.log.LogLevel.WARN;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
+import org.scijava.log.AsyncLogSink.OverflowPolicy;
 
 /**
  * Tests {@link StderrLogService}.
@@ -75,4 +81,102 @@ public class StderrLogServiceTest {
 		assertTrue(outputStream.toString().contains(text1));
 		assertTrue(outputStream.toString().contains(text2));
 	}
+
+	@Test
+	public void testAsynchronous() {
+		final StderrLogService logService = new StderrLogService();
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final PrintStream p = new PrintStream(outputStream);
+		logService.setPrintStreams(ignore -> p);
+		logService.setAsynchronous(16, OverflowPolicy.BLOCK);
+		try {
+			IntStream.range(0, 1000).parallel().forEach(i -> logService.warn(
+				"message " + i));
+			logService.flush();
+		}
+		finally {
+			logService.dispose();
+		}
+		assertEquals(0, logService.getDroppedCount());
+		final String output = outputStream.toString();
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(output.contains("message " + i + System.lineSeparator()));
+		}
+	}
+
+	@Test
+	public void testAsynchronousDrop() throws InterruptedException {
+		final StderrLogService logService = new StderrLogService();
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final PrintStream p = new PrintStream(new OutputStream() {
+
+			@Override
+			public void write(final int b) {
+				blocked.countDown();
+				try {
+					release.await();
+				}
+				catch (final InterruptedException exc) {
+					throw new IllegalStateException(exc);
+				}
+				outputStream.write(b);
+			}
+		});
+		logService.setPrintStreams(ignore -> p);
+		logService.setAsynchronous(4, OverflowPolicy.DROP);
+		try {
+			// NB: Stall the writer thread, then overflow the buffer.
+			logService.warn("first");
+			blocked.await();
+			for (int i = 0; i < 100; i++) {
+				logService.warn("message " + i);
+			}
+			assertEquals(96, logService.getDroppedCount());
+			release.countDown();
+			logService.flush();
+		}
+		finally {
+			logService.dispose();
+		}
+		final String output = outputStream.toString();
+		assertTrue(output.contains("message 3"));
+		assertTrue(output.contains("96 log message(s) dropped"));
+	}
+
+	/** Tests that no accepted message is lost when a sink is closed. */
+	@Test
+	public void testAsynchronousClose() throws InterruptedException {
+		final AtomicLong lines = new AtomicLong();
+		final PrintStream p = new PrintStream(new OutputStream() {
+
+			@Override
+			public void write(final int b) {
+				if (b == '\n') lines.incrementAndGet();
+			}
+		}, true);
+		for (int round = 0; round < 50; round++) {
+			lines.set(0);
+			final AsyncLogSink sink =
+				new AsyncLogSink(1024, OverflowPolicy.BLOCK, ignore -> p);
+			final AtomicLong accepted = new AtomicLong();
+			final Thread[] threads = new Thread[4];
+			for (int t = 0; t < threads.length; t++) {
+				threads[t] = new Thread(() -> {
+					for (int i = 0; i < 100; i++) {
+						final LogMessage message = new LogMessage(LogSource.newRoot(),
+							WARN, "message " + i);
+						if (sink.offer(message)) accepted.incrementAndGet();
+					}
+				});
+				threads[t].start();
+			}
+			sink.close();
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+			assertEquals(accepted.get(), lines.get());
+		}
+	}
 }
@@ -0,0 +1,251 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.module.ModuleServiceTest.FooModuleInfo;
+import org.scijava.module.process.AbstractPreprocessorPlugin;
+import org.scijava.module.process.ModulePreprocessor;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Tests {@link ModuleRunner}.
+ *
+ * @author agent
+ */
+public class ModuleRunnerTest {
+
+	private static final String PARALLEL = "scijava.module.parallel";
+
+	private Context context;
+
+	@Before
+	public void setUp() {
+		context = new Context(ThreadService.class);
+		System.setProperty(PARALLEL, "true");
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(PARALLEL);
+		context.dispose();
+	}
+
+	/**
+	 * Tests that preprocessors with independent item accesses run concurrently,
+	 * while conflicting ones keep their order.
+	 */
+	@Test
+	public void testConcurrentPreProcess() throws ModuleException {
+		final List<String> log = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch latch = new CountDownLatch(2);
+		final DeclaredPreprocessor a = //
+			new DeclaredPreprocessor("a", log, set(), set("string"), latch);
+		final DeclaredPreprocessor b = //
+			new DeclaredPreprocessor("b", log, set(), set("float"), latch);
+		final DeclaredPreprocessor c = //
+			new DeclaredPreprocessor("c", log, set("string"), set(), null);
+		final UndeclaredPreprocessor d = new UndeclaredPreprocessor("d", log);
+
+		final Module module = new FooModuleInfo().createModule();
+		final ModuleRunner runner = //
+			new ModuleRunner(context, module, Arrays.<ModulePreprocessor> asList(a, b, c, d), null);
+		assertNull(runner.preProcess());
+
+		// NB: a and b each wait for the other, so they must have run concurrently.
+		assertTrue(a.met);
+		assertTrue(b.met);
+		assertEquals(4, log.size());
+		assertTrue(log.indexOf("c") > log.indexOf("a"));
+		assertEquals("d", log.get(3));
+		assertEquals("a", module.getInput("string"));
+		assertEquals("b", module.getInput("float"));
+	}
+
+	/**
+	 * Tests that a canceling preprocessor stops those following it which depend
+	 * on it.
+	 */
+	@Test
+	public void testConcurrentPreProcessCanceled() throws ModuleException {
+		final List<String> log = Collections.synchronizedList(new ArrayList<>());
+		final DeclaredPreprocessor a = //
+			new DeclaredPreprocessor("a", log, set(), set("string"), null);
+		a.canceling = true;
+		final DeclaredPreprocessor b = //
+			new DeclaredPreprocessor("b", log, set("string"), set(), null);
+		final UndeclaredPreprocessor c = new UndeclaredPreprocessor("c", log);
+
+		final Module module = new FooModuleInfo().createModule();
+		final ModuleRunner runner = //
+			new ModuleRunner(context, module, Arrays.<ModulePreprocessor> asList(a, b, c), null);
+		assertSame(a, runner.preProcess());
+		assertEquals(Arrays.asList("a"), log);
+	}
+
+	/** Tests that preprocessors run sequentially unless enabled otherwise. */
+	@Test
+	public void testSequentialByDefault() throws ModuleException {
+		System.clearProperty(PARALLEL);
+		final List<String> log = Collections.synchronizedList(new ArrayList<>());
+		final DeclaredPreprocessor a = //
+			new DeclaredPreprocessor("a", log, set(), set("string"), null);
+		final DeclaredPreprocessor b = //
+			new DeclaredPreprocessor("b", log, set(), set("float"), null);
+
+		final Module module = new FooModuleInfo().createModule();
+		final ModuleRunner runner = //
+			new ModuleRunner(context, module, Arrays.<ModulePreprocessor> asList(a, b), null);
+		assertNull(runner.preProcess());
+		assertEquals(Arrays.asList("a", "b"), log);
+		assertSame(Thread.currentThread(), a.thread);
+		assertSame(Thread.currentThread(), b.thread);
+	}
+
+	/** Tests that preprocessors which proved quick are not forked again. */
+	@Test
+	public void testQuickPreProcessInline() throws ModuleException {
+		final List<String> log = Collections.synchronizedList(new ArrayList<>());
+		final DeclaredPreprocessor a = //
+			new DeclaredPreprocessor("a", log, set(), set("string"), null);
+		final DeclaredPreprocessor b = //
+			new DeclaredPreprocessor("b", log, set(), set("float"), null);
+		final List<ModulePreprocessor> pre = Arrays.asList(a, b);
+
+		// NB: The first time, nothing is known about their cost.
+		final Module module = new FooModuleInfo().createModule();
+		assertNull(new ModuleRunner(context, module, pre, null).preProcess());
+		assertTrue(a.thread != Thread.currentThread());
+
+		final Module module2 = new FooModuleInfo().createModule();
+		assertNull(new ModuleRunner(context, module2, pre, null).preProcess());
+		assertSame(Thread.currentThread(), a.thread);
+		assertSame(Thread.currentThread(), b.thread);
+	}
+
+	// -- Helper methods --
+
+	private static Set<String> set(final String... names) {
+		return new HashSet<>(Arrays.asList(names));
+	}
+
+	// -- Helper classes --
+
+	/** A preprocessor which declares its item accesses. */
+	private static class DeclaredPreprocessor extends AbstractPreprocessorPlugin {
+
+		private final String name;
+		private final List<String> log;
+		private final Set<String> reads, writes;
+		private final CountDownLatch latch;
+		private boolean canceling;
+		private boolean met;
+		private volatile Thread thread;
+
+		public DeclaredPreprocessor(final String name, final List<String> log,
+			final Set<String> reads, final Set<String> writes,
+			final CountDownLatch latch)
+		{
+			this.name = name;
+			this.log = log;
+			this.reads = reads;
+			this.writes = writes;
+			this.latch = latch;
+		}
+
+		@Override
+		public void process(final Module module) {
+			thread = Thread.currentThread();
+			log.add(name);
+			for (final String item : writes) {
+				module.setInput(item, name);
+			}
+			if (latch != null) {
+				latch.countDown();
+				try {
+					met = latch.await(5, TimeUnit.SECONDS);
+				}
+				catch (final InterruptedException exc) {
+					throw new IllegalStateException(exc);
+				}
+			}
+			if (canceling) cancel("Canceled by " + name);
+		}
+
+		@Override
+		public Set<String> getItemsRead(final ModuleInfo info) {
+			return reads;
+		}
+
+		@Override
+		public Set<String> getItemsWritten(final ModuleInfo info) {
+			return writes;
+		}
+	}
+
+	/** A preprocessor which does not declare its item accesses. */
+	private static class UndeclaredPreprocessor extends
+		AbstractPreprocessorPlugin
+	{
+
+		private final String name;
+		private final List<String> log;
+
+		public UndeclaredPreprocessor(final String name, final List<String> log) {
+			this.name = name;
+			this.log = log;
+		}
+
+		@Override
+		public void process(final Module module) {
+			log.add(name);
+		}
+	}
+}
@@ -33,18 +33,42 @@
 package org.scijava.module;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.scijava.Context;
+import org.scijava.MenuPath;
+import org.scijava.event.EventService;
+import org.scijava.input.Accelerator;
+import org.scijava.module.process.AbstractPreprocessorPlugin;
+import org.scijava.module.process.PreprocessorPlugin;
+import org.scijava.module.process.ReusableProcessor;
+import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.PluginService;
+import org.scijava.prefs.DefaultPrefService;
+import org.scijava.prefs.MemoryPrefStore;
+import org.scijava.prefs.PrefService;
 
 /**
  * Tests {@link ModuleService}.
@@ -161,8 +185,223 @@ public class ModuleServiceTest {
 		assertSame(info.getInput("double2"), singleDouble);
 	}
 
+	/** Tests that processor chains are reused across module executions. */
+	@Test
+	public void testProcessorReuse() throws InterruptedException,
+		ExecutionException
+	{
+		final PluginService pluginService =
+			moduleService.context().service(PluginService.class);
+		pluginService.addPlugin(new PluginInfo<>(RecordingPreprocessor.class,
+			PreprocessorPlugin.class));
+		pluginService.addPlugin(new PluginInfo<>(InapplicablePreprocessor.class,
+			PreprocessorPlugin.class));
+		pluginService.addPlugin(new PluginInfo<>(FreshPreprocessor.class,
+			PreprocessorPlugin.class));
+		final ModuleInfo info = new FooModuleInfo();
+		final List<PreprocessorPlugin> seen = new ArrayList<>();
+
+		// the same preprocessor instance is used for successive executions
+		moduleService.run(info, true, createInputMap(seen, false)).get();
+		moduleService.run(info, true, createInputMap(seen, false)).get();
+		assertEquals(2, seen.size());
+		assertSame(seen.get(0), seen.get(1));
+
+		// unless the preprocessor is not marked as reusable
+		assertEquals(2, FreshPreprocessor.instances.size());
+		assertNotSame(FreshPreprocessor.instances.get(0),
+			FreshPreprocessor.instances.get(1));
+
+		// but not after it has canceled an execution
+		moduleService.run(info, true, createInputMap(seen, true)).get();
+		moduleService.run(info, true, createInputMap(seen, false)).get();
+		assertEquals(4, seen.size());
+		assertSame(seen.get(1), seen.get(2));
+		assertNotSame(seen.get(2), seen.get(3));
+
+		// nor after the available plugins have changed
+		pluginService.addPlugin(new PluginInfo<>(FooPreprocessor.class,
+			PreprocessorPlugin.class));
+		moduleService.run(info, true, createInputMap(seen, false)).get();
+		assertEquals(5, seen.size());
+		assertNotSame(seen.get(3), seen.get(4));
+		assertTrue(FooPreprocessor.calls > 0);
+	}
+
+	/**
+	 * Tests that which processors apply to a module is rechecked once the
+	 * module has been updated.
+	 */
+	@Test
+	public void testProcessorApplicability() throws InterruptedException,
+		ExecutionException
+	{
+		final PluginService pluginService =
+			moduleService.context().service(PluginService.class);
+		pluginService.addPlugin(new PluginInfo<>(CheckedPreprocessor.class,
+			PreprocessorPlugin.class));
+		final ModuleInfo info = new FooModuleInfo();
+
+		// applicability is checked once for successive executions
+		CheckedPreprocessor.checks = 0;
+		moduleService.run(info, true).get();
+		moduleService.run(info, true).get();
+		assertEquals(1, CheckedPreprocessor.checks);
+
+		// and again after the module has been updated
+		info.update(moduleService.context().service(EventService.class));
+		moduleService.run(info, true).get();
+		assertEquals(2, CheckedPreprocessor.checks);
+	}
+
+	/**
+	 * Tests
+	 * {@link ModuleService#runBatch(ModuleInfo, boolean, Iterable, int, boolean)}
+	 * .
+	 */
+	@Test
+	public void testRunBatch() {
+		final ModuleInfo info = new FooModuleInfo();
+		final List<Map<String, Object>> inputMaps = IntStream.range(0, 50)
+			.mapToObj(i -> {
+				final Map<String, Object> inputMap = createInputMap();
+				inputMap.put("integer1", i);
+				return inputMap;
+			}).collect(Collectors.toList());
+
+		final List<Module> modules = moduleService.runBatch(info, true, inputMaps,
+			4, false).collect(Collectors.toList());
+		assertEquals(inputMaps.size(), modules.size());
+		for (int i = 0; i < modules.size(); i++) {
+			assertEquals(mapToString(inputMaps.get(i)), modules.get(i).getOutput(
+				"result"));
+		}
+	}
+
+	/** Tests that canceling a batch releases a consumer waiting for results. */
+	@Test(timeout = 10000)
+	public void testRunBatchCancel() throws InterruptedException {
+		final CompletableFuture<Module> never = new CompletableFuture<>();
+		final ModuleBatchIterator iterator = new ModuleBatchIterator( //
+			Arrays.asList(createInputMap()), inputMap -> never, 1, null, null);
+		final AtomicBoolean hasNext = new AtomicBoolean(true);
+		final Thread consumer = new Thread(() -> hasNext.set(iterator.hasNext()));
+		consumer.start();
+		while (consumer.getState() != Thread.State.WAITING) Thread.sleep(1);
+
+		iterator.cancel();
+		consumer.join();
+		assertFalse(hasNext.get());
+		assertTrue(never.isCancelled());
+	}
+
+	/** Tests that batches only submit executions as results are consumed. */
+	@Test
+	public void testRunBatchBackpressure() {
+		final ModuleInfo info = new FooModuleInfo();
+		final AtomicInteger requested = new AtomicInteger();
+		final Iterable<Map<String, Object>> inputMaps = () -> IntStream.range(0,
+			1000).mapToObj(i -> {
+				requested.incrementAndGet();
+				return createInputMap();
+			}).iterator();
+
+		final List<Module> modules = moduleService.runBatch(info, false,
+			inputMaps, 3, false).limit(5).collect(Collectors.toList());
+		assertEquals(5, modules.size());
+		assertTrue(requested.get() <= 5 + 3);
+	}
+
+	/**
+	 * Tests that {@link ModuleService#load(ModuleItem)} and
+	 * {@link ModuleService#save(ModuleItem, Object)} cache persisted values,
+	 * while staying coherent with other changes to the preferences.
+	 */
+	@Test
+	public void testPersistedInputCache() throws BackingStoreException {
+		final PrefService prefService =
+			moduleService.context().service(PrefService.class);
+		final MemoryPrefStore store = new MemoryPrefStore();
+		((DefaultPrefService) prefService).setStore(store);
+
+		final FooModuleInfo info = new FooModuleInfo();
+		final ModuleItem<String> string = cast(info.getInput("string"));
+		final ModuleItem<Double> real = cast(info.getInput("double1"));
+
+		assertNull(moduleService.load(string));
+		moduleService.save(string, "kraken");
+		assertEquals("kraken", moduleService.load(string));
+
+		// saving an unchanged value does not touch the store
+		final long count = prefService.getModificationCount();
+		moduleService.save(string, "kraken");
+		assertEquals(count, prefService.getModificationCount());
+
+		// changes made directly to the store are seen
+		final Preferences node = store.root().node("/org/scijava/module");
+		node.remove(node.keys()[0]);
+		assertNull(moduleService.load(string));
+
+		// changes made through the pref service are seen
+		prefService.put(FooModule.class, "string", "squid");
+		assertEquals("squid", moduleService.load(string));
+
+		// immutable values are converted only once
+		moduleService.save(real, 6.5);
+		final Double value = moduleService.load(real);
+		assertEquals(6.5, value, 0);
+		assertSame(value, moduleService.load(real));
+
+		// modules sharing a preference see each other's changes
+		final ModuleItem<String> other = cast(new FooModuleInfo().getInput(
+			"string"));
+		assertEquals("squid", moduleService.load(other));
+		moduleService.save(string, "octopus");
+		assertEquals("octopus", moduleService.load(other));
+	}
+
+	/**
+	 * Tests {@link ModuleService#getModuleById(String)} and
+	 * {@link ModuleService#getModuleForAccelerator(Accelerator)}.
+	 */
+	@Test
+	public void testLookups() {
+		final Accelerator ctrlB = Accelerator.create("control B");
+		final Accelerator shiftC = Accelerator.create("shift C");
+		final FooModuleInfo a = new IdentifiedModuleInfo("a");
+		final FooModuleInfo b = new IdentifiedModuleInfo("b");
+		b.setMenuPath(new MenuPath("Plugins>B"));
+		b.getMenuPath().getLeaf().setAccelerator(ctrlB);
+
+		moduleService.addModules(Arrays.asList(a, b));
+		assertSame(a, moduleService.getModuleById("a"));
+		assertSame(b, moduleService.getModuleById("b"));
+		assertNull(moduleService.getModuleById("c"));
+		assertSame(b, moduleService.getModuleForAccelerator(ctrlB));
+		assertNull(moduleService.getModuleForAccelerator(shiftC));
+
+		// the lookups reflect removed modules
+		moduleService.removeModule(a);
+		assertNull(moduleService.getModuleById("a"));
+
+		// the lookups reflect updated modules
+		b.getMenuPath().getLeaf().setAccelerator(shiftC);
+		b.update(moduleService.context().service(EventService.class));
+		assertNull(moduleService.getModuleForAccelerator(ctrlB));
+		assertSame(b, moduleService.getModuleForAccelerator(shiftC));
+	}
+
 	// -- Helper methods --
 
+	private Map<String, Object> createInputMap(final List<?> seen,
+		final boolean cancel)
+	{
+		final Map<String, Object> inputMap = createInputMap();
+		inputMap.put("seen", seen);
+		inputMap.put("cancel", cancel);
+		return inputMap;
+	}
+
 	private Object[] createInputArray() {
 		return new Object[] { //
 			"string", "hello", //
@@ -189,6 +428,11 @@ public class ModuleServiceTest {
 		return mapToString(createInputMap());
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T> ModuleItem<T> cast(final ModuleItem<?> item) {
+		return (ModuleItem<T>) item;
+	}
+
 	private static String mapToString(final Map<String, Object> map) {
 		final StringBuilder sb = new StringBuilder();
 		for (final Entry<String, Object> entry : map.entrySet()) {
@@ -199,6 +443,91 @@ public class ModuleServiceTest {
 
 	// -- Helper classes --
 
+	/** A {@link FooModuleInfo} with a custom identifier. */
+	public static class IdentifiedModuleInfo extends FooModuleInfo {
+
+		private final String id;
+
+		public IdentifiedModuleInfo(final String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String getIdentifier() {
+			return id;
+		}
+	}
+
+	/** A preprocessor which records itself into the module's inputs. */
+	public static class RecordingPreprocessor extends
+		AbstractPreprocessorPlugin implements ReusableProcessor
+	{
+
+		@Override
+		public void process(final Module module) {
+			@SuppressWarnings("unchecked")
+			final List<Object> seen = (List<Object>) module.getInput("seen");
+			if (seen == null) return;
+			seen.add(this);
+			if (Boolean.TRUE.equals(module.getInput("cancel"))) cancel("Canceled");
+		}
+	}
+
+	/** A preprocessor which is not reusable, and records its instances. */
+	public static class FreshPreprocessor extends AbstractPreprocessorPlugin {
+
+		private static final List<Object> instances = new ArrayList<>();
+
+		@Override
+		public void process(final Module module) {
+			instances.add(this);
+		}
+	}
+
+	/** A preprocessor which never applies, and must thus never be invoked. */
+	public static class InapplicablePreprocessor extends
+		AbstractPreprocessorPlugin
+	{
+
+		@Override
+		public void process(final Module module) {
+			throw new IllegalStateException("Inapplicable processor invoked");
+		}
+
+		@Override
+		public boolean canProcess(final ModuleInfo info) {
+			return false;
+		}
+	}
+
+	/** A preprocessor which counts how often its applicability is checked. */
+	public static class CheckedPreprocessor extends AbstractPreprocessorPlugin {
+
+		private static int checks;
+
+		@Override
+		public void process(final Module module) {
+			// NB: No action needed.
+		}
+
+		@Override
+		public boolean canProcess(final ModuleInfo info) {
+			checks++;
+			return true;
+		}
+	}
+
+	/** A preprocessor which counts its invocations. */
+	public static class FooPreprocessor extends AbstractPreprocessorPlugin {
+
+		private static int calls;
+
+		@Override
+		public void process(final Module module) {
+			calls++;
+		}
+	}
+
 	/** A sample module for testing the module service. */
 	public static class FooModule extends AbstractModule {
 
@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.module.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.module.ModuleInfo;
+import org.scijava.module.ModuleService;
+import org.scijava.module.ModuleServiceTest.FooModuleInfo;
+
+/**
+ * Tests {@link ModuleProfileService}.
+ *
+ * @author agent
+ */
+public class ModuleProfileServiceTest {
+
+	private ModuleService moduleService;
+	private ModuleProfileService moduleProfileService;
+
+	@Before
+	public void setUp() {
+		final Context context = //
+			new Context(ModuleService.class, ModuleProfileService.class);
+		moduleService = context.service(ModuleService.class);
+		moduleProfileService = context.service(ModuleProfileService.class);
+	}
+
+	@After
+	public void tearDown() {
+		moduleService.context().dispose();
+	}
+
+	@Test
+	public void testProfile() throws Exception {
+		final ModuleInfo info = new FooModuleInfo();
+
+		// nothing is recorded while disabled
+		moduleService.run(info, true, Collections.emptyMap()).get();
+		assertTrue(moduleProfileService.getProfiles().isEmpty());
+
+		moduleProfileService.setEnabled(true);
+		for (int i = 0; i < 3; i++) {
+			moduleService.run(info, true, Collections.emptyMap()).get();
+		}
+
+		final ModuleProfile profile = moduleProfileService.getProfile(info);
+		assertEquals(3, profile.getCount());
+		final PhaseProfile run = profile.getPhase(ModuleProfile.RUN);
+		assertNotNull(run);
+		assertEquals(3, run.getCount());
+		assertTrue(run.getMaxWallTime() >= run.getMinWallTime());
+		assertTrue(run.getWallTimePercentile(99) <= run.getMaxWallTime());
+		assertTrue(profile.getPhase(ModuleProfile.TOTAL).getWallTime() >= //
+			run.getWallTime());
+		assertTrue(profile.getPhases().stream().anyMatch(phase -> phase.getName()
+			.startsWith(ModuleProfile.PREPROCESS)));
+
+		final String report = moduleProfileService.getReport();
+		assertTrue(report.contains(profile.getIdentifier() + " (3 runs)"));
+
+		moduleProfileService.clear();
+		assertTrue(moduleProfileService.getProfiles().isEmpty());
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.test.Benchmark;
+import org.scijava.test.TestUtils;
+import org.scijava.util.FileUtils;
+
+/**
+ * Benchmarks parallel against sequential plugin discovery, on a classpath of
+ * many entries.
+ * <p>
+ * The classpath is simulated by copies of the plugin index of this project,
+ * each in a directory of its own. Discovery fans out across the common
+ * fork-join pool, so to see how it scales with the number of cores, run the
+ * benchmark with different values of the
+ * {@code java.util.concurrent.ForkJoinPool.common.parallelism} property.
+ * </p>
+ *
+ * @author agent
+ * @see Benchmark
+ */
+public class PluginFinderBenchmark {
+
+	private static final String INDEX = "META-INF/json/" + Plugin.class
+		.getName();
+
+	private static final int ENTRIES = 200;
+
+	private File tmpDir;
+	private URLClassLoader classLoader;
+
+	@Before
+	public void setUp() throws IOException {
+		tmpDir = TestUtils.createTemporaryDirectory("plugin-finder-");
+		final URL[] urls = new URL[ENTRIES];
+		for (int i = 0; i < ENTRIES; i++) {
+			urls[i] = createEntry(i);
+		}
+		classLoader = new URLClassLoader(urls, getClass().getClassLoader());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		classLoader.close();
+		FileUtils.deleteRecursively(tmpDir);
+	}
+
+	@Test
+	public void benchmarkDiscovery() {
+		System.out.println("Classpath entries: " + ENTRIES + //
+			", fork-join parallelism: " + //
+			ForkJoinPool.getCommonPoolParallelism());
+		final int parallel = discover(true);
+		final int sequential = discover(false);
+		assertEquals(sequential, parallel);
+	}
+
+	// -- Helper methods --
+
+	/** Times plugin discovery, returning the number of plugins found. */
+	private int discover(final boolean parallel) {
+		final DefaultPluginFinder finder = new DefaultPluginFinder(classLoader);
+		final List<PluginInfo<?>> plugins = new ArrayList<>();
+		if (!parallel) System.setProperty("scijava.plugin.parallel", "false");
+		try {
+			Benchmark.time(parallel ? "parallel discovery" : "sequential discovery",
+				1, () -> {
+					plugins.clear();
+					return finder.findPlugins(plugins);
+				});
+		}
+		finally {
+			System.getProperties().remove("scijava.plugin.parallel");
+		}
+		return plugins.size();
+	}
+
+	/** Creates a classpath entry holding a copy of the plugin index. */
+	private URL createEntry(final int i) throws IOException {
+		final File index = new File(tmpDir, "entry" + i + "/" + INDEX);
+		index.getParentFile().mkdirs();
+		try (final InputStream in = getClass().getClassLoader()
+			.getResourceAsStream(INDEX))
+		{
+			Files.copy(in, index.toPath());
+		}
+		return new File(tmpDir, "entry" + i).toURI().toURL();
+	}
+}
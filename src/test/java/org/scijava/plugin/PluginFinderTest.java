@@ -32,9 +32,15 @@
 
 package org.scijava.plugin;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 import org.scijava.Context;
 
@@ -71,6 +77,35 @@ public class PluginFinderTest {
 		System.getProperties().remove("scijava.plugin.blacklist");
 	}
 
+	/**
+	 * Tests that parallel discovery finds the same plugins, in the same order,
+	 * as sequential discovery.
+	 */
+	@Test
+	public void testParallelDiscovery() {
+		final List<PluginInfo<?>> parallel = new ArrayList<>();
+		final Map<String, Throwable> parallelErrors = //
+			new DefaultPluginFinder().findPlugins(parallel);
+
+		final List<PluginInfo<?>> sequential = new ArrayList<>();
+		System.setProperty("scijava.plugin.parallel", "false");
+		final Map<String, Throwable> sequentialErrors;
+		try {
+			sequentialErrors = new DefaultPluginFinder().findPlugins(sequential);
+		}
+		finally {
+			System.getProperties().remove("scijava.plugin.parallel");
+		}
+
+		assertFalse(parallel.isEmpty());
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(sequential.get(i).getClassName(), //
+				parallel.get(i).getClassName());
+		}
+		assertEquals(sequentialErrors.keySet(), parallelErrors.keySet());
+	}
+
 	@Plugin(type = SciJavaPlugin.class)
 	public static class BlacklistedPlugin implements SciJavaPlugin {
 		// NB: No implementation needed.
@@ -33,7 +33,11 @@
 package org.scijava.plugin;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
@@ -62,6 +66,53 @@ public class PluginInfoTest {
 		assertPlugin(Flavorless.class, IceCream.class, "", infos.get(2));
 	}
 
+	@Test
+	public void testLoadStatistics() throws InstantiableException {
+		final Context context = new Context(PluginService.class);
+		final PluginService pluginService = context.service(PluginService.class);
+		final List<PluginInfo<IceCream>> infos = //
+			pluginService.getPluginsOfType(IceCream.class);
+		final PluginInfo<IceCream> chocolate = infos.get(0);
+		final PluginInfo<IceCream> vanilla = infos.get(1);
+		assertEquals(-1, chocolate.getLoadTime());
+		assertFalse(pluginService.getLoadedPlugins().contains(chocolate));
+
+		// instantiating loads the class and counts the instance
+		pluginService.createInstance(chocolate);
+		pluginService.createInstance(chocolate);
+		assertTrue(chocolate.getLoadTime() >= 0);
+		assertEquals(2, chocolate.getInstanceCount());
+		assertFalse(chocolate.isLoadedEagerly());
+
+		// loading the class without instantiating it is flagged as eager
+		System.setProperty(PluginInfo.STRICT_LOADING_PROPERTY, "true");
+		try {
+			vanilla.loadClass();
+		}
+		finally {
+			System.getProperties().remove(PluginInfo.STRICT_LOADING_PROPERTY);
+		}
+		assertTrue(vanilla.isLoadedEagerly());
+		assertNotNull(vanilla.getLoadTrace());
+		assertNull(chocolate.getLoadTrace());
+
+		final List<PluginInfo<?>> loaded = pluginService.getLoadedPlugins();
+		assertTrue(loaded.contains(chocolate));
+		assertTrue(loaded.contains(vanilla));
+		assertTrue(pluginService.getLoadReport().contains("[eager] " +
+			Vanilla.class.getName()));
+
+		// loading the class only to discover services is not flagged
+		final PluginInfo<IceCream> discovered = //
+			new PluginInfo<>(Vanilla.class.getName(), IceCream.class);
+		discovered.loadClassForDiscovery();
+		assertTrue(discovered.getLoadTime() >= 0);
+		assertTrue(discovered.isDiscoveryLoad());
+		assertFalse(discovered.isLoadedEagerly());
+		assertFalse(vanilla.isDiscoveryLoad());
+		context.dispose();
+	}
+
 	private void assertPlugin(Class<?> pluginClass, Class<?> pluginType,
 		String name, PluginInfo<?> info) throws InstantiableException
 	{
@@ -0,0 +1,159 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.prefs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link FilePrefStore}.
+ *
+ * @author agent
+ */
+public class FilePrefStoreTest {
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile(getClass().getName(), ".log");
+		assertTrue(file.delete());
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	/** Tests that preferences survive closing and reopening the store. */
+	@Test
+	public void testPersistence() throws IOException, BackingStoreException {
+		final FilePrefStore store = FilePrefStore.open(file);
+		final Preferences node = store.root().node("/org/scijava/prefs");
+		node.put("animal", "kraken");
+		node.putInt("legs", 10);
+		node.put("color", "red");
+		node.remove("color");
+		node.node("gone").put("key", "value");
+		node.node("gone").removeNode();
+		store.root().node("/other").put("key", "value");
+		store.close();
+		assertTrue(file.length() > 0);
+
+		final FilePrefStore reopened = FilePrefStore.open(file);
+		final Preferences root = reopened.root();
+		assertTrue(root.nodeExists("/org/scijava/prefs"));
+		final Preferences restored = root.node("/org/scijava/prefs");
+		assertEquals("kraken", restored.get("animal", null));
+		assertEquals(10, restored.getInt("legs", 0));
+		assertNull(restored.get("color", null));
+		assertFalse(restored.nodeExists("gone"));
+		assertEquals("value", root.node("/other").get("key", null));
+		assertArrayEquals(new String[] { "org", "other" }, root.childrenNames());
+		reopened.close();
+	}
+
+	/** Tests that a file's store is shared until every user has closed it. */
+	@Test
+	public void testShared() throws IOException {
+		final FilePrefStore store = FilePrefStore.open(file);
+		final FilePrefStore shared = FilePrefStore.open(file.getAbsoluteFile());
+		assertSame(store, shared);
+
+		store.root().node("shared").put("first", "1");
+		store.close();
+		shared.root().node("shared").put("second", "2");
+		shared.close();
+
+		final FilePrefStore reopened = FilePrefStore.open(file);
+		assertNotSame(store, reopened);
+		assertEquals("1", reopened.root().node("shared").get("first", null));
+		assertEquals("2", reopened.root().node("shared").get("second", null));
+		reopened.close();
+	}
+
+	/** Tests that unflushed changes are written in a single batch. */
+	@Test
+	public void testBatching() throws IOException {
+		final FilePrefStore store = FilePrefStore.open(file);
+		final Preferences node = store.root().node("batch");
+		for (int i = 0; i < 100; i++) {
+			node.putInt("key" + i, i);
+		}
+		assertFalse(file.exists());
+		store.flush();
+		assertTrue(file.exists());
+		store.close();
+	}
+
+	/** Tests that a partially written record is discarded upon reopening. */
+	@Test
+	public void testTornLog() throws IOException {
+		final FilePrefStore store = FilePrefStore.open(file);
+		store.root().node("torn").put("complete", "yes");
+		store.close();
+		final long length = file.length();
+
+		// append the start of a record whose remainder never made it to disk
+		try (final FileOutputStream out = new FileOutputStream(file, true)) {
+			out.write(new byte[] { 1, 0, 42, '/' });
+		}
+
+		final FilePrefStore reopened = FilePrefStore.open(file);
+		assertEquals("yes", reopened.root().node("torn").get("complete", null));
+		assertEquals(length, file.length());
+		reopened.root().node("torn").put("later", "also");
+		reopened.close();
+
+		final FilePrefStore again = FilePrefStore.open(file);
+		assertEquals("yes", again.root().node("torn").get("complete", null));
+		assertEquals("also", again.root().node("torn").get("later", null));
+		again.close();
+	}
+
+}
@@ -175,6 +175,25 @@ public class PrefServiceTest {
 		assertEquals(recentFiles, result);
 	}
 
+	/**
+	 * Tests that lists are neither truncated nor polluted by the elements of
+	 * longer lists stored previously.
+	 */
+	@Test
+	public void testLongList() {
+		((DefaultPrefService) prefService).setStore(new MemoryPrefStore());
+		final List<String> list = new ArrayList<>();
+		for (int i = 0; i < 2500; i++) {
+			list.add("item" + i);
+		}
+		prefService.putList(getClass(), list, "LongList");
+		assertEquals(list, prefService.getList(getClass(), "LongList"));
+
+		final List<String> shorter = list.subList(0, 3);
+		prefService.putList(getClass(), shorter, "LongList");
+		assertEquals(shorter, prefService.getList(getClass(), "LongList"));
+	}
+
 	/**
 	 * The Java Preferences API does not support keys longer than 80 characters.
 	 * Let's test that our service does not fall victim to this limitation.
@@ -195,4 +214,43 @@ public class PrefServiceTest {
 		assertEquals(lyrics, recovered);
 	}
 
+	/** Tests {@link PrefService#getModificationCount()}. */
+	@Test
+	public void testModificationCount() {
+		final DefaultPrefService service = (DefaultPrefService) prefService;
+		final MemoryPrefStore store = new MemoryPrefStore();
+		service.setStore(store);
+		final long count = service.getModificationCount();
+		assertTrue(count >= 0);
+
+		service.put(getClass(), "animal", "kraken");
+		assertEquals(count + 1, service.getModificationCount());
+
+		// changes made to the store directly are counted, too
+		store.root().node("/elsewhere").put("animal", "squid");
+		assertEquals(count + 2, service.getModificationCount());
+
+		// the count keeps moving forward when the store is replaced
+		service.setStore(new MemoryPrefStore());
+		assertTrue(service.getModificationCount() > count + 2);
+
+		// the Java Preferences tree is shared with the world: untracked
+		service.setStore(new JavaPrefStore());
+		assertEquals(-1, service.getModificationCount());
+	}
+
+	/** Tests that a store which fails to close does not break disposal. */
+	@Test
+	public void testFailingClose() {
+		final DefaultPrefService service = (DefaultPrefService) prefService;
+		service.setStore(new MemoryPrefStore() {
+
+			@Override
+			public void flush() {
+				throw new IllegalStateException("Backing store unavailable");
+			}
+		});
+		service.setStore(new MemoryPrefStore());
+	}
+
 }
@@ -34,6 +34,8 @@ package org.scijava.script;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -44,6 +46,9 @@ import java.util.List;
 import java.util.Map;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
@@ -127,6 +132,126 @@ public class ScriptEngineTest {
 		assertEquals(cMatches, cExpected);
 	}
 
+	@Test
+	public void testEnginePooling() throws Exception {
+		final ScriptLanguage echo = scriptService.getLanguageByName("Echo");
+		assertNull(scriptService.getEnginePool(echo));
+		scriptService.setEnginePooled(echo, true);
+		assertNotNull(scriptService.getEnginePool(echo));
+		EchoEngine.engines = EchoEngine.compilations = 0;
+
+		for (int i = 0; i < 5; i++) {
+			final ScriptModule module = scriptService.run("test" + i + ".echo",
+				"Hello", false, (Map<String, Object>) null).get();
+			// NB: The bindings must not leak between executions.
+			assertEquals("Hello (fresh)", module.getReturnValue());
+		}
+		assertEquals(1, EchoEngine.engines);
+		assertEquals(1, EchoEngine.compilations);
+
+		// a different script needs compiling, but not a new engine
+		final ScriptModule module = scriptService.run("other.echo", "Bye", false,
+			(Map<String, Object>) null).get();
+		assertEquals("Bye (fresh)", module.getReturnValue());
+		assertEquals(1, EchoEngine.engines);
+		assertEquals(2, EchoEngine.compilations);
+
+		// the pooled engine is not kept by the module after the run
+		assertNotSame(EchoEngine.latest, module.getEngine());
+		assertEquals(2, EchoEngine.engines);
+
+		scriptService.setEnginePooled(echo, false);
+		assertNull(scriptService.getEnginePool(echo));
+	}
+
+	@Plugin(type = ScriptLanguage.class)
+	public static class Echo extends AbstractScriptLanguage {
+
+		@Override
+		public ScriptEngine getScriptEngine() {
+			return new EchoEngine();
+		}
+
+		@Override
+		public List<String> getNames() {
+			return Arrays.asList("Echo");
+		}
+
+		@Override
+		public List<String> getExtensions() {
+			return Arrays.asList("echo");
+		}
+	}
+
+	/** A compilable engine which echoes its script. */
+	private static class EchoEngine extends AbstractScriptEngine implements
+		Compilable
+	{
+
+		private static int engines, compilations;
+		private static EchoEngine latest;
+
+		{
+			engineScopeBindings = createBindings();
+			engines++;
+		}
+
+		@Override
+		public Object eval(final String script) {
+			final Object previous = engineScopeBindings.put("seen", true);
+			return script.trim() + (previous == null ? " (fresh)" : " (stale)");
+		}
+
+		@Override
+		public Object eval(final Reader reader) throws ScriptException {
+			try {
+				final StringBuilder sb = new StringBuilder();
+				int c;
+				while ((c = reader.read()) >= 0) sb.append((char) c);
+				return eval(sb.toString());
+			}
+			catch (final IOException e) {
+				throw new ScriptException(e);
+			}
+		}
+
+		@Override
+		public Bindings createBindings() {
+			return new Rot13Bindings();
+		}
+
+		@Override
+		public void setBindings(final Bindings bindings, final int scope) {
+			if (scope != ScriptContext.ENGINE_SCOPE) {
+				throw new UnsupportedOperationException();
+			}
+			engineScopeBindings = bindings;
+		}
+
+		@Override
+		public CompiledScript compile(final String script) {
+			compilations++;
+			return new CompiledScript() {
+
+				@Override
+				public Object eval(final ScriptContext context) {
+					latest = EchoEngine.this;
+					return EchoEngine.this.eval(script);
+				}
+
+				@Override
+				public ScriptEngine getEngine() {
+					return EchoEngine.this;
+				}
+			};
+		}
+
+		@Override
+		public CompiledScript compile(final Reader script) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 	@Plugin(type = ScriptLanguage.class)
 	public static class Rot13 extends AbstractScriptLanguage {
 
@@ -33,14 +33,19 @@
 package org.scijava.script;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.script.ScriptEngine;
 
@@ -188,6 +193,159 @@ public class ScriptFinderTest {
 		assertURLsMatch(scripts);
 	}
 
+	/**
+	 * Tests that rediscovery reuses the metadata of unchanged scripts, and only
+	 * rereads scripts which have changed.
+	 */
+	@Test
+	public void testIncrementalDiscovery() throws IOException {
+		final File dir = TestUtils.createTemporaryDirectory("script-finder-");
+		try {
+			TestUtils.createPath(dir, "Stable/same.foo");
+			final File changing = TestUtils.createPath(dir, "Stable/changing.foo");
+
+			final ScriptService scriptService = createScriptService();
+			scriptService.addScriptDirectory(dir);
+			final ScriptFinder scriptFinder = //
+				new ScriptFinder(scriptService.context(), null);
+
+			final ArrayList<ScriptInfo> first = new ArrayList<>();
+			scriptFinder.findScripts(first);
+			Collections.sort(first);
+			assertEquals(2, first.size());
+
+			FileUtils.writeFile(changing, "changed!".getBytes());
+			final ArrayList<ScriptInfo> second = new ArrayList<>();
+			scriptFinder.findScripts(second);
+			Collections.sort(second);
+			assertEquals(2, second.size());
+			assertNotSame(first.get(0), second.get(0)); // Stable > changing
+			assertSame(first.get(1), second.get(1)); // Stable > same
+		}
+		finally {
+			FileUtils.deleteRecursively(dir);
+		}
+	}
+
+	/** Tests that added and removed scripts are noticed when watching. */
+	@Test
+	public void testIndex() throws IOException {
+		final File dir = TestUtils.createTemporaryDirectory("script-finder-");
+		final File index = new File(dir, "scripts.index");
+		try {
+			final File scripts = new File(dir, "scripts");
+			TestUtils.createPath(dir, "scripts/Indexed/first.foo");
+			final File menu = new File(scripts, "Indexed");
+
+			final ScriptService scriptService = createScriptService();
+			scriptService.addScriptDirectory(scripts);
+
+			final ScriptFinder writer = //
+				new ScriptFinder(scriptService.context(), null);
+			writer.setIndexFile(index);
+			final ArrayList<ScriptInfo> first = new ArrayList<>();
+			writer.findScripts(first);
+			assertEquals(1, first.size());
+			assertTrue(index.isFile());
+
+			// an unmodified directory is not listed again
+			final long stamp = menu.lastModified();
+			TestUtils.createPath(scripts, "Indexed/second.foo");
+			assertTrue(menu.setLastModified(stamp));
+			final ScriptFinder reader = //
+				new ScriptFinder(scriptService.context(), null);
+			reader.setIndexFile(index);
+			final ArrayList<ScriptInfo> second = new ArrayList<>();
+			reader.findScripts(second);
+			assertEquals(1, second.size());
+
+			// a modified directory is
+			assertTrue(menu.setLastModified(stamp + 10000));
+			final ArrayList<ScriptInfo> third = new ArrayList<>();
+			reader.findScripts(third);
+			assertEquals(2, third.size());
+		}
+		finally {
+			FileUtils.deleteRecursively(dir);
+		}
+	}
+
+	@Test
+	public void testWatchBaseline() throws IOException, InterruptedException {
+		final File dir = TestUtils.createTemporaryDirectory("script-finder-");
+		try {
+			TestUtils.createPath(dir, "Watched/existing.foo");
+
+			final ScriptService scriptService = createScriptService();
+			scriptService.addScriptDirectory(dir);
+			final ScriptFinder scriptFinder = //
+				new ScriptFinder(scriptService.context(), null);
+
+			// changes made before watching began are reported first
+			final List<ScriptInfo> added = new ArrayList<>();
+			final CountDownLatch addition = new CountDownLatch(1);
+			final Closeable watcher = scriptFinder.watch(Collections.emptyList(), (
+				a, r) -> {
+				added.addAll(a);
+				addition.countDown();
+			});
+			try {
+				assertTrue(addition.await(30, TimeUnit.SECONDS));
+				assertEquals(1, added.size());
+				assertEquals("Watched > existing", added.get(0).getMenuPath()
+					.getMenuString());
+			}
+			finally {
+				watcher.close();
+			}
+		}
+		finally {
+			FileUtils.deleteRecursively(dir);
+		}
+	}
+
+	@Test
+	public void testWatch() throws IOException, InterruptedException {
+		final File dir = TestUtils.createTemporaryDirectory("script-finder-");
+		try {
+			TestUtils.createPath(dir, "Watched/existing.foo");
+
+			final ScriptService scriptService = createScriptService();
+			scriptService.addScriptDirectory(dir);
+			final ScriptFinder scriptFinder = //
+				new ScriptFinder(scriptService.context(), null);
+
+			final List<ScriptInfo> added = new ArrayList<>();
+			final List<ScriptInfo> removed = new ArrayList<>();
+			final CountDownLatch addition = new CountDownLatch(1);
+			final CountDownLatch removal = new CountDownLatch(1);
+			final Closeable watcher = scriptFinder.watch((a, r) -> {
+				added.addAll(a);
+				removed.addAll(r);
+				if (!a.isEmpty()) addition.countDown();
+				if (!r.isEmpty()) removal.countDown();
+			});
+			try {
+				final File created = TestUtils.createPath(dir, "Watched/new.foo");
+				assertTrue(addition.await(30, TimeUnit.SECONDS));
+				assertEquals(1, added.size());
+				assertEquals("Watched > new", added.get(0).getMenuPath()
+					.getMenuString());
+
+				assertTrue(created.delete());
+				assertTrue(removal.await(30, TimeUnit.SECONDS));
+				assertEquals(1, removed.size());
+				assertSame(added.get(0), removed.get(0));
+			}
+			finally {
+				watcher.close();
+			}
+		}
+		finally {
+			FileUtils.deleteRecursively(dir);
+		}
+	}
+
 	// -- Helper methods --
 
 	private ScriptService createScriptService() {
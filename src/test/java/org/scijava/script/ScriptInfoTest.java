@@ -34,15 +34,23 @@ package org.scijava.script;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -60,8 +68,13 @@ import org.junit.Test;
 import org.scijava.Context;
 import org.scijava.ItemIO;
 import org.scijava.ItemVisibility;
+import org.scijava.event.EventHandler;
+import org.scijava.event.EventService;
+import org.scijava.event.EventSubscriber;
 import org.scijava.log.LogService;
+import org.scijava.module.ModuleException;
 import org.scijava.module.ModuleItem;
+import org.scijava.module.event.ModulesUpdatedEvent;
 import org.scijava.plugin.Plugin;
 import org.scijava.test.TestUtils;
 import org.scijava.util.DigestUtils;
@@ -202,11 +215,136 @@ public class ScriptInfoTest {
 		final String version = info.getVersion();
 		final String sha1 = "28f4a2880d604774ac5d604d35f431047a087c9e";
 		assertTrue(version.matches("^" + sha1 + "$"));
+		assertSame(version, info.getVersion()); // cached
+
+		// verify that the version changes along with the script
+		FileUtils.writeFile(scriptFile, DigestUtils.bytes(script + "\n"));
+		assertEquals(DigestUtils.bestHex(script + "\n"), info.getVersion());
 
 		// clean up the temporary directory
 		FileUtils.deleteRecursively(tmpDir);
 	}
 
+	/**
+	 * Tests that {@link ScriptInfo#getProcessedScript()} is reconstituted from
+	 * the script file, and kept in sync with it.
+	 */
+	@Test
+	public void testProcessedScript() throws IOException, ModuleException {
+		final String script = "" + //
+			"% @LogService log\n" + //
+			"#@int value\n" + //
+			"value = value + 1\n" + //
+			"% @String notAParameter\n" + //
+			"#@OUTPUT Integer value2\n";
+
+		final File tmpDir = TestUtils.createTemporaryDirectory("script-info-test-");
+		final File scriptFile = new File(tmpDir, "processed.bsizes");
+		FileUtils.writeFile(scriptFile, DigestUtils.bytes(script));
+
+		final ScriptInfo info = new ScriptInfo(context, scriptFile);
+		assertNotNull(info.getInput("log"));
+		assertNotNull(info.getInput("value"));
+		assertNotNull(info.getOutput("value2"));
+		assertNull(info.getInput("notAParameter"));
+
+		final String processed = "" + //
+			"\n" + //
+			"\n" + //
+			"value = value + 1\n" + //
+			"% @String notAParameter\n" + //
+			"\n";
+		assertEquals(processed, info.getProcessedScript());
+		assertEquals(DigestUtils.bestHex(processed),
+			info.getProcessedScriptDigest());
+		assertSame(info.getProcessedScript(), info.getProcessedScript());
+
+		// verify that a changed script file is only processed again when a new
+		// module is created
+		final String script2 = "" + //
+			"#@int value\n" + //
+			"value = value * 2\n";
+		FileUtils.writeFile(scriptFile, DigestUtils.bytes(script2));
+		assertEquals(processed, info.getProcessedScript());
+		assertNotNull(info.getInput("log"));
+		final EventService eventService = context.service(EventService.class);
+		final UpdateRecorder recorder = new UpdateRecorder();
+		final List<EventSubscriber<?>> subscribers =
+			eventService.subscribe(recorder);
+		info.createModule();
+		eventService.unsubscribe(subscribers);
+		assertEquals(1, recorder.events.size());
+		assertEquals(Arrays.asList(info), recorder.events.get(0).getItems());
+		final String processed2 = "" + //
+			"\n" + //
+			"value = value * 2\n";
+		assertEquals(processed2, info.getProcessedScript());
+		assertEquals(DigestUtils.bestHex(processed2),
+			info.getProcessedScriptDigest());
+		assertNotNull(info.getInput("value"));
+		assertNull(info.getInput("log"));
+
+		FileUtils.deleteRecursively(tmpDir);
+	}
+
+	/**
+	 * Tests that {@link ScriptInfo#getProcessedScript()} stays consistent with
+	 * its digest when a script read from a URL changes underneath it.
+	 */
+	@Test
+	public void testProcessedScriptDrift() throws IOException,
+		ModuleException
+	{
+		final String[] content = { "#@int value\nvalue = value + 1\n" };
+		final URLStreamHandler handler = new URLStreamHandler() {
+
+			@Override
+			protected URLConnection openConnection(final URL u) {
+				return new URLConnection(u) {
+
+					@Override
+					public void connect() {
+						// NB: No action needed.
+					}
+
+					@Override
+					public InputStream getInputStream() {
+						return new ByteArrayInputStream(DigestUtils.bytes(content[0]));
+					}
+				};
+			}
+		};
+		final URL url = new URL(null, "mem:drift.bsizes", handler);
+		final ScriptInfo info = new ScriptInfo(context, url, "drift.bsizes");
+		assertNotNull(info.getInput("value"));
+
+		// the text is reconstituted after the source changed: fail...
+		content[0] = "#@String name\nname = name.trim()\n";
+		try {
+			info.getProcessedScript();
+			fail("Expected IllegalStateException");
+		}
+		catch (final IllegalStateException exc) {
+			// NB: Expected.
+		}
+		assertNotNull(info.getInput("value"));
+
+		// ...until a new module is created, which reprocesses the script
+		info.createModule();
+		final String processed = "\nname = name.trim()\n";
+		assertEquals(processed, info.getProcessedScript());
+		assertEquals(DigestUtils.bestHex(processed),
+			info.getProcessedScriptDigest());
+		assertNotNull(info.getInput("name"));
+		assertNull(info.getInput("value"));
+
+		// the text is cached: keep serving what matches the digest
+		content[0] = "#@int value\nvalue = value + 1\n";
+		assertEquals(processed, info.getProcessedScript());
+		assertEquals(DigestUtils.bestHex(processed),
+			info.getProcessedScriptDigest());
+	}
+
 	/**
 	 * Tests {@link ScriptInfo} parameter declarations, including
 	 * {@link ScriptInfo#inputs()}, {@link ScriptInfo#outputs()},
@@ -352,4 +490,15 @@ public class ScriptInfoTest {
 		// NB: No implementation needed.
 	}
 
+	/** Records the {@link ModulesUpdatedEvent}s it receives. */
+	public static class UpdateRecorder {
+
+		private final List<ModulesUpdatedEvent> events = new ArrayList<>();
+
+		@EventHandler
+		public void onEvent(final ModulesUpdatedEvent evt) {
+			events.add(evt);
+		}
+	}
+
 }
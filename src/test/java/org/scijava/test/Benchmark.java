@@ -0,0 +1,113 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.test;
+
+import java.util.function.Supplier;
+
+/**
+ * A minimal timing harness for the benchmarks of the test suite.
+ * <p>
+ * Benchmarks are JUnit classes named {@code *Benchmark}, which the default
+ * test includes skip, so that they do not slow down the build. Run them
+ * explicitly instead, e.g. {@code mvn test -Dtest=*Benchmark}.
+ * </p>
+ * <p>
+ * Each operation is timed over several rounds, after as many warm-up rounds,
+ * and the fastest round is reported. This is much cruder than a dedicated
+ * harness such as JMH, but good enough to compare two code paths within the
+ * same JVM.
+ * </p>
+ *
+ * @author agent
+ */
+public final class Benchmark {
+
+	private static final int WARM_UP_ROUNDS = 5;
+	private static final int ROUNDS = 10;
+
+	/** Keeps the results of timed operations from being optimized away. */
+	private static volatile Object sink;
+
+	private Benchmark() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Times the given operation, and prints the result.
+	 *
+	 * @param label Name of the measurement to print.
+	 * @param operations Number of times to perform the operation per round.
+	 * @param operation The operation to time.
+	 * @return The fastest time per operation, in nanoseconds.
+	 */
+	public static double time(final String label, final int operations,
+		final Supplier<?> operation)
+	{
+		final double perOperation = time(operations, operation);
+		System.out.println(String.format("%-48s %14.1f ns/op", label,
+			perOperation));
+		return perOperation;
+	}
+
+	/**
+	 * Times the given operation, without printing the result.
+	 *
+	 * @param operations Number of times to perform the operation per round.
+	 * @param operation The operation to time.
+	 * @return The fastest time per operation, in nanoseconds.
+	 */
+	public static double time(final int operations,
+		final Supplier<?> operation)
+	{
+		for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+			round(operations, operation);
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < ROUNDS; i++) {
+			best = Math.min(best, round(operations, operation));
+		}
+		return (double) best / operations;
+	}
+
+	// -- Helper methods --
+
+	private static long round(final int operations,
+		final Supplier<?> operation)
+	{
+		final long start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			sink = operation.get();
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.IOService;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.plugin.Plugin;
+import org.scijava.util.FileUtils;
+
+/**
+ * Tests {@link TextService}.
+ *
+ * @author agent
+ */
+public class TextServiceTest {
+
+	private Context context;
+	private TextService textService;
+	private DataHandleService dataHandleService;
+
+	@Before
+	public void setUp() {
+		context = new Context(TextService.class, DataHandleService.class,
+			IOService.class);
+		textService = context.service(TextService.class);
+		dataHandleService = context.service(DataHandleService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	/**
+	 * Tests {@link TextService#streamHTML(DataHandle)} with a format which
+	 * converts line by line.
+	 */
+	@Test
+	public void testStreamHTML() throws IOException {
+		final File file = createFile(".linetext", "pen\npineapple\napple\n");
+		try (final DataHandle<Location> handle = //
+			dataHandleService.create(new FileLocation(file));
+				final Stream<String> html = textService.streamHTML(handle))
+		{
+			final List<String> fragments = html.collect(Collectors.toList());
+			assertEquals(Arrays.asList("<html><body>", "<p>pen</p>",
+				"<p>pineapple</p>", "<p>apple</p>", "</body></html>"), fragments);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that {@link TextService#streamHTML(DataHandle)} matches
+	 * {@link TextService#asHTML(File)} for formats which convert whole texts.
+	 */
+	@Test
+	public void testStreamHTMLWholeText() throws IOException {
+		final File file = createFile(".wholetext", "pen\napple\n");
+		try (final DataHandle<Location> handle = //
+			dataHandleService.create(new FileLocation(file));
+				final Stream<String> html = textService.streamHTML(handle))
+		{
+			final String expected =
+				"<html><body><pre>pen\napple\n</pre></body></html>";
+			assertEquals(expected, html.collect(Collectors.joining()));
+			assertEquals(expected, textService.asHTML(file));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that {@link PlainTextFormat} streams escaped text in chunks, matching
+	 * {@link TextService#asHTML(File)}.
+	 */
+	@Test
+	public void testStreamPlainText() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			sb.append("line ").append(i).append(": a < b && b > c\n");
+		}
+		final File file = createFile(".txt", sb.toString());
+		try (final DataHandle<Location> handle = //
+			dataHandleService.create(new FileLocation(file));
+				final Stream<String> html = textService.streamHTML(handle))
+		{
+			final List<String> fragments = html.collect(Collectors.toList());
+			assertTrue(fragments.size() > 4);
+			final String joined = String.join("", fragments);
+			assertEquals(textService.asHTML(file), joined);
+			assertTrue(joined.startsWith("<html><body><pre>line 0: " +
+				"a &lt; b &amp;&amp; b &gt; c\n"));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	/** Tests {@link IOService#saveStream(Class, Stream, Location)} for text. */
+	@Test
+	public void testSaveStream() throws IOException {
+		final File file = createFile(".txt", "previous, longer content\n");
+		final IOService ioService = context.service(IOService.class);
+		try {
+			ioService.saveStream(String.class, Stream.of("caf\u00e9 ", "<b>&</b>",
+				"\n"), new FileLocation(file));
+			assertEquals("caf\u00e9 <b>&</b>\n", new String(Files.readAllBytes(file
+				.toPath()), StandardCharsets.UTF_8));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	/** Tests {@link IOService#openStream(Location)} for text. */
+	@Test
+	public void testOpenStream() throws IOException {
+		final File file = createFile(".linetext", "pen\n");
+		final IOService ioService = context.service(IOService.class);
+		try (final Stream<?> html = ioService.openStream(new FileLocation(file))) {
+			assertEquals("<html><body><p>pen</p></body></html>", html.map(
+				String.class::cast).collect(Collectors.joining()));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	// -- Helper methods --
+
+	private File createFile(final String suffix, final String text)
+		throws IOException
+	{
+		final File file = File.createTempFile("TextServiceTest", suffix);
+		FileUtils.writeFile(file, text.getBytes());
+		return file;
+	}
+
+	// -- Helper classes --
+
+	/** A text format which converts each line to a paragraph. */
+	@Plugin(type = TextFormat.class)
+	public static class LineTextFormat extends AbstractTextFormat {
+
+		@Override
+		public List<String> getExtensions() {
+			return Arrays.asList("linetext");
+		}
+
+		@Override
+		public String asHTML(final String text) {
+			return Arrays.stream(text.split("\n")).map(line -> "<p>" + line +
+				"</p>").collect(Collectors.joining());
+		}
+
+		@Override
+		public Stream<String> streamHTML(final Reader text) {
+			return new BufferedReader(text).lines().map(line -> "<p>" + line +
+				"</p>");
+		}
+	}
+
+	/** A text format which converts the whole text at once. */
+	@Plugin(type = TextFormat.class)
+	public static class WholeTextFormat extends AbstractTextFormat {
+
+		@Override
+		public List<String> getExtensions() {
+			return Arrays.asList("wholetext");
+		}
+
+		@Override
+		public String asHTML(final String text) {
+			return "<pre>" + text + "</pre>";
+		}
+	}
+
+}
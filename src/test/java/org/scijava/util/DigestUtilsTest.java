@@ -35,6 +35,9 @@ package org.scijava.util;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
 import org.junit.Test;
 
 /**
@@ -163,6 +166,16 @@ public class DigestUtilsTest {
 		assertArrayEquals(CAFEBABE_SHA1, best);
 	}
 
+	/** Tests {@link DigestUtils#best(java.io.InputStream)}. */
+	@Test
+	public void testBestStream() throws IOException {
+		final byte[] bytes = DigestUtils.bytes(0xcafebabe);
+		final byte[] best = DigestUtils.best(new ByteArrayInputStream(bytes));
+		assertArrayEquals(CAFEBABE_SHA1, best);
+		assertEquals(HELLO_WORLD_SHA1_HEX, DigestUtils.bestHex(
+			new ByteArrayInputStream(DigestUtils.bytes("Hello world"))));
+	}
+
 	/** Tests {@link DigestUtils#bestHex(String)}. */
 	@Test
 	public void testBestHexString() {